@@ -1,6 +1,7 @@
 package drjoliv.jfunc.contorl.eval;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import drjoliv.jfunc.applicative.Applicative;
 import drjoliv.jfunc.applicative.ApplicativeFactory;
@@ -21,9 +22,8 @@ public abstract class Eval<A> implements Monad<Eval.μ,A> {
   */
   public static class μ {private μ(){}}
 
-  abstract <B> Eval<B> doBind(F1<? super A, ? extends Monad<μ, B>> fn);
-
-  abstract Eval<A> step();
+  //Stands in for a null value in the state of a memo, where null marks a value that has not been computed yet.
+  private static final Object NULL = new Object();
 
   @Override
   public <B> Eval<B> apply(Applicative<μ, ? extends F1<? super A, ? extends B>> f) {
@@ -41,7 +41,9 @@ public abstract class Eval<A> implements Monad<Eval.μ,A> {
   }
 
   @Override
-  public abstract <B> Eval<B> map(F1<? super A, ? extends B> fn);
+  public <B> Eval<B> map(F1<? super A, ? extends B> fn) {
+    return new EvalMap<A,B>(this, fn);
+  }
 
   @Override
   public <B> Eval<B> bind(F1<? super A, ? extends Monad<μ, B>> fn) {
@@ -76,6 +78,16 @@ public abstract class Eval<A> implements Monad<Eval.μ,A> {
     return new Later<>(fn);
   }
 
+  /**
+   * Constructs an eval from a supplier of a value, unlike {@link #later(F0)} the value is not cached and the supplier
+   * is called each time the value of this eval is needed.
+   * @param fn a supplier.
+   * @return an eval.
+   */
+  public static <A> Eval<A> always(F0<A> fn) {
+    return new Always<>(fn);
+  }
+
   /**
    * A helper function to convert/narrow a reference from a monad to its underlying type.
    * @param monad the monad to be casted to its original type.
@@ -94,135 +106,296 @@ public abstract class Eval<A> implements Monad<Eval.μ,A> {
     }
 
     @Override
-    public <B> Eval<B> map(F1<? super A, ? extends B> fn) {
-      return later(f0(value).map(fn));
+    public A value() {
+      return value;
     }
+  }
+
+  /**
+   * An eval whose value is computed at most once. The state of a memo is either null, a mark owned by the thread
+   * computing the value, or the value itself. The state only leaves null through a compare-and-set, so a single thread
+   * computes the value while other threads wait for it, and once the value is published it is read with a single volatile read.
+   */
+  private static abstract class Memo<A> extends Eval<A> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Memo, Object> STATE =
+      AtomicReferenceFieldUpdater.newUpdater(Memo.class, Object.class, "state");
+
+    private volatile Object state;
+
+    /**
+     * Computes the value of this memo, called by at most one thread at a time.
+     */
+    abstract A compute();
+
+    /**
+     * Releases whatever was needed to compute the value, called once the value is published.
+     */
+    abstract void release();
 
     @Override
-    Eval<A> step() {
-      return this;
+    @SuppressWarnings("unchecked")
+    public final A value() {
+      Object s = state;
+      if(s != null && !(s instanceof Evaluating))
+        return s == NULL ? null : (A)s;
+      return force();
     }
 
-    @Override
-    <B> Eval<B> doBind(F1<? super A, ? extends Monad<μ, B>> fn) {
-      Objects.requireNonNull(value); 
-      return monad(fn.call(value));
+    @SuppressWarnings("unchecked")
+    private A force() {
+      for(;;) {
+        Object s = state;
+        if(s == null) {
+          Evaluating mark = new Evaluating();
+          if(STATE.compareAndSet(this, null, mark)) {
+            A a;
+            try {
+              a = compute();
+            } catch(RuntimeException | Error e) {
+              state = null;
+              mark.wake();
+              throw e;
+            }
+            state = a == null ? NULL : a;
+            release();
+            mark.wake();
+            return a;
+          }
+        } else if(s instanceof Evaluating) {
+          Evaluating mark = (Evaluating)s;
+          //The value depends on itself, as with a reentrant lock the thread computing it computes it again.
+          if(mark.owner == Thread.currentThread())
+            return compute();
+          mark.await(this);
+        } else {
+          return s == NULL ? null : (A)s;
+        }
+      }
     }
 
-    @Override
-    public A value() {
-      return value;
+    /**
+     * Returns true if the value of this memo is neither computed nor being computed by another thread.
+     */
+    final boolean isUnforced() {
+      Object s = state;
+      return s == null || s instanceof Evaluating && ((Evaluating)s).owner == Thread.currentThread();
     }
-  }
 
-  private static class EvalBind<A,B> extends Eval<B> {
-    private Eval<A> eval;
-    private F1<? super A, ? extends Monad<μ, B>> binder;
-    private B cached   = null;
+    /**
+     * Marks this memo as being computed by the current thread, returns false if its state has already left null.
+     */
+    final boolean claim() {
+      return state == null && STATE.compareAndSet(this, null, new Evaluating());
+    }
 
-    public EvalBind(Eval<A> eval, F1<? super A, ? extends Monad<μ, B>> binder) {
-      this.eval = eval;
-      this.binder = binder;
+    /**
+     * Publishes the value of a memo claimed by the current thread and wakes any threads waiting for it.
+     */
+    final void publish(Object a) {
+      Evaluating mark = (Evaluating)state;
+      state = a == null ? NULL : a;
+      release();
+      mark.wake();
     }
 
-    public Eval<B> step() {
-      //System.out.println("infinte step");
-      return eval.doBind(binder);
+    /**
+     * Returns a memo claimed by the current thread to its unforced state, after its computation failed.
+     */
+    final void abandon() {
+      Evaluating mark = (Evaluating)state;
+      state = null;
+      mark.wake();
     }
+  }
 
-    public <C> Eval<C> doBind(F1<? super B, ? extends Monad<μ, C>> fn) {
-      //System.out.println("infinte dobind");
-      return eval.bind(a -> ((Eval<B>)binder.call(a)).bind(fn));
+  /**
+   * The state of a memo whose value is being computed. Threads that find a memo in this state wait on the mark,
+   * the owner only takes the monitor to wake them when some thread has announced that it is waiting.
+   */
+  private static final class Evaluating {
+
+    private final Thread owner = Thread.currentThread();
+    private volatile boolean waiters = false;
+
+    private void await(Memo<?> memo) {
+      boolean interrupted = false;
+      synchronized(this) {
+        waiters = true;
+        while(memo.state == this) {
+          try {
+            wait();
+          } catch(InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      }
+      if(interrupted)
+        Thread.currentThread().interrupt();
     }
 
-    @Override
-    public B value() {
-      if(cached == null) {
+    private void wake() {
+      if(waiters) {
         synchronized(this) {
-          Eval<B> eval = this;
-          while(eval instanceof EvalBind)
-            eval = eval.step();
-          //cached = eval.value();
-          //eval   = null;
-          //binder = null;
-          return eval.value();
+          notifyAll();
         }
-      } else {
-        return cached;
       }
     }
+  }
+
+  /**
+   * A map or bind over an eval. Chains are evaluated by {@link Eval#run(Chain, Evaluating)} rather than by
+   * recursion, and the eval and function are released once the value is known.
+   */
+  private static abstract class Chain<A,B> extends Memo<B> {
+
+    private Eval<A> eval;
+    private F1<? super A, ?> fn;
+
+    private Chain(Eval<A> eval, F1<? super A, ?> fn) {
+      this.eval = eval;
+      this.fn   = fn;
+    }
 
     @Override
-    public <C> Eval<C> map(F1<? super B, ? extends C> fn) {
-        return bind(a -> now(fn.call(a)));
-      //System.out.println("infinte map");
-      //if(cached != null) {
-      //  return later(f0(cached).map(fn));
-      //} else {
-      //  return bind(a -> now(fn.call(a)));
-      //}
-    }
-
-    //@Override
-    //public <C> Eval<C> bind(F1<? super B, ? extends Monad<μ, C>> fn) {
-    //   if(cached == null) {
-    //  System.out.println("infinte bind not cached");
-    //   return super.bind(fn);
-    //  } else {
-    //  System.out.println("infinte bind cached");
-    //    Objects.requireNonNull(cached);
-    //    return now(cached).bind(fn);
-    //  }
-    //}
-  }
-
-  private static class Later<A> extends Eval<A> {
-
-    private volatile F0<A> supplier;
-    private A cache;
+    B compute() {
+      return run(this);
+    }
 
-    private Later(F0<A> fn) {
-      this.supplier = fn;
+    @Override
+    void release() {
+      eval = null;
+      fn   = null;
     }
+  }
 
-    private synchronized A computeValue() {
-      if(cache == null) {
-        cache = supplier.call();
-        supplier = null;
-        return cache;
-      } else {
-        return cache;
+  private static final class EvalMap<A,B> extends Chain<A,B> {
+    private EvalMap(Eval<A> eval, F1<? super A, ? extends B> fn) {
+      super(eval, fn);
+    }
+  }
+
+  private static final class EvalBind<A,B> extends Chain<A,B> {
+    private EvalBind(Eval<A> eval, F1<? super A, ? extends Monad<μ, B>> fn) {
+      super(eval, fn);
+    }
+  }
+
+  /**
+   * Evaluates a chain with an explicit continuation stack. Descending into a chain pushes its function and moves to the
+   * eval it was built on, once a value is reached functions are popped and applied, a bind moves to the eval it returns.
+   * Inner chains that are already forced, or being forced by another thread, are read through their value, so chains of
+   * any depth are evaluated with constant JVM stack and no allocation beyond the stack itself. Inner chains that are
+   * unforced are claimed as they are descended into and their values are published as soon as they are known, so every
+   * chain is computed at most once however many other chains share it.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static <B> B run(Chain<?,B> root) {
+    F1[] fns = new F1[16];
+    boolean[] binds = new boolean[16];
+    //The claimed chain whose value is the result of each frame, null for the root and for chains not claimed.
+    Chain[] owners = new Chain[16];
+    int top = 0;
+    fns[top]     = root.fn;
+    binds[top++] = root instanceof EvalBind;
+    Eval<?> current = root.eval;
+    try {
+      for(;;) {
+        if(current instanceof Chain && ((Chain)current).isUnforced()) {
+          Chain chain = (Chain)current;
+          Eval<?> eval = chain.eval;
+          F1 fn = chain.fn;
+          boolean claimed = chain.claim();
+          //Another thread may have forced and released the chain since it was checked.
+          if(eval != null && fn != null && (claimed || chain.isUnforced())) {
+            if(top == fns.length) {
+              fns    = Arrays.copyOf(fns, top << 1);
+              binds  = Arrays.copyOf(binds, top << 1);
+              owners = Arrays.copyOf(owners, top << 1);
+            }
+            fns[top]     = fn;
+            owners[top]  = claimed ? chain : null;
+            binds[top++] = chain instanceof EvalBind;
+            current = eval;
+            continue;
+          }
+          if(claimed)
+            chain.abandon();
+        }
+        Object value = current.value();
+        for(;;) {
+          if(top == 0)
+            return (B)value;
+          F1 fn = fns[--top];
+          fns[top] = null;
+          if(fn == null) {
+            //A bind whose returned eval has now been evaluated.
+          } else if(binds[top]) {
+            current = (Eval<?>)fn.call(value);
+            if(owners[top] != null) {
+              //Keep the frame so the chain is published once the returned eval has a value.
+              binds[top] = false;
+              top++;
+            }
+            break;
+          } else {
+            value = fn.call(value);
+          }
+          if(owners[top] != null) {
+            owners[top].publish(value);
+            owners[top] = null;
+          }
+        }
+      }
+    } catch(RuntimeException | Error e) {
+      //The frame whose function threw has already been popped, so it sits at top.
+      for(int i = Math.min(top, owners.length - 1); i >= 0; i--) {
+        if(owners[i] != null)
+          owners[i].abandon();
       }
+      throw e;
+    }
+  }
+
+  private static class Always<A> extends Eval<A> {
+
+    private final F0<A> supplier;
+
+    private Always(F0<A> supplier) {
+      this.supplier = supplier;
     }
 
     @Override
     public A value() {
-      return supplier == null ? cache : computeValue();
+      return supplier.call();
     }
 
     @Override
-    <B> Eval<B> doBind(F1<? super A, ? extends Monad<μ, B>> fn) {
-      return monad(fn.call(value()));
+    public <B> Eval<B> map(F1<? super A, ? extends B> fn) {
+      return always(supplier.map(fn));
+    }
+  }
+
+  private static class Later<A> extends Memo<A> {
+
+    private F0<A> supplier;
+
+    private Later(F0<A> fn) {
+      this.supplier = fn;
     }
 
     @Override
-    public <B> Eval<B> map(F1<? super A, ? extends B> fn) {
-      if(supplier == null)
-        return later(f0(cache).map(fn));
-      else
-        return later(supplier.map(fn));
+    A compute() {
+      return supplier.call();
     }
 
     @Override
-    Eval<A> step() {
-      return this;
+    void release() {
+      supplier = null;
     }
   }
 
- private static <A> F0<A> f0(A a) {
-   return () -> a;
- }
-
   /**
    * @see drjoliv.jfunc.monad.Monad#liftM2(Monad,Monad,F2)
    */
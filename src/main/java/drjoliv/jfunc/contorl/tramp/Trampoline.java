@@ -2,6 +2,8 @@ package drjoliv.jfunc.contorl.tramp;
 
 import static drjoliv.jfunc.unsafe.Usafe.cast;
 
+import java.util.Arrays;
+
 import drjoliv.jfunc.applicative.Applicative;
 import drjoliv.jfunc.applicative.ApplicativeFactory;
 import drjoliv.jfunc.function.F0;
@@ -63,8 +65,6 @@ public abstract class Trampoline<A> implements Monad<Trampoline.μ,A> {
 
   private Trampoline(){}
 
-  abstract <B> Trampoline<B> doBind(F1<? super A, Trampoline<B>> fn);
-
   @Override
   public MonadFactory<μ> yield() {
     return TrampolineMonadFactory.instance();
@@ -72,12 +72,12 @@ public abstract class Trampoline<A> implements Monad<Trampoline.μ,A> {
 
   @Override
   public <B> Trampoline<B> map(F1<? super A, ? extends B> fn) {
-    return bind(value -> done(fn.call(value)));
+    return new TrampolineMap<A,B>(this, fn);
   }
 
   @Override
   public <B> Trampoline<B> bind(F1<? super A, ? extends Monad<μ, B>> fn) {
-    return new TrampolineBind<A,B>(this, fn.then(Trampoline::monad));
+    return new TrampolineBind<A,B>(this, fn);
   }
 
   @Override
@@ -102,48 +102,79 @@ public abstract class Trampoline<A> implements Monad<Trampoline.μ,A> {
    * @return The resulting vaule of this trampoline.
    */
   public A result() {
-    Trampoline<A> trampoline = this;
-    while(trampoline.isDone() == false) {
-     trampoline = trampoline.step();
-    }
-    return trampoline.get();
+    return run(this);
   }
 
-  abstract boolean isDone();
-
-  abstract A get();
-
-  abstract Trampoline<A> step();
-
+  /**
+   * Runs a trampoline with an explicit continuation stack. Binds and maps push their function and move to the trampoline
+   * they were built on, once a value is reached functions are popped and applied, a bind moves to the trampoline it returns.
+   * The stack is allocated once per run and grows by doubling, so no objects are allocated per step by the run itself.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static <A> A run(Trampoline<A> trampoline) {
+    F1[] fns = new F1[16];
+    boolean[] binds = new boolean[16];
+    int top = 0;
+    Trampoline<?> current = trampoline;
+    for(;;) {
+      if(current instanceof More) {
+        current = ((More<?>)current).next.call();
+        continue;
+      }
+      if(current instanceof TrampolineBind || current instanceof TrampolineMap) {
+        if(top == fns.length) {
+          fns   = Arrays.copyOf(fns, top << 1);
+          binds = Arrays.copyOf(binds, top << 1);
+        }
+        if(current instanceof TrampolineBind) {
+          TrampolineBind<?,?> bind = (TrampolineBind<?,?>)current;
+          fns[top]     = bind.fnNext;
+          binds[top++] = true;
+          current      = bind.t;
+        } else {
+          TrampolineMap<?,?> map = (TrampolineMap<?,?>)current;
+          fns[top]     = map.fn;
+          binds[top++] = false;
+          current      = map.t;
+        }
+        continue;
+      }
+      Object value = current instanceof Done
+        ? ((Done<?>)current).value
+        : ((Delay<?>)current).fn.call();
+      for(;;) {
+        if(top == 0)
+          return (A)value;
+        F1 fn = fns[--top];
+        fns[top] = null;
+        if(binds[top]) {
+          current = (Trampoline<?>)fn.call(value);
+          break;
+        }
+        value = fn.call(value);
+      }
+    }
+  }
 
   private static class TrampolineBind<A,B> extends Trampoline<B> {
 
     private final Trampoline<A> t;
-    private final F1<? super A, Trampoline<B>> fnNext;
+    private final F1<? super A, ? extends Monad<μ, B>> fnNext;
 
-    private TrampolineBind(Trampoline<A> t, F1<? super A, Trampoline<B>> fn) {
+    private TrampolineBind(Trampoline<A> t, F1<? super A, ? extends Monad<μ, B>> fn) {
       this.t = t;
       this.fnNext = fn;
     }
+  }
 
-    @Override
-    public boolean isDone() {
-      return false;
-    }
-
-    @Override
-    public Trampoline<B> step() {
-      return t.doBind(fnNext);
-    }
+  private static class TrampolineMap<A,B> extends Trampoline<B> {
 
-    @Override
-    protected B get() {
-      throw new UnsupportedOperationException();
-    }
+    private final Trampoline<A> t;
+    private final F1<? super A, ? extends B> fn;
 
-    @Override
-    <C> Trampoline<C> doBind(F1<? super B, Trampoline<C>> fn) {
-      return t.bind(a -> fnNext.call(a).bind(fn));
+    private TrampolineMap(Trampoline<A> t, F1<? super A, ? extends B> fn) {
+      this.t  = t;
+      this.fn = fn;
     }
   }
 
@@ -154,54 +185,23 @@ public abstract class Trampoline<A> implements Monad<Trampoline.μ,A> {
     private More(F0<Trampoline<A>> next) {
       this.next = next;
     }
-
-    @Override
-    public boolean isDone() {
-      return false;
-    }
-
-    @Override
-    public Trampoline<A> step() {
-      return next.call();
-    }
-
-    @Override
-    protected A get() {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    <B> Trampoline<B> doBind(F1<? super A, Trampoline<B>> fn) {
-      return next.call().doBind(fn);
-    }
   }
 
   private static class Done<A> extends Trampoline<A> {
 
-    private final F0<A> result;
-
-    private Done(F0<A> result) {
-      this.result = result;
-    }
+    private final A value;
 
-    @Override
-    public boolean isDone() {
-      return true;
+    private Done(A value) {
+      this.value = value;
     }
+  }
 
-    @Override
-    public Trampoline<A> step() {
-      return this;
-    }
+  private static class Delay<A> extends Trampoline<A> {
 
-    @Override
-    protected A get() {
-      return result.call();
-    }
+    private final F0<A> fn;
 
-    @Override
-    <B> Trampoline<B> doBind(F1<? super A, Trampoline<B>> fn) {
-      return fn.call(result.call());
+    private Delay(F0<A> fn) {
+      this.fn = fn;
     }
   }
 
@@ -243,7 +243,7 @@ public abstract class Trampoline<A> implements Monad<Trampoline.μ,A> {
    * @return a trampoline.
    */
   public static final <A> Trampoline<A> done$(F0<A> fn) {
-    return new Done<>(fn);
+    return new Delay<>(fn);
   }
 
   /**
@@ -252,7 +252,7 @@ public abstract class Trampoline<A> implements Monad<Trampoline.μ,A> {
    * @return a trampoiine containing the given arugment.
    */
   public static final <A> Trampoline<A> done(A a) {
-    return done$(() -> a);
+    return new Done<>(a);
   }
 
   /**
@@ -1,132 +1,264 @@
 package drjoliv.jfunc.data.deque;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import drjoliv.jfunc.contorl.maybe.Maybe;
 import drjoliv.jfunc.data.list.FList;
 import drjoliv.jfunc.hlist.T2;
 
+import static drjoliv.jfunc.contorl.eval.Eval.later;
 import static drjoliv.jfunc.contorl.maybe.Maybe.*;
 import static drjoliv.jfunc.data.list.FList.*;
 import static drjoliv.jfunc.hlist.T2.*;
 
+/**
+ * A persistent double-ended queue, stored as a banker's deque. The elements are kept in a front list and a reversed
+ * rear list whose lengths are cached. Whenever one list grows to more than {@code C} times the length of the other,
+ * half of its elements are moved to the other list by a lazy rotation. Each rotation is paid for by the pushes that
+ * made it necessary, so pushing and popping at either end are amortized O(1) and {@code size} is O(1).
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
 public class Deque<A> implements Iterable<A> {
 
+  //One list may be at most C times the length of the other, plus one.
+  private static final int C = 3;
+
+  private static final Deque<?> EMPTY = new Deque<>(FList.empty(), 0, FList.empty(), 0);
+
   private final FList<A> front;
+  private final int frontSize;
   private final FList<A> rear;
+  private final int rearSize;
 
-  Deque(FList<A> list) {
-    T2<FList<A>,FList<A>> t = list.split();
-    this.front = t._1();
-    this.rear  = t._2().reverse();
+  private Deque(FList<A> front, int frontSize, FList<A> rear, int rearSize) {
+    this.front     = front;
+    this.frontSize = frontSize;
+    this.rear      = rear;
+    this.rearSize  = rearSize;
   }
 
-  Deque(FList<A> front, FList<A> rear) {
-    this.front = front;
-    this.rear  = rear;
+  //Creates a deque, rotating half of the elements of the longer list onto the shorter one if they are out of balance.
+  private static <A> Deque<A> deque(FList<A> front, int frontSize, FList<A> rear, int rearSize) {
+    int size = frontSize + rearSize;
+    if(frontSize > C * rearSize + 1) {
+      int i = size / 2;
+      FList<A> f = front;
+      FList<A> moved = lazy(later(() -> f.drop(i).reverse()));
+      return new Deque<A>(front.take(i), i, rear.append(moved), size - i);
+    } else if(rearSize > C * frontSize + 1) {
+      int j = size / 2;
+      FList<A> r = rear;
+      FList<A> moved = lazy(later(() -> r.drop(j).reverse()));
+      return new Deque<A>(front.append(moved), size - j, rear.take(j), j);
+    } else {
+      return new Deque<A>(front, frontSize, rear, rearSize);
+    }
   }
 
+  /**
+   * Returns true if this deque has no elements, or false otherwise.
+   * @return true if this deque has no elements, or false otherwise.
+   */
   public boolean isEmpty() {
-    return front.isEmpty();
+    return size() == 0;
   }
 
+  /**
+   * Returns the number of elements within this deque.
+   * @return the number of elements within this deque.
+   */
   public int size() {
-    return front.size() + rear.size();
+    return frontSize + rearSize;
   }
 
+  /**
+   * Returns the element at the front of this deque.
+   * @return the element at the front of this deque, or nothing if this deque is empty.
+   */
   public Maybe<A> first() {
-    return front.safeHead();
+    //Balance keeps at most one element in a list when the other is empty.
+    return frontSize == 0
+      ? rear.safeHead()
+      : front.safeHead();
   }
 
+  /**
+   * Returns the element at the back of this deque.
+   * @return the element at the back of this deque, or nothing if this deque is empty.
+   */
   public Maybe<A> last() {
-    return rear.safeHead();
+    return rearSize == 0
+      ? front.safeHead()
+      : rear.safeHead();
   }
 
+  /**
+   * Returns the first {@code i} elements of this deque from front to back.
+   * @param i the number of elements to take.
+   * @return the first {@code i} elements of this deque.
+   */
   public FList<A> takeFront(int i) {
-    return front.size() < i
-      ? front.append(rear.reverse()).take(i)
-      : front.take(i);
+    return i <= frontSize
+      ? front.take(i)
+      : front.append(lazy(later(rear::reverse))).take(i);
   }
 
+  /**
+   * Returns the last {@code i} elements of this deque from back to front.
+   * @param i the number of elements to take.
+   * @return the last {@code i} elements of this deque.
+   */
   public FList<A> takeBack(int i) {
-    return rear.size() < i
-      ? rear.append(front.reverse()).take(i)
-      : rear.take(i);
+    return i <= rearSize
+      ? rear.take(i)
+      : rear.append(lazy(later(front::reverse))).take(i);
   }
 
+  /**
+   * Returns a deque with the given element added to the back.
+   * @param a an element.
+   * @return a deque whose last element is {@code a}.
+   */
   public Deque<A> pushBack(A a) {
-    return front.isEmpty()
-      ? new Deque<A>(front.cons(a), rear)
-      : new Deque<A>(front, rear.cons(a));
+    return deque(front, frontSize, rear.cons(a), rearSize + 1);
   }
 
+  /**
+   * Returns a deque with the given element added to the front.
+   * @param a an element.
+   * @return a deque whose first element is {@code a}.
+   */
   public Deque<A> pushFront(A a) {
-    return new Deque<A>(front.cons(a), rear);
+    return deque(front.cons(a), frontSize + 1, rear, rearSize);
   }
 
+  /**
+   * Removes the element at the front of this deque.
+   * @return the first element and the remaining deque, or nothing if this deque is empty.
+   */
   public Maybe<T2<A, Deque<A>>> popFront() {
-    return isEmpty()
-      ? nothing()
-      : maybe(t2(front.head(),new Deque<>(front.tail(),rear)));
+    if(isEmpty())
+      return nothing();
+    else if(frontSize == 0)
+      return maybe(t2(rear.head(), empty()));
+    else
+      return maybe(t2(front.head(), deque(front.tail(), frontSize - 1, rear, rearSize)));
   }
 
+  /**
+   * Removes the element at the back of this deque.
+   * @return the last element and the remaining deque, or nothing if this deque is empty.
+   */
   public Maybe<T2<A, Deque<A>>> popBack() {
-    return isEmpty() 
-      ? nothing()
-      : maybe(t2(rear.head(), new Deque<>(front,rear.tail())));
+    if(isEmpty())
+      return nothing();
+    else if(rearSize == 0)
+      return maybe(t2(front.head(), empty()));
+    else
+      return maybe(t2(rear.head(), deque(front, frontSize, rear.tail(), rearSize - 1)));
   }
 
-  static <A> Deque<A> empty() {
-    return new Deque<>(FList.empty(), FList.empty());
+  /**
+   * Returns an empty deque.
+   * @return an empty deque.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> Deque<A> empty() {
+    return (Deque<A>)EMPTY;
   }
 
+  /**
+   * Returns an iterator over the elements of this deque from front to back. The rear list is copied into an array the
+   * first time the iterator reaches it.
+   * @return an iterator over the elements of this deque.
+   */
   @Override
   public Iterator<A> iterator() {
     return new Iterator<A>(){
 
-    private FList<A> f = front;
-    private FList<A> r = rear.reverse();
+      private FList<A> f = front;
+      private int fs = frontSize;
+      private Object[] back;
+      private int i;
 
       @Override
       public boolean hasNext() {
-        return (!f.isEmpty()) || (!r.isEmpty());
+        return fs > 0 || i > 0 || back == null && rearSize > 0;
       }
 
+      @SuppressWarnings("unchecked")
       @Override
       public A next() {
-        if(!f.isEmpty()) {
+        if(fs > 0) {
           A a = f.head();
           f = f.tail();
+          fs--;
           return a;
-        } else {
-          A a = r.head();
-          r = r.tail();
-         return a;
         }
+        if(back == null) {
+          back = new Object[rearSize];
+          i    = rearSize;
+          int j = rearSize;
+          for(FList<A> r = rear; j > 0; r = r.tail())
+            back[--j] = r.head();
+        }
+        if(i == 0)
+          throw new NoSuchElementException();
+        return (A)back[rearSize - i--];
       }
     };
   }
 
   /**
-   *
-   *
-   * @param args
-   * @return
+   * Creates a deque from the given elements, the first argument is the front of the deque.
+   * @param args the elements of the deque.
+   * @return a deque.
    */
+  @SafeVarargs
   public static <A> Deque<A> dequeue(A... args) {
-    return dequeue(flist(args));
+    return deque(fromArray(args), args.length, FList.empty(), 0);
   }
 
+  /**
+   * Creates a deque from the elements of a finite list, the head of the list is the front of the deque.
+   * @param list the elements of the deque.
+   * @return a deque.
+   */
   public static <A> Deque<A> dequeue(FList<A> list) {
-    return new Deque<A>(list);
+    return deque(list, list.size(), FList.empty(), 0);
   }
 
+  /**
+   * Returns a deque containing the elements of this deque followed by the elements of the given deque. The elements of
+   * the smaller deque are pushed onto the larger one, so concatenation is O(min(n, m)) and the result is no deeper
+   * than a deque built by pushes, however many concatenations it is built from.
+   * @param dequeue a deque.
+   * @return the concatenation of this deque and the given deque.
+   */
   public Deque<A> concat(Deque<A> dequeue) {
-    FList<A> f = dequeue.takeFront(dequeue.size());
-    Deque<A> self = this;
-    for(A a : f) {
-      self = self.pushBack(a);
+    if(dequeue.isEmpty())
+      return this;
+    if(isEmpty())
+      return dequeue;
+    if(dequeue.size() <= size()) {
+      Deque<A> self = this;
+      for(A a : dequeue)
+        self = self.pushBack(a);
+      return self;
     }
-    return self;
+    Object[] elements = new Object[size()];
+    int i = 0;
+    for(A a : this)
+      elements[i++] = a;
+    Deque<A> other = dequeue;
+    while(i > 0)
+      other = other.pushFront(Deque.<A>unchecked(elements[--i]));
+    return other;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A unchecked(Object a) {
+    return (A)a;
   }
 }
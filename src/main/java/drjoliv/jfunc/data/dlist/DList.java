@@ -1,32 +1,111 @@
 package drjoliv.jfunc.data.dlist;
 
-import static drjoliv.jfunc.data.list.FList.flist;
-import static drjoliv.jfunc.function.F1.compose;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import drjoliv.jfunc.data.list.FList;
 import drjoliv.jfunc.function.F1;
 import drjoliv.jfunc.functor.Functor;
 
 /**
- * A differnece list allows for quicker concatenation of elements.
+ * A differnece list allows for quicker concatenation of elements. A dlist is stored as a rope, a binary tree whose
+ * leaves are arrays of elements and whose inner nodes record the number of elements beneath them. Concatenating two
+ * dlists allocates a single node, and {@code cons} and {@code snoc} copy at most one short leaf, so building a dlist
+ * from many small pieces is O(1) per piece. The elements are only gathered when the dlist is turned into an array or
+ * a flist, which takes a single pass over the tree into an array of the right size. A flist given to
+ * {@link #fromList(FList)} is kept as a leaf of its own and is not walked until it is needed, so it may be infinite.
+ * <pre>
+ * {@code
+ * DList<String> log = DList.<String>empty()
+ *   .snoc("started")
+ *   .append(DList.dlist("read", "parsed"))
+ *   .snoc("done");
+ * log.toList() // [ started read parsed done ]
+ * }
+ * </pre>
  * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
  */
-public class DList<A> implements Functor<DList.μ,A> {
+public class DList<A> implements Functor<DList.μ,A>, Iterable<A> {
 
   /**
   * The witness type of {@code DList}.
   */
   public static class μ {private μ(){}}
 
-  private final F1<FList<A>,FList<A>> list;
+  //Leaves shorter than this are copied by cons and snoc rather than given a sibling.
+  private static final int CHUNK_SIZE = 16;
+
+  private static final DList<?> EMPTY = new DList<>(new Leaf(new Object[0]));
+
+  private final Rope rope;
+
+  private DList(Rope rope) {
+    this.rope = rope;
+  }
 
   @Override
   public <B> DList<B> map(F1<? super A, ? extends B> fn) {
-    return new DList<>(list -> toList().map(fn));
+    if(rope.size == UNKNOWN)
+      return new DList<>(new ListLeaf(toList().map(fn)));
+    Object[] elements = toArray();
+    for(int i = 0; i < elements.length; i++)
+      elements[i] = fn.call(DList.<A>unchecked(elements)[i]);
+    return new DList<>(new Leaf(elements));
+  }
+
+  /**
+   * Returns the number of elements within this dlist. A flist given to {@link #fromList(FList)} is walked the first
+   * time the size of a dlist holding it is needed, each part of the rope keeps its size once counted, so later calls
+   * are O(1).
+   * @return the number of elements within this dlist.
+   */
+  public int size() {
+    int n = rope.size;
+    return n == UNKNOWN ? count(rope) : n;
+  }
+
+  //Counts the parts of the rope whose sizes are not known in post order, keeping each count.
+  private static int count(Rope root) {
+    Rope[] stack = new Rope[16];
+    int top = 0;
+    stack[top++] = root;
+    while(top > 0) {
+      Rope r = stack[top - 1];
+      Rope next = null;
+      if(r instanceof ListLeaf) {
+        int n = 0;
+        for(Iterator<?> it = ((ListLeaf)r).list.iterator(); it.hasNext(); it.next())
+          n++;
+        r.size = n;
+      } else {
+        Node n = (Node)r;
+        if(n.left.size == UNKNOWN)
+          next = n.left;
+        else if(n.right.size == UNKNOWN)
+          next = n.right;
+        else
+          n.size = n.left.size + n.right.size;
+      }
+      if(next == null) {
+        stack[--top] = null;
+      } else {
+        if(top == stack.length)
+          stack = Arrays.copyOf(stack, top << 1);
+        stack[top++] = next;
+      }
+    }
+    return root.size;
   }
 
-  private DList(F1<FList<A>, FList<A>> list) {
-    this.list = list;
+  /**
+   * Returns true if this dlist has no elements, or false otherwise.
+   * @return true if this dlist has no elements, or false otherwise.
+   */
+  public boolean isEmpty() {
+    return rope.size == 0;
   }
 
   /**
@@ -35,7 +114,15 @@ public class DList<A> implements Functor<DList.μ,A> {
    * @return a dlist.
    */
   public DList<A> cons(A a) {
-    return new DList<>(list.then(ls -> ls.cons(a)));
+    Rope r = rope;
+    if(r instanceof Leaf && r.size < CHUNK_SIZE)
+      return new DList<>(((Leaf)r).cons(a));
+    if(r instanceof Node) {
+      Node n = (Node)r;
+      if(n.left instanceof Leaf && n.left.size < CHUNK_SIZE)
+        return new DList<>(new Node(((Leaf)n.left).cons(a), n.right));
+    }
+    return new DList<>(new Node(new Leaf(new Object[]{a}), r));
   }
 
   /**
@@ -44,7 +131,7 @@ public class DList<A> implements Functor<DList.μ,A> {
    * @return a list with the argument prepended.
    */
   public DList<A> prepend(DList<A> dl) {
-    return new DList<>(compose(list, dl.list));
+    return dl.append(this);
   }
 
   /**
@@ -53,7 +140,15 @@ public class DList<A> implements Functor<DList.μ,A> {
    * @return a list with the argument appended.
    */
   public DList<A> snoc(A a) {
-    return new DList<>(list.before(ls -> ls.cons(a)));
+    Rope r = rope;
+    if(r instanceof Leaf && r.size < CHUNK_SIZE)
+      return new DList<>(((Leaf)r).snoc(a));
+    if(r instanceof Node) {
+      Node n = (Node)r;
+      if(n.right instanceof Leaf && n.right.size < CHUNK_SIZE)
+        return new DList<>(new Node(n.left, ((Leaf)n.right).snoc(a)));
+    }
+    return new DList<>(new Node(r, new Leaf(new Object[]{a})));
   }
 
   /**
@@ -62,15 +157,20 @@ public class DList<A> implements Functor<DList.μ,A> {
    * @return a dlist with the argument appended.
    */
   public DList<A> append(DList<A> dl) {
-    return new DList<>(compose(dl.list, list));
+    if(dl.isEmpty())
+      return this;
+    if(isEmpty())
+      return dl;
+    return new DList<>(new Node(rope, dl.rope));
   }
 
   /**
    * Returns an empty dlist.
    * @return an empty dlist.
    */
+  @SuppressWarnings("unchecked")
   public static <A> DList<A> empty() {
-    return new DList<>(F1.identity());
+    return (DList<A>)EMPTY;
   }
 
   /**
@@ -79,16 +179,18 @@ public class DList<A> implements Functor<DList.μ,A> {
    * @return a dlist containing the sinle argument.
    */
   public static <A> DList<A> singleton(A a) {
-    return new DList<>(ls -> ls.cons(a));
+    return new DList<>(new Leaf(new Object[]{a}));
   }
 
   /**
-   * Converts a flist to a dlist.
+   * Converts a flist to a dlist, the flist is not walked until the elements of the dlist are needed.
    * @param flist the flist to be converted to a dlist.
    * @return a dlist.
    */
   public static <A> DList<A> fromList(FList<A> flist) {
-    return new DList<>(ls -> ls.append(flist));
+    return flist.isEmpty()
+      ? empty()
+      : new DList<>(new ListLeaf(flist));
   }
 
 
@@ -97,15 +199,205 @@ public class DList<A> implements Functor<DList.μ,A> {
    * @param as an arry of elements.
    * @return a dlist.
    */
+  @SafeVarargs
   public static <A> DList<A> dlist(A... as) {
-    return fromList(flist(as));
+    return as.length == 0
+      ? empty()
+      : new DList<>(new Leaf(Arrays.copyOf(as, as.length, Object[].class)));
   }
 
   /**
-   * Transforms this dlist into a flist.
+   * Returns an array containing the elements of this dlist, filled by a single walk of the rope.
+   * @return an array containing the elements of this dlist.
+   */
+  public Object[] toArray() {
+    Object[] elements = new Object[size()];
+    int i = 0;
+    Rope[] stack = new Rope[16];
+    int top = 0;
+    stack[top++] = rope;
+    while(top > 0) {
+      Rope r = stack[--top];
+      if(r instanceof Leaf) {
+        Object[] items = ((Leaf)r).items;
+        System.arraycopy(items, 0, elements, i, items.length);
+        i += items.length;
+      } else if(r instanceof ListLeaf) {
+        for(Object o : ((ListLeaf)r).list)
+          elements[i++] = o;
+      } else {
+        Node n = (Node)r;
+        if(top + 2 > stack.length)
+          stack = Arrays.copyOf(stack, stack.length << 1);
+        stack[top++] = n.right;
+        stack[top++] = n.left;
+      }
+    }
+    return elements;
+  }
+
+  /**
+   * Transforms this dlist into a flist. When the dlist holds flists given to {@link #fromList(FList)} the leaves are
+   * appended lazily, so no flist is walked before the returned flist reaches it.
    * @return a flist.
    */
   public FList<A> toList() {
-    return list.call(FList.empty());
+    if(rope.size != UNKNOWN)
+      return FList.fromArray(DList.<A>unchecked(toArray()));
+    List<Rope> leaves = new ArrayList<>();
+    Rope[] stack = new Rope[16];
+    int top = 0;
+    stack[top++] = rope;
+    while(top > 0) {
+      Rope r = stack[--top];
+      if(r instanceof Node) {
+        Node n = (Node)r;
+        if(top + 2 > stack.length)
+          stack = Arrays.copyOf(stack, stack.length << 1);
+        stack[top++] = n.right;
+        stack[top++] = n.left;
+      } else {
+        leaves.add(r);
+      }
+    }
+    FList<A> list = FList.empty();
+    for(int i = leaves.size() - 1; i >= 0; i--) {
+      Rope r = leaves.get(i);
+      FList<A> leaf = r instanceof Leaf
+        ? FList.fromArray(DList.<A>unchecked(((Leaf)r).items))
+        : DList.<A>unchecked((ListLeaf)r);
+      list = leaf.append(list);
+    }
+    return list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> FList<A> unchecked(ListLeaf leaf) {
+    return (FList<A>)leaf.list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A[] unchecked(Object[] elements) {
+    return (A[])elements;
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return new Iterator<A>() {
+
+      private Rope[] stack = new Rope[16];
+      private int top;
+      private Object[] leaf = new Object[0];
+      private int i;
+      //The elements of the flist leaf being walked, or null.
+      private Iterator<?> list;
+
+      {
+        stack[top++] = rope;
+      }
+
+      @Override
+      public boolean hasNext() {
+        while(i == leaf.length) {
+          if(list != null) {
+            if(list.hasNext())
+              return true;
+            list = null;
+          }
+          if(top == 0)
+            return false;
+          Rope r = stack[--top];
+          stack[top] = null;
+          if(r instanceof Leaf) {
+            leaf = ((Leaf)r).items;
+            i    = 0;
+          } else if(r instanceof ListLeaf) {
+            list = ((ListLeaf)r).list.iterator();
+          } else {
+            Node n = (Node)r;
+            if(top + 2 > stack.length)
+              stack = Arrays.copyOf(stack, stack.length << 1);
+            stack[top++] = n.right;
+            stack[top++] = n.left;
+          }
+        }
+        return true;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public A next() {
+        if(!hasNext())
+          throw new NoSuchElementException();
+        return i < leaf.length
+          ? (A)leaf[i++]
+          : (A)list.next();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    for(A a : this)
+      builder.append(a).append(" ");
+    builder.append("]");
+    return builder.toString();
+  }
+
+  //The size of a rope holding a flist leaf, whose length is not known until it is walked.
+  private static final int UNKNOWN = -1;
+
+  private static abstract class Rope {
+    //Only a rope holding a flist leaf starts UNKNOWN, it is set once the rope is counted.
+    int size;
+
+    Rope(int size) {
+      this.size = size;
+    }
+  }
+
+  private static final class Leaf extends Rope {
+    final Object[] items;
+
+    Leaf(Object[] items) {
+      super(items.length);
+      this.items = items;
+    }
+
+    Leaf cons(Object a) {
+      Object[] copy = new Object[items.length + 1];
+      copy[0] = a;
+      System.arraycopy(items, 0, copy, 1, items.length);
+      return new Leaf(copy);
+    }
+
+    Leaf snoc(Object a) {
+      Object[] copy = Arrays.copyOf(items, items.length + 1);
+      copy[items.length] = a;
+      return new Leaf(copy);
+    }
+  }
+
+  //A non-empty flist given to fromList.
+  private static final class ListLeaf extends Rope {
+    final FList<?> list;
+
+    ListLeaf(FList<?> list) {
+      super(UNKNOWN);
+      this.list = list;
+    }
+  }
+
+  private static final class Node extends Rope {
+    final Rope left;
+    final Rope right;
+
+    Node(Rope left, Rope right) {
+      super(left.size == UNKNOWN || right.size == UNKNOWN ? UNKNOWN : left.size + right.size);
+      this.left  = left;
+      this.right = right;
+    }
   }
 }
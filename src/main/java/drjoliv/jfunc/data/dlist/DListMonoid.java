@@ -0,0 +1,28 @@
+package drjoliv.jfunc.data.dlist;
+
+import drjoliv.jfunc.monoid.Monoid;
+
+/**
+ * DList monoid instance, appending is O(1) so it suits logs built from many small pieces, such as those of a
+ * {@code Writer}.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public class DListMonoid<A> implements Monoid<DList<A>>{
+
+  private static final DListMonoid INSTANCE = new DListMonoid();
+
+  public static <A> DListMonoid<A> dlistMonoid() {
+    return INSTANCE;
+  }
+
+  @Override
+  public DList<A> mempty() {
+    return DList.empty();
+  }
+
+  @Override
+  public DList<A> mappend(DList<A> w1, DList<A> w2) {
+    return w1.append(w2);
+  }
+
+}
@@ -0,0 +1,246 @@
+package drjoliv.jfunc.data.heap;
+
+import static drjoliv.jfunc.contorl.maybe.Maybe.maybe;
+import static drjoliv.jfunc.contorl.maybe.Maybe.nothing;
+import static drjoliv.jfunc.hlist.T2.t2;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.FList.EmptyListException;
+import drjoliv.jfunc.eq.Ord;
+import drjoliv.jfunc.foldable.Foldable;
+import drjoliv.jfunc.hlist.T2;
+
+/**
+ * A persistent min heap ordered by an {@code Ord}, stored as a pairing heap. A heap is a tree whose root holds the
+ * least element and whose children are heaps. Inserting and merging place the root with the greater element among the
+ * children of the other root, so {@code insert}, {@code merge} and {@code findMin} are O(1). Removing the least
+ * element merges the children in pairs from the left and then merges the pairs from the right, which is O(log n)
+ * amortized. Each heap remembers the heap left after its least element is removed, so the work is not repeated when an
+ * old heap is reused.
+ * <p>
+ * Elements that are equal by the order are all kept. A max heap is a min heap with a reversed order.
+ * <pre>
+ * {@code
+ * Heap<Integer> heap = Heap.fromFoldable(flist(5, 1, 4, 1, 3), Ord.orderable());
+ * heap.findMin() == maybe(1)
+ * heap.toList().take(3) // [ 1 1 3 ]
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class Heap<E> implements Iterable<E> {
+
+  private final Ord<E> order;
+  private final Tree<E> root;
+  private final int size;
+
+  //The heap left once the least element is removed, computed the first time it is needed.
+  private Heap<E> rest;
+
+  private Heap(Ord<E> order, Tree<E> root, int size) {
+    this.order = order;
+    this.root  = root;
+    this.size  = size;
+  }
+
+  /**
+   * Creates an empty heap ordered by the given ord.
+   * @param order the order of the heap.
+   * @return an empty heap.
+   */
+  public static <E> Heap<E> empty(Ord<E> order) {
+    return new Heap<E>(order, null, 0);
+  }
+
+  /**
+   * Creates a heap from the elements of a finite foldable.
+   * @param foldable a finite foldable.
+   * @param order the order of the heap.
+   * @return a heap containing the elements of the foldable.
+   */
+  public static <M,E> Heap<E> fromFoldable(Foldable<M,E> foldable, Ord<E> order) {
+    return foldable.foldl((heap, e) -> heap.insert(e), empty(order));
+  }
+
+  /**
+   * Returns the number of elements within this heap.
+   * @return the number of elements within this heap.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if this heap has no elements, or false otherwise.
+   * @return true if this heap has no elements, or false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the least element of this heap.
+   * @return the least element of this heap, or nothing if this heap is empty.
+   */
+  public Maybe<E> findMin() {
+    return isEmpty()
+      ? nothing()
+      : maybe(root.elem);
+  }
+
+  /**
+   * Returns a heap containing the elements of this heap and the given element.
+   * @param e an element.
+   * @return a heap containing {@code e}.
+   */
+  public Heap<E> insert(E e) {
+    Tree<E> t = new Tree<E>(e, null);
+    return new Heap<E>(order, isEmpty() ? t : merge(root, t, order), size + 1);
+  }
+
+  /**
+   * Returns a heap containing the elements of this heap and the elements of the given heap, ordered by the order of
+   * this heap.
+   * @param heap a heap.
+   * @return a heap containing the elements of both heaps.
+   */
+  public Heap<E> merge(Heap<E> heap) {
+    if(heap.isEmpty())
+      return this;
+    if(isEmpty())
+      return new Heap<E>(order, heap.root, heap.size);
+    return new Heap<E>(order, merge(root, heap.root, order), size + heap.size);
+  }
+
+  /**
+   * Returns this heap without its least element.
+   * @return this heap without its least element.
+   * @throws EmptyListException if this heap is empty.
+   */
+  public Heap<E> deleteMin() {
+    if(isEmpty())
+      throw new EmptyListException();
+    Heap<E> h = rest;
+    if(h == null) {
+      h    = new Heap<E>(order, mergePairs(root.children, order), size - 1);
+      rest = h;
+    }
+    return h;
+  }
+
+  /**
+   * Removes the least element of this heap.
+   * @return the least element and the remaining heap, or nothing if this heap is empty.
+   */
+  public Maybe<T2<E, Heap<E>>> pop() {
+    return isEmpty()
+      ? nothing()
+      : maybe(t2(root.elem, deleteMin()));
+  }
+
+  /**
+   * Returns a lazy list of the elements of this heap from least to greatest. Each element is removed from the heap
+   * only when the list is forced that far, so the first {@code k} elements of a heap of {@code n} elements cost
+   * O(k log n).
+   * @return the elements of this heap in order.
+   */
+  public FList<E> toList() {
+    return isEmpty()
+      ? FList.empty()
+      : FList.flist(root.elem, () -> deleteMin().toList());
+  }
+
+  /**
+   * Sorts the elements of a finite foldable with a heap. The heap is built in O(n) and the returned list is lazy, so
+   * the first {@code k} elements of the result cost O(n + k log n).
+   * @param foldable a finite foldable.
+   * @param order the order to sort by.
+   * @return a lazy list of the elements of the foldable from least to greatest.
+   */
+  public static <M,E> FList<E> sort(Foldable<M,E> foldable, Ord<E> order) {
+    return fromFoldable(foldable, order).toList();
+  }
+
+  /**
+   * Returns an iterator over the elements of this heap from least to greatest.
+   * @return an iterator over the elements of this heap.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+
+      private Heap<E> h = Heap.this;
+
+      @Override
+      public boolean hasNext() {
+        return !h.isEmpty();
+      }
+
+      @Override
+      public E next() {
+        if(h.isEmpty())
+          throw new NoSuchElementException();
+        E e = h.root.elem;
+        h = h.deleteMin();
+        return e;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    for(E e : this)
+      builder.append(e).append(" ");
+    builder.append("]");
+    return builder.toString();
+  }
+
+  private static <E> Tree<E> merge(Tree<E> a, Tree<E> b, Ord<E> order) {
+    return order.gt(a.elem, b.elem)
+      ? new Tree<E>(b.elem, new Children<E>(a, b.children))
+      : new Tree<E>(a.elem, new Children<E>(b, a.children));
+  }
+
+  //Merges the children in pairs from the left, then merges the pairs from the right.
+  private static <E> Tree<E> mergePairs(Children<E> children, Ord<E> order) {
+    Children<E> pairs = null;
+    for(Children<E> c = children; c != null; ) {
+      if(c.next == null) {
+        pairs = new Children<E>(c.tree, pairs);
+        break;
+      }
+      pairs = new Children<E>(merge(c.tree, c.next.tree, order), pairs);
+      c = c.next.next;
+    }
+    Tree<E> t = null;
+    for(Children<E> p = pairs; p != null; p = p.next)
+      t = t == null ? p.tree : merge(p.tree, t, order);
+    return t;
+  }
+
+  private static final class Tree<E> {
+    final E elem;
+    final Children<E> children;
+
+    Tree(E elem, Children<E> children) {
+      this.elem     = elem;
+      this.children = children;
+    }
+  }
+
+  private static final class Children<E> {
+    final Tree<E> tree;
+    final Children<E> next;
+
+    Children(Tree<E> tree, Children<E> next) {
+      this.tree = tree;
+      this.next = next;
+    }
+  }
+}
@@ -0,0 +1,365 @@
+package drjoliv.jfunc.data.list;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.data.list.FList.EmptyListException;
+import drjoliv.jfunc.function.F0;
+
+/**
+ * A lazy stream of {@code double} values. Elements are stored unboxed and the tail of each cell is evaluated
+ * at most once, the first time it is needed.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public abstract class DoubleFList implements Iterable<Double> {
+
+  private DoubleFList(){}
+
+  /**
+   * Returns true if this list has zero elements, or false otherwise.
+   * @return true if this list has zero elements, or false otherwise.
+   */
+  public abstract boolean isEmpty();
+
+  /**
+   * Returns the element at the head of this list.
+   * @return the element at the head of this list.
+   */
+  public abstract double head();
+
+  /**
+   * Returns this list with its head dropped.
+   * @return this list with its head dropped.
+   */
+  public abstract DoubleFList tail();
+
+  /**
+   * Creates a new list in which the given element is the head.
+   * @param i the element that will be prepended to this list.
+   * @return a new list in which the given element is the head.
+   */
+  public final DoubleFList cons(double i) {
+    return new Cons(i, this);
+  }
+
+  /**
+   * Applies the given function to every element of this list.
+   * @param fn a function to apply to each element.
+   * @return a list containing the results of the function.
+   */
+  public DoubleFList map(DoubleUnaryOperator fn) {
+    if(isEmpty())
+      return empty();
+    final DoubleFList self = this;
+    return doubleFList(fn.applyAsDouble(head()), () -> self.tail().map(fn));
+  }
+
+  /**
+   * Applies the given function to every element of this list, boxing the results into a FList.
+   * @param fn a function to apply to each element.
+   * @return a FList containing the results of the function.
+   */
+  public <B> FList<B> mapToObj(DoubleFunction<? extends B> fn) {
+    if(isEmpty())
+      return FList.empty();
+    final DoubleFList self = this;
+    return FList.flist(fn.apply(head()), () -> self.tail().mapToObj(fn));
+  }
+
+  /**
+   * Removes all elements within this list that evaluate to false when applied to the predicate.
+   * @param p the predicate used to filter this list.
+   * @return a list in which elements have been filtered out.
+   */
+  public DoubleFList filter(DoublePredicate p) {
+    DoubleFList list = this;
+    while(!list.isEmpty() && !p.test(list.head()))
+      list = list.tail();
+    if(list.isEmpty())
+      return empty();
+    final DoubleFList rest = list;
+    return doubleFList(rest.head(), () -> rest.tail().filter(p));
+  }
+
+  /**
+   * Takes elements from this list until the predicate becomes false.
+   * @param p a predicate.
+   * @return elements from this list until the predicate becomes false.
+   */
+  public DoubleFList takeWhile(DoublePredicate p) {
+    if(isEmpty() || !p.test(head()))
+      return empty();
+    final DoubleFList self = this;
+    return doubleFList(head(), () -> self.tail().takeWhile(p));
+  }
+
+  /**
+   * Returns a list containing the first {@code i} elements of this list.
+   * @param i the number of elements to take.
+   * @return a list containing the first {@code i} elements of this list.
+   */
+  public DoubleFList take(int i) {
+    if(i <= 0 || isEmpty())
+      return empty();
+    final DoubleFList self = this;
+    return doubleFList(head(), () -> i == 1 ? empty() : self.tail().take(i - 1));
+  }
+
+  /**
+   * Returns this list with the first {@code i} elements dropped.
+   * @param i the number of elements to drop.
+   * @return this list with the first {@code i} elements dropped.
+   */
+  public DoubleFList drop(int i) {
+    DoubleFList list = this;
+    for(int j = i; j > 0 && !list.isEmpty(); j--)
+      list = list.tail();
+    return list;
+  }
+
+  /**
+   * Strict left associative fold of this list.
+   * @param seed the seed value.
+   * @param fn a function to fold over this list.
+   * @return a reduced value.
+   */
+  public double fold(double seed, DoubleBinaryOperator fn) {
+    double acc = seed;
+    for(DoubleFList list = this; !list.isEmpty(); list = list.tail())
+      acc = fn.applyAsDouble(acc, list.head());
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements within this list.
+   * @return the sum of the elements within this list.
+   */
+  public double sum() {
+    double acc = 0.0;
+    for(DoubleFList list = this; !list.isEmpty(); list = list.tail())
+      acc += list.head();
+    return acc;
+  }
+
+  /**
+   * Returns the product of the elements within this list.
+   * @return the product of the elements within this list.
+   */
+  public double product() {
+    double acc = 1.0;
+    for(DoubleFList list = this; !list.isEmpty(); list = list.tail())
+      acc *= list.head();
+    return acc;
+  }
+
+  /**
+   * Returns the number of elements within this list.
+   * @return the number of elements within this list, or {@code Integer.MAX_VALUE} if it has more elements than that.
+   */
+  public int size() {
+    int i = 0;
+    for(DoubleFList list = this; i < Integer.MAX_VALUE && !list.isEmpty(); list = list.tail())
+      i++;
+    return i;
+  }
+
+  /**
+   * Performs the given action for every element of this list.
+   * @param c the action to perform.
+   */
+  public void forEachDouble(DoubleConsumer c) {
+    for(DoubleFList list = this; !list.isEmpty(); list = list.tail())
+      c.accept(list.head());
+  }
+
+  /**
+   * Returns an array containing the elements of this list.
+   * @return an array containing the elements of this list.
+   */
+  public double[] toArray() {
+    double[] array = new double[16];
+    int n = 0;
+    for(DoubleFList list = this; !list.isEmpty(); list = list.tail()) {
+      if(n == array.length)
+        array = Arrays.copyOf(array, n * 2);
+      array[n++] = list.head();
+    }
+    return Arrays.copyOf(array, n);
+  }
+
+  /**
+   * Converts this list to a FList, boxing each element as it is needed.
+   * @return a FList containing the elements of this list.
+   */
+  public FList<Double> boxed() {
+    return mapToObj(Double::valueOf);
+  }
+
+  @Override
+  public PrimitiveIterator.OfDouble iterator() {
+    final DoubleFList self = this;
+    return new PrimitiveIterator.OfDouble() {
+
+      private DoubleFList list = self;
+
+      @Override
+      public boolean hasNext() {
+        return !list.isEmpty();
+      }
+
+      @Override
+      public double nextDouble() {
+        if(list.isEmpty())
+          throw new NoSuchElementException();
+        double i = list.head();
+        list = list.tail();
+        return i;
+      }
+    };
+  }
+
+  @Override
+  public final String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    forEachDouble(i -> builder.append(i).append(" "));
+    builder.append("]");
+    return builder.toString();
+  }
+
+  private static final class Nil extends DoubleFList {
+
+    private static final Nil INSTANCE = new Nil();
+
+    @Override
+    public boolean isEmpty() {
+      return true;
+    }
+
+    @Override
+    public double head() {
+      throw new EmptyListException();
+    }
+
+    @Override
+    public DoubleFList tail() {
+      throw new EmptyListException();
+    }
+  }
+
+  private static final class Cons extends DoubleFList {
+
+    private final double head;
+    //The tail is published before the eval is released, a null eval means the tail is set.
+    private volatile Eval<DoubleFList> eval;
+    private volatile DoubleFList tail;
+
+    private Cons(double head, DoubleFList tail) {
+      this.head = head;
+      this.tail = tail;
+    }
+
+    private Cons(double head, F0<DoubleFList> supplier) {
+      this.head = head;
+      this.eval = Eval.later(supplier);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return false;
+    }
+
+    @Override
+    public double head() {
+      return head;
+    }
+
+    @Override
+    public DoubleFList tail() {
+      DoubleFList t = tail;
+      return t == null ? computeTail() : t;
+    }
+
+    //The eval computes its value at most once, so threads racing here agree on the tail and no lock is needed.
+    private DoubleFList computeTail() {
+      Eval<DoubleFList> e = eval;
+      if(e == null)
+        return tail;
+      DoubleFList t = e.value();
+      tail = t;
+      eval = null;
+      return t;
+    }
+  }
+
+  /**
+   * Returns the empty list.
+   * @return the empty list.
+   */
+  public static DoubleFList empty() {
+    return Nil.INSTANCE;
+  }
+
+  /**
+   * Creates a new list.
+   * @param head the element placed at the head of the created list.
+   * @param supplier a supplier used to generate the tail of the created list.
+   * @return a new list.
+   */
+  public static DoubleFList doubleFList(double head, F0<DoubleFList> supplier) {
+    return new Cons(head, supplier);
+  }
+
+  /**
+   * Creates a new list from an array of elements.
+   * @param elements the elements that will be turned into a list.
+   * @return a new list.
+   */
+  public static DoubleFList doubleFList(double... elements) {
+    DoubleFList list = empty();
+    for(int i = elements.length - 1; i >= 0; i--)
+      list = list.cons(elements[i]);
+    return list;
+  }
+
+  /**
+   * Creates an infinite sequence from a seed element and a function that generates the next element from the previous one.
+   * @param seed the first element of the sequence.
+   * @param fn a function that generates the next element.
+   * @return an infinite list.
+   */
+  public static DoubleFList sequence(double seed, DoubleUnaryOperator fn) {
+    return doubleFList(seed, () -> sequence(fn.applyAsDouble(seed), fn));
+  }
+
+  /**
+   * Returns a list generated by applying the binary function to pairs of elements from the two given lists.
+   * @param fn a binary function.
+   * @param l1 the list used in the first operand position.
+   * @param l2 the list used in the second operand position.
+   * @return a list generated by applying the binary function to pairs of elements from the given lists.
+   */
+  public static DoubleFList zipWith(DoubleBinaryOperator fn, DoubleFList l1, DoubleFList l2) {
+    if(l1.isEmpty() || l2.isEmpty())
+      return empty();
+    return doubleFList(fn.applyAsDouble(l1.head(), l2.head()), () -> zipWith(fn, l1.tail(), l2.tail()));
+  }
+
+  /**
+   * Converts a FList to a list of unboxed elements, the elements are unboxed as they are needed.
+   * @param list a FList.
+   * @return a list of unboxed elements.
+   */
+  public static DoubleFList unboxed(FList<Double> list) {
+    if(list.isEmpty())
+      return empty();
+    return doubleFList(list.head(), () -> unboxed(list.tail()));
+  }
+}
@@ -2,23 +2,30 @@ package drjoliv.jfunc.data.list;
 
 import static drjoliv.jfunc.contorl.eval.Eval.later;
 import static drjoliv.jfunc.contorl.eval.Eval.now;
-import static drjoliv.jfunc.contorl.tramp.Trampoline.done;
-import static drjoliv.jfunc.contorl.tramp.Trampoline.more;
 import static drjoliv.jfunc.hlist.T2.t2;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import drjoliv.jfunc.applicative.Applicative;
 import drjoliv.jfunc.applicative.ApplicativeFactory;
 import drjoliv.jfunc.contorl.Case2;
 import drjoliv.jfunc.contorl.eval.Eval;
 import drjoliv.jfunc.contorl.maybe.Maybe;
-import drjoliv.jfunc.contorl.tramp.Trampoline;
 import drjoliv.jfunc.data.Unit;
+import drjoliv.jfunc.data.heap.Heap;
+import drjoliv.jfunc.eq.Ord;
+import drjoliv.jfunc.eq.Ordering;
 import drjoliv.jfunc.function.F0;
 import drjoliv.jfunc.function.F1;
 import drjoliv.jfunc.function.F2;
@@ -29,6 +36,7 @@ import drjoliv.jfunc.hkt.Hkt;
 import drjoliv.jfunc.hlist.T2;
 import drjoliv.jfunc.monad.Monad;
 import drjoliv.jfunc.monad.MonadFactory;
+import drjoliv.jfunc.monoid.Monoid;
 import drjoliv.jfunc.traversable.Traversable;
 
 /**
@@ -115,6 +123,11 @@ public abstract class FList<A> implements Hkt<FList.μ,A>,
   */
   public static class μ {private μ(){}}
 
+  /**
+   * The number of elements held by each array segment of a chunked FList.
+   */
+  public static final int CHUNK_SIZE = 64;
+
   @Override
   public <B> FList<B> map(F1<? super A, ? extends B> fn) {
     return visit$(
@@ -122,6 +135,16 @@ public abstract class FList<A> implements Hkt<FList.μ,A>,
        ,(d, t) -> flist$(d.map(fn), t.map(f -> f.map(fn))));
   }
 
+  /**
+   * Returns a pipeline over this FList, the {@code map}, {@code filter}, {@code takeWhile} and {@code take}
+   * stages of a pipeline are fused so that only the elements surviving all stages are placed into new cells.
+   * @return a pipeline over this FList.
+   * @see Pipeline
+   */
+  public Pipeline<A> pipeline() {
+    return Pipeline.pipeline(this);
+  }
+
   public FList<FList<A>> suffixes() {
    return visit$(
         n     -> empty()
@@ -135,13 +158,35 @@ public abstract class FList<A> implements Hkt<FList.μ,A>,
 
       private FList<A> list = self;
 
+      //The chunk currently being walked, or null when list is a plain cell.
+      private Chunk<A> chunk = null;
+      private int index;
+
       @Override
       public boolean hasNext() {
+        if(chunk != null)
+          return true;
+        list = list.forced();
+        if(list instanceof Chunk) {
+          chunk = (Chunk<A>)list;
+          index = chunk.from;
+          return true;
+        }
         return !list.isEmpty();
       }
 
       @Override
       public A next() {
+        if(!hasNext())
+          throw new NoSuchElementException();
+        if(chunk != null) {
+          A a = chunk.elementAt(index++);
+          if(index == chunk.to) {
+            list  = chunk.rest.value();
+            chunk = null;
+          }
+          return a;
+        }
         A a = list.head();
         list = list.tail();
         return a;
@@ -149,6 +194,129 @@ public abstract class FList<A> implements Hkt<FList.μ,A>,
     };
   }
 
+  /**
+   * Returns a spliterator over the elements of this FList.
+   * @return a spliterator over the elements of this FList.
+   */
+  @Override
+  public Spliterator<A> spliterator() {
+    return new FListSpliterator<A>(this, knownSize());
+  }
+
+  /**
+   * Returns a sequential stream of the elements of this FList. The FList is not copied, its elements are drawn as
+   * the stream consumes them.
+   * <pre>
+   * {@code
+   * int sum = Integers.range(1, 100).stream().mapToInt(i -> i).sum();
+   * }
+   * </pre>
+   * @return a sequential stream of the elements of this FList.
+   */
+  public Stream<A> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream of the elements of this FList. Batches of elements are copied into arrays from the front
+   * of this FList as the stream is split, so only finite FLists should be used.
+   * @return a parallel stream of the elements of this FList.
+   */
+  public Stream<A> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * Returns a collector that gathers the elements of a stream into a FList, in encounter order.
+   * <pre>
+   * {@code
+   * FList<String> list = Stream.of("a", "b", "c").collect(FList.collector());
+   * }
+   * </pre>
+   * @return a collector that gathers the elements of a stream into a FList.
+   */
+  public static <A> Collector<A, ?, FList<A>> collector() {
+    return Collector.<A, ArrayList<A>, FList<A>>of(
+        ArrayList::new
+      , ArrayList::add
+      , (l, r) -> {
+        l.addAll(r);
+        return l;
+      }
+      , l -> chunks(l.toArray()));
+  }
+
+  /**
+   * The default number of elements below which the parallel operations of FList stop splitting work.
+   */
+  public static final int PAR_THRESHOLD = 1 << 12;
+
+  /**
+   * Applies the function to every element of this FList in parallel on the common fork-join pool. This FList must be
+   * finite, it is walked to the end before any work is split.
+   * @param fn a function to apply to each element.
+   * @return a FList containing the results of the function.
+   */
+  public <B> FList<B> parMap(F1<? super A, ? extends B> fn) {
+    return parMap(fn, PAR_THRESHOLD);
+  }
+
+  /**
+   * Applies the function to every element of this FList in parallel on the common fork-join pool, ranges of
+   * {@code threshold} elements or fewer are mapped sequentially. This FList must be finite.
+   * @param fn a function to apply to each element.
+   * @param threshold the number of elements below which work is no longer split.
+   * @return a FList containing the results of the function.
+   */
+  @SuppressWarnings("unchecked")
+  public <B> FList<B> parMap(F1<? super A, ? extends B> fn, int threshold) {
+    return chunks(ParallelTasks.map(toArray(), (F1<Object,Object>)fn, threshold));
+  }
+
+  /**
+   * Maps each element of this FList into a monoid and combines the results in parallel on the common fork-join pool.
+   * The monoid's operation must be associative, the order of the elements is preserved. This FList must be finite.
+   * @param fn a function from an element to the monoid.
+   * @param monoid a monoid.
+   * @return the combination of the mapped elements.
+   */
+  public <W> W parFoldMap(F1<? super A, ? extends W> fn, Monoid<W> monoid) {
+    return parFoldMap(fn, monoid, PAR_THRESHOLD);
+  }
+
+  /**
+   * Maps each element of this FList into a monoid and combines the results in parallel on the common fork-join pool,
+   * ranges of {@code threshold} elements or fewer are combined sequentially. This FList must be finite.
+   * @param fn a function from an element to the monoid.
+   * @param monoid a monoid.
+   * @param threshold the number of elements below which work is no longer split.
+   * @return the combination of the mapped elements.
+   */
+  @SuppressWarnings("unchecked")
+  public <W> W parFoldMap(F1<? super A, ? extends W> fn, Monoid<W> monoid, int threshold) {
+    return ParallelTasks.foldMap(toArray(), (F1<Object, ? extends W>)fn, monoid, threshold);
+  }
+
+  /**
+   * Combines the elements of this FList in parallel on the common fork-join pool. This FList must be finite.
+   * @param monoid a monoid whose operation is associative.
+   * @return the combination of the elements.
+   */
+  public A parReduce(Monoid<A> monoid) {
+    return parFoldMap(F1.identity(), monoid, PAR_THRESHOLD);
+  }
+
+  /**
+   * Combines the elements of this FList in parallel on the common fork-join pool, ranges of {@code threshold}
+   * elements or fewer are combined sequentially. This FList must be finite.
+   * @param monoid a monoid whose operation is associative.
+   * @param threshold the number of elements below which work is no longer split.
+   * @return the combination of the elements.
+   */
+  public A parReduce(Monoid<A> monoid, int threshold) {
+    return parFoldMap(F1.identity(), monoid, threshold);
+  }
+
   public FList<A> update(int i, A a) {
     return visit$(
          n    -> {
@@ -171,14 +339,89 @@ public abstract class FList<A> implements Hkt<FList.μ,A>,
     }
   }
 
+  /**
+   * Right associative fold of this FList. The FList is walked once to find its elements, which are then folded
+   * from the last element to the first, so this fold does not grow the stack but can not be used on infinite FLists.
+   * Use {@link #foldRight(F2, Eval)} to fold lazily or {@link #foldl(F2, Object)} when the order does not matter.
+   * @param f2 function to fold over this FList.
+   * @param b seed value.
+   * @return a reduced value.
+   */
+  @Override
   public <B> B foldr(F2<B,? super A,B> f2, B b) {
-    return foldr_prime(f2, b, this).result();
+    Object[] elements = toArray();
+    B acc = b;
+    for(int i = elements.length - 1; i >= 0; i--)
+      acc = f2.call(acc, (A)elements[i]);
+    return acc;
+  }
+
+  @Override
+  public <B> Eval<B> foldRight(F2<? super A, Eval<B>, Eval<B>> fn, Eval<B> b) {
+    final FList<A> self = this;
+    return later(() -> self.isEmpty() ? b : fn.call(self.head(), self.tail().foldRight(fn, b)))
+      .bind(e -> e);
+  }
+
+  @Override
+  public <B> B foldl(F2<B,? super A,B> f2, B b) {
+    B acc = b;
+    FList<A> list = forced();
+    while(!list.isEmpty()) {
+      if(list instanceof Chunk) {
+        Chunk<A> c = (Chunk<A>)list;
+        for(int i = c.from; i < c.to; i++)
+          acc = f2.call(acc, c.elementAt(i));
+        list = c.rest.value();
+      } else {
+        acc  = f2.call(acc, list.head());
+        list = list.tail();
+      }
+      list = list.forced();
+    }
+    return acc;
   }
 
-  private static <A,B> Trampoline<B> foldr_prime(F2<B,? super A,B> f2, B b, FList<A> list) {
-    return list.isEmpty()
-      ? done(b)
-      : more(() -> foldr_prime(f2 , f2.call(b,list.head()), list.tail()));
+  /**
+   * Returns an array containing the elements of this FList.
+   * @return an array containing the elements of this FList.
+   */
+  public Object[] toArray() {
+    Object[] elements = new Object[16];
+    int n = 0;
+    FList<A> list = forced();
+    while(!list.isEmpty()) {
+      if(list instanceof Chunk) {
+        Chunk<A> c = (Chunk<A>)list;
+        if(n + c.segmentLength() > elements.length)
+          elements = Arrays.copyOf(elements, Math.max(elements.length * 2, n + c.segmentLength()));
+        System.arraycopy(c.elements, c.from, elements, n, c.segmentLength());
+        n   += c.segmentLength();
+        list = c.rest.value();
+      } else {
+        if(n == elements.length)
+          elements = Arrays.copyOf(elements, elements.length * 2);
+        elements[n++] = list.head();
+        list = list.tail();
+      }
+      list = list.forced();
+    }
+    return Arrays.copyOf(elements, n);
+  }
+
+  @Override
+  public int length() {
+    return size();
+  }
+
+  @Override
+  public boolean isNull() {
+    return isEmpty();
+  }
+
+  @Override
+  public FList<A> toFList() {
+    return this;
   }
 
   public T2<FList<A>, FList<A>> split() {
@@ -335,8 +578,20 @@ import static drjoliv.jfunc.show.Show.*;
       return this;
     else {
       FList<A> list = this;
-      for(int j = i; j > 0; j--)
-        list = list.tail(); 
+      int j = i;
+      while(j > 0) {
+        list = list.forced();
+        if(list instanceof Chunk) {
+          Chunk<A> c = (Chunk<A>)list;
+          if(j < c.segmentLength())
+            return c.dropInChunk(j);
+          j   -= c.segmentLength();
+          list = c.rest.value();
+        } else {
+          list = list.tail();
+          j--;
+        }
+      }
       return list;
     }
   }
@@ -407,7 +662,7 @@ import static drjoliv.jfunc.show.Show.*;
    * @param p the predicated used to filter this flist.
    * @return a new FList in which elements have been filtered out.
    */
-  public final FList<A> filter(P1<A> p) {
+  public FList<A> filter(P1<A> p) {
      if(isEmpty())
       return Nil.instance();
     else if(p.test(head()))
@@ -422,30 +677,228 @@ import static drjoliv.jfunc.show.Show.*;
    * @param i The index up to where the elements will be taken.
    * @return A new FList containing the elements of this FList up to element at the ith index.
    */
-  public final FList<A> take(int i) {
+  public FList<A> take(int i) {
     if(i < 0)
       return reverse().take(Math.abs(i));
-    if(isEmpty() || i == 0) {
+    if(i == 0 || isEmpty()) {
       return Nil.instance();
     } else {
-      return flist(head(), () -> tail().take(i-1));
+      return flist(head(), () -> i == 1 ? Nil.instance() : tail().take(i-1));
     }
   }
 
+  /**
+   * Returns the {@code k} least elements of this finite FList from least to greatest, by the given order. The
+   * elements are placed in a {@link Heap} and the result is the start of a lazy heap sort, so this costs
+   * O(n + k log n). Pass a reversed order for the {@code k} greatest elements.
+   *
+   * @param k the number of elements to return.
+   * @param ord the order of the elements.
+   * @return the {@code k} least elements of this FList, or all of its elements if it has fewer than {@code k}.
+   */
+  public FList<A> topK(int k, Ord<A> ord) {
+    return k <= 0
+      ? Nil.instance()
+      : Heap.sort(this, ord).take(k);
+  }
+
+  /**
+   * Returns the elements of this finite FList sorted by the given order. Equal elements keep the order they have in
+   * this FList. The sort is a lazy bottom-up merge sort over the ascending runs of this FList, only the first element
+   * of each merge is found up front, so the first {@code k} elements of the result cost O(n + k log n), and input that
+   * is already sorted costs O(n).
+   *
+   * @param ord the order of the elements.
+   * @return the elements of this FList from least to greatest.
+   * @see #parallelSort(Ord)
+   */
+  public FList<A> sort(Ord<A> ord) {
+    return sortBy(comparator(ord));
+  }
+
+  /**
+   * Returns the elements of this finite FList sorted by the given comparator, equal elements keep the order they have
+   * in this FList.
+   *
+   * @param comp the comparator of the elements.
+   * @return the elements of this FList from least to greatest.
+   * @see #sort(Ord)
+   */
+  @SuppressWarnings("unchecked")
+  public FList<A> sortBy(Comparator<? super A> comp) {
+    Objects.requireNonNull(comp);
+    Object[] elements = toArray();
+    int n = elements.length;
+    if(n < 2)
+      return chunks(elements);
+    Comparator<Object> c = (Comparator<Object>)comp;
+    FList<A>[] runs = new FList[n];
+    int count = 0;
+    for(int from = 0; from < n; ) {
+      int to = from + 1;
+      if(to < n && c.compare(elements[from], elements[to]) > 0) {
+        //A strictly descending run is reversed in place, which keeps equal elements in order.
+        while(to < n && c.compare(elements[to - 1], elements[to]) > 0)
+          to++;
+        for(int i = from, j = to - 1; i < j; i++, j--) {
+          Object o = elements[i];
+          elements[i] = elements[j];
+          elements[j] = o;
+        }
+      } else {
+        while(to < n && c.compare(elements[to - 1], elements[to]) <= 0)
+          to++;
+      }
+      runs[count++] = new Chunk<A>(elements, from, to, now(Nil.instance()), to - from);
+      from = to;
+    }
+    while(count > 1) {
+      int merged = 0;
+      for(int i = 0; i < count; i += 2)
+        runs[merged++] = i + 1 < count ? merge(runs[i], runs[i + 1], c) : runs[i];
+      count = merged;
+    }
+    return runs[0];
+  }
+
+  //Merges two sorted lists lazily, taking from the left list when elements are equal.
+  private static <A> FList<A> merge(FList<A> xs, FList<A> ys, Comparator<Object> comp) {
+    if(xs.isEmpty())
+      return ys;
+    if(ys.isEmpty())
+      return xs;
+    A x = xs.head();
+    A y = ys.head();
+    return comp.compare(y, x) < 0
+      ? flist(y, () -> merge(xs, ys.tail(), comp))
+      : flist(x, () -> merge(xs.tail(), ys, comp));
+  }
+
+  /**
+   * Returns the elements of this finite FList sorted by the given order, using {@link Arrays#parallelSort} on an array
+   * of its elements. Equal elements keep the order they have in this FList. Unlike {@link #sort(Ord)} the whole list
+   * is sorted up front, which is faster for large lists when every element of the result is needed.
+   *
+   * @param ord the order of the elements.
+   * @return the elements of this FList from least to greatest.
+   */
+  public FList<A> parallelSort(Ord<A> ord) {
+    return parallelSortBy(comparator(ord));
+  }
+
+  /**
+   * Returns the elements of this finite FList sorted by the given comparator, using {@link Arrays#parallelSort} on an
+   * array of its elements. Equal elements keep the order they have in this FList.
+   *
+   * @param comp the comparator of the elements.
+   * @return the elements of this FList from least to greatest.
+   */
+  @SuppressWarnings("unchecked")
+  public FList<A> parallelSortBy(Comparator<? super A> comp) {
+    Objects.requireNonNull(comp);
+    Object[] elements = toArray();
+    Arrays.parallelSort(elements, (Comparator<Object>)comp);
+    return chunks(elements);
+  }
+
+  private static <A> Comparator<A> comparator(Ord<A> ord) {
+    Objects.requireNonNull(ord);
+    return (a, b) -> {
+      Ordering o = ord.compare(a, b);
+      return o == Ordering.LT ? -1 : o == Ordering.GT ? 1 : 0;
+    };
+  }
+
   /**
    * Returns the number of elements within this FList.
    * @return The number of elements within this FList.
    */
     public int size() {
-      FList<A> f = this;
+      FList<A> f = forced();
       int i = 0;
       while(f.isEmpty() == false) {
-        i++;
-        f = f.tail();
+        if(f instanceof Chunk) {
+          Chunk<A> c = (Chunk<A>)f;
+          i += c.segmentLength();
+          f  = c.rest.value();
+        } else {
+          i++;
+          f = f.tail();
+        }
+        f = f.forced();
       }
       return i;
     }
 
+  /**
+   * Returns the cell this FList currently stands for, unwrapping any pending lazy indirection.
+   * @return the cell this FList stands for.
+   */
+  FList<A> forced() {
+    return this;
+  }
+
+  /**
+   * Returns the number of elements of this FList when it is known without walking it, as it is for FLists built from
+   * an array or a collection, or {@code Long.MAX_VALUE} otherwise.
+   */
+  long knownSize() {
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns a FList containing the same elements as this FList, stored in array segments of the given size.
+   * Each segment holds up to {@code size} elements and a single lazy tail, so walking, mapping, filtering and
+   * folding the returned FList is done a segment at a time. Segments are pulled from this FList only when
+   * they are needed, so this method is safe to use on infinite FLists.
+   * <pre>
+   * {@code
+   * FList<Integer> ints = Integers.naturals().chunked(64);
+   * ints.map(i -> i * 2).filter(i -> i % 3 == 0).take(10);
+   * }
+   * </pre>
+   * @param size the number of elements within each segment.
+   * @return a chunked FList.
+   */
+  public FList<A> chunked(int size) {
+    if(size < 1)
+      throw new IllegalArgumentException("chunk size must be greater than zero");
+    final FList<A> self = this;
+    return lazy(later(() -> rechunk(self, size)));
+  }
+
+  /**
+   * Returns a FList containing the same elements as this FList, stored in array segments of the default size.
+   * @return a chunked FList.
+   * @see #chunked(int)
+   */
+  public FList<A> chunked() {
+    return chunked(CHUNK_SIZE);
+  }
+
+  private static <A> FList<A> rechunk(FList<A> list, int size) {
+    Object[] buffer = new Object[size];
+    int n = 0;
+    FList<A> l = list.forced();
+    while(n < size && !l.isEmpty()) {
+      if(l instanceof Chunk) {
+        Chunk<A> c = (Chunk<A>)l;
+        int count = Math.min(size - n, c.segmentLength());
+        System.arraycopy(c.elements, c.from, buffer, n, count);
+        n += count;
+        l  = c.dropInChunk(count);
+      } else {
+        buffer[n++] = l.head();
+        l = l.tail();
+      }
+      l = l.forced();
+    }
+    if(n == 0)
+      return empty();
+    final FList<A> remaining = l;
+    return new Chunk<A>(n == size ? buffer : Arrays.copyOf(buffer, n), 0, n, later(() -> rechunk(remaining, size)), Chunk.UNKNOWN);
+  }
+
   /**
    * Returns a Flist with the head of this FList dropped.
    * @return A FList with the head of this FList dropped.
@@ -533,6 +986,112 @@ import static drjoliv.jfunc.show.Show.*;
 
   }
 
+  /**
+   * A cons cell that holds a segment of an array instead of a single element. Every element within the
+   * segment shares the same lazy tail, which is the FList following the last element of the segment.
+   */
+  private static final class Chunk<A> extends Cons<A> {
+
+    private static final int UNKNOWN = -1;
+
+    private final Object[] elements;
+    private final int from; //inclusive, always less than to
+    private final int to;   //exclusive
+    private final Eval<FList<A>> rest;
+    private final int size; //the number of elements from this chunk to the end of the list, or UNKNOWN
+
+    private Chunk(Object[] elements, int from, int to, Eval<FList<A>> rest, int size) {
+      super(null, null);
+      this.elements = elements;
+      this.from     = from;
+      this.to       = to;
+      this.rest     = rest;
+      this.size     = size;
+    }
+
+    @Override
+    long knownSize() {
+      return size == UNKNOWN ? Long.MAX_VALUE : size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private A elementAt(int i) {
+      return (A)elements[i];
+    }
+
+    private int segmentLength() {
+      return to - from;
+    }
+
+    private FList<A> dropInChunk(int i) {
+      return i >= segmentLength()
+        ? rest.value()
+        : new Chunk<A>(elements, from + i, to, rest, size == UNKNOWN ? UNKNOWN : size - i);
+    }
+
+    @Override
+    public <B> B visit(F1<Unit, B> nil, F2<A, FList<A>, B> cons) {
+      return cons.call(elementAt(from), dropInChunk(1));
+    }
+
+    @Override
+    public <B> B visit$(F1<Unit, B> nil, F2<Eval<A>, Eval<FList<A>>, B> cons) {
+      return cons.call(now(elementAt(from)), segmentLength() == 1 ? rest : later(() -> dropInChunk(1)));
+    }
+
+    @Override
+    public A head() {
+      return elementAt(from);
+    }
+
+    @Override
+    public FList<A> tail() {
+      return dropInChunk(1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return false;
+    }
+
+    @Override
+    public <B> FList<B> map(F1<? super A, ? extends B> fn) {
+      return lazy(later(() -> {
+        Object[] mapped = new Object[segmentLength()];
+        for(int i = 0; i < mapped.length; i++)
+          mapped[i] = fn.call(elementAt(from + i));
+        return new Chunk<B>(mapped, 0, mapped.length, rest.map(l -> l.map(fn)), size);
+      }));
+    }
+
+    @Override
+    public FList<A> filter(P1<A> p) {
+      return lazy(later(() -> {
+        Object[] kept = new Object[segmentLength()];
+        int n = 0;
+        for(int i = from; i < to; i++)
+          if(p.test(elementAt(i)))
+            kept[n++] = elements[i];
+        Eval<FList<A>> next = rest.map(l -> l.filter(p));
+        return n == 0
+          ? next.value()
+          : new Chunk<A>(kept, 0, n, next, UNKNOWN);
+      }));
+    }
+
+    @Override
+    public FList<A> take(int i) {
+      if(i < 0)
+        return super.take(i);
+      else if(i == 0)
+        return empty();
+      else if(i <= segmentLength())
+        return new Chunk<A>(elements, from, from + i, now(empty()), i);
+      else
+        return new Chunk<A>(elements, from, to, rest.map(l -> l.take(i - segmentLength())), size == UNKNOWN ? UNKNOWN : Math.min(size, i));
+    }
+  }
+
   public static class Nil<A> extends FList<A> {
 
     private static Nil<?> instance = new Nil();
@@ -559,6 +1118,11 @@ import static drjoliv.jfunc.show.Show.*;
     return nil.call(Unit.unit);
   }
 
+  @Override
+  long knownSize() {
+    return 0;
+  }
+
   }
 
   /**
@@ -576,17 +1140,33 @@ import static drjoliv.jfunc.show.Show.*;
 
 
   /**
-   * Creats a new FList from an array of elements.
+   * Creats a new FList from an array of elements, the elements are stored in array segments.
    *
    * @param elements The elements that will be turned into a FList.
    * @return A new FList.
    */
   @SafeVarargs
   public static <B> FList<B> flist(B... elements) {
+    return fromArray(elements);
+  }
+
+  /**
+   * Creates a new FList from an array of elements, the elements are stored in array segments rather than
+   * in individual cells.
+   * @param elements The elements that will be turned into a FList.
+   * @return A new FList.
+   * @see #chunked(int)
+   */
+  public static <B> FList<B> fromArray(B[] elements) {
+    return chunks(Arrays.copyOf(elements, elements.length, Object[].class));
+  }
+
+  private static <B> FList<B> chunks(Object[] elements) {
     FList<B> list = Nil.instance();
-    for (int i = elements.length - 1; i >= 0; i--) {
-      list = list.cons(elements[i]);
-    }
+    if(elements.length == 0)
+      return list;
+    for(int from = ((elements.length - 1) / CHUNK_SIZE) * CHUNK_SIZE; from >= 0; from -= CHUNK_SIZE)
+      list = new Chunk<B>(elements, from, Math.min(from + CHUNK_SIZE, elements.length), now(list), elements.length - from);
     return list;
   }
 
@@ -597,7 +1177,7 @@ import static drjoliv.jfunc.show.Show.*;
   @SuppressWarnings("unchecked")
   public static <B> FList<B> collection(Collection<B> collection) {
     Objects.requireNonNull(collection);
-    return flist((B[]) collection.toArray());
+    return chunks(collection.toArray());
   }
 
   /**
@@ -679,21 +1259,34 @@ import static drjoliv.jfunc.show.Show.*;
 
 
     private static class Lazy<A> extends FList<A> {
+      //The list is published before the eval is released, a null eval means the list is set.
       private volatile Eval<FList<A>> eval;
-      private FList<A> list = null;
+      private volatile FList<A> list = null;
 
       private Lazy(Eval<FList<A>> eval) {
         this.eval = eval;
       }
 
       private FList<A> value() {
-        return list == null ? unWrap() : list ;
+        FList<A> l = list;
+        return l == null ? unWrap() : l;
       }
 
-      private synchronized FList<A> unWrap() {
-          FList<A> l = eval.value();
-          while(l instanceof Lazy)
-            l = ((Lazy<A>)l).eval.value();
+      //The eval computes its value at most once, so threads racing here agree on the list and no lock is needed.
+      private FList<A> unWrap() {
+          Eval<FList<A>> e = eval;
+          if(e == null)
+            return list;
+          FList<A> l = e.value();
+          while(l instanceof Lazy) {
+            Lazy<A> lazy = (Lazy<A>)l;
+            FList<A> inner = lazy.list;
+            if(inner == null) {
+              Eval<FList<A>> innerEval = lazy.eval;
+              inner = innerEval == null ? lazy.list : innerEval.value();
+            }
+            l = inner;
+          }
           this.list = l;
           eval = null;
           return l;
@@ -713,6 +1306,34 @@ import static drjoliv.jfunc.show.Show.*;
       public <C> C match(F1<Nil<A>, C> f1, F1<Cons<A>, C> f2) {
         return value().match(f1, f2);
       }
+
+      @Override
+      FList<A> forced() {
+        return value();
+      }
+
+      @Override
+      long knownSize() {
+        FList<A> l = list;
+        return l == null ? Long.MAX_VALUE : l.knownSize();
+      }
+
+      @Override
+      public <B> FList<B> map(F1<? super A, ? extends B> fn) {
+        return lazy(later(() -> value().map(fn)));
+      }
+
+      @Override
+      public FList<A> filter(P1<A> p) {
+        return lazy(later(() -> value().filter(p)));
+      }
+
+      @Override
+      public FList<A> take(int i) {
+        if(i == 0)
+          return empty();
+        return lazy(later(() -> value().take(i)));
+      }
     }
 
 
@@ -0,0 +1,78 @@
+package drjoliv.jfunc.data.list;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the elements of a FList. Splitting copies a batch from the front of the remaining elements into an
+ * array, the array spliterators handed out can be split evenly by fork-join while this spliterator keeps walking the FList.
+ * Batches grow on each split so that large FLists are handed out in few, large pieces. The size of a FList is known only
+ * when it was built from an array or a collection, the spliterator is then {@code SIZED} and {@code SUBSIZED}, otherwise
+ * the estimated size is {@code Long.MAX_VALUE}.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+final class FListSpliterator<A> implements Spliterator<A> {
+
+  static final int BATCH_UNIT = 1 << 10;
+  static final int MAX_BATCH  = 1 << 25;
+
+  private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.IMMUTABLE;
+
+  private final Iterator<A> it;
+  private final int characteristics;
+  private long estimate;
+  private int batch = 0;
+
+  FListSpliterator(FList<A> list, long estimate) {
+    this.it              = list.iterator();
+    this.estimate        = estimate;
+    this.characteristics = estimate == Long.MAX_VALUE
+      ? CHARACTERISTICS
+      : CHARACTERISTICS | Spliterator.SIZED | Spliterator.SUBSIZED;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super A> action) {
+    if(!it.hasNext())
+      return false;
+    action.accept(it.next());
+    if(estimate != Long.MAX_VALUE)
+      estimate--;
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super A> action) {
+    while(it.hasNext())
+      action.accept(it.next());
+    estimate = 0;
+  }
+
+  @Override
+  public Spliterator<A> trySplit() {
+    if(!it.hasNext() || estimate <= 1)
+      return null;
+    int n = (int)Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), estimate);
+    Object[] a = new Object[n];
+    int j = 0;
+    do {
+      a[j] = it.next();
+    } while(++j < n && it.hasNext());
+    batch = j;
+    if(estimate != Long.MAX_VALUE)
+      estimate -= j;
+    return Spliterators.spliterator(a, 0, j, CHARACTERISTICS);
+  }
+
+  @Override
+  public long estimateSize() {
+    return estimate;
+  }
+
+  @Override
+  public int characteristics() {
+    return characteristics;
+  }
+}
@@ -7,15 +7,22 @@ import static drjoliv.jfunc.data.list.FList.flist$;
 import static drjoliv.jfunc.data.list.FList.lazy;
 import static drjoliv.jfunc.hlist.T2.t2;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 
 import drjoliv.jfunc.contorl.CaseOf;
 import drjoliv.jfunc.contorl.maybe.Maybe;
 import drjoliv.jfunc.contorl.tramp.Trampoline;
 import drjoliv.jfunc.data.Unit;
 import drjoliv.jfunc.data.list.FList.EmptyListException;
-import drjoliv.jfunc.data.set.UnbalancedSet;
+import drjoliv.jfunc.data.map.Frequencies;
+import drjoliv.jfunc.data.map.Map;
+import drjoliv.jfunc.data.set.BalancedSet;
+import drjoliv.jfunc.data.set.HashSet;
+import drjoliv.jfunc.data.set.Set;
 import drjoliv.jfunc.eq.Ord;
 import drjoliv.jfunc.function.F0;
 import drjoliv.jfunc.function.F1;
@@ -85,11 +92,31 @@ public final class Functions {
   }
 
   public static <A> FList<A> nub( Ord<A> order, FList<A> list ) {
-    return UnbalancedSet.fromFoldable(list, order).toList();
+    return nub(BalancedSet.empty(order), list);
   }
 
   public static <A extends Comparable<A>> FList<A> nub( FList<A> list ) {
-    return UnbalancedSet.fromFoldable(list, Ord.<A>orderable()).toList();
+    return nub(BalancedSet.empty(Ord.<A>orderable()), list);
+  }
+
+  /**
+   * Removes duplicate elements from a list, keeping the first occurrence of each element. Elements seen so far are
+   * recorded in the given set, so the caller chooses the set implementation used. The returned list is lazy.
+   * @param seen the set elements seen so far are recorded in, usually an empty set.
+   * @param list a list.
+   * @return a list without duplicate elements.
+   */
+  public static <A> FList<A> nub( Set<A> seen, FList<A> list ) {
+    return lazy(later(() -> {
+      FList<A> l = list;
+      while(!l.isEmpty() && seen.member(l.head()))
+        l = l.tail();
+      if(l.isEmpty())
+        return FList.<A>empty();
+      final A head = l.head();
+      final FList<A> tail = l.tail();
+      return flist(head, () -> nub(seen.insert(head), tail));
+    }));
   }
 
   public static <A> F2<Ord<A>, FList<A>, FList<A>> nub() {
@@ -316,7 +343,7 @@ public final class Functions {
    * @return a frequency hash map.
    */
     public static <A> HashMap<A, Integer> frequency ( FList<A> list ) {
-      return frequency(new HashMap<>(), list).result();
+      return frequencyWithMap(new HashMap<>(), list);
     }
 
   /**
@@ -327,10 +354,179 @@ public final class Functions {
    */
     public static <A> HashMap<A, Integer> frequencyWithMap ( HashMap<A, Integer> map
         , FList<A> list ) {
+      for(T2<A, Long> t : frequencies(list))
+        map.merge(t._1(), (int)(long)t._2(), Integer::sum);
+      return map;
+    }
+
+  /**
+   * Counts the elements of a finite list in an open addressing table with primitive counters.
+   * @param list a finite list.
+   * @return the number of times each element occurs in the list.
+   */
+  public static <A> Frequencies<A> frequencies(FList<A> list) {
+    return Frequencies.fromFoldable(list);
+  }
 
-      return frequency(map, list).result();
+  /**
+   * Counts the elements of a finite list in parallel on the common fork-join pool. Each range of elements is counted
+   * into its own table and the tables are added together.
+   * @param list a finite list.
+   * @return the number of times each element occurs in the list.
+   */
+  public static <A> Frequencies<A> parFrequencies(FList<A> list) {
+    return parFrequencies(list, FList.PAR_THRESHOLD);
+  }
 
+  /**
+   * Counts the elements of a finite list in parallel on the common fork-join pool, ranges of {@code threshold}
+   * elements or fewer are counted sequentially.
+   * @param list a finite list.
+   * @param threshold the number of elements below which work is no longer split.
+   * @return the number of times each element occurs in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> Frequencies<A> parFrequencies(FList<A> list, int threshold) {
+    Object[] elements = list.toArray();
+    F2<Integer, Integer, Frequencies.Builder<A>> leaf = (from, to) -> {
+      Frequencies.Builder<A> builder = Frequencies.builder();
+      for(int i = from; i < to; i++)
+        builder.add((A)elements[i]);
+      return builder;
+    };
+    F2<Frequencies.Builder<A>, Frequencies.Builder<A>, Frequencies.Builder<A>> combine = (l, r) ->
+      l.size() >= r.size()
+        ? l.addAll(r.build())
+        : r.addAll(l.build());
+    return ParallelTasks.collect(elements.length, leaf, combine, threshold).build();
+  }
+
+  /**
+   * Removes duplicate elements from a list, keeping the first occurrence of each element. Elements are compared with
+   * {@code equals} and {@code hashCode} and those seen so far are recorded in a {@code HashSet}, so no {@code Ord} is
+   * needed. The returned list is lazy, elements may not be null.
+   * @param list a list.
+   * @return a list without duplicate elements.
+   */
+  public static <A> FList<A> distinct(FList<A> list) {
+    return nub(HashSet.empty(), list);
+  }
+
+  /**
+   * Removes duplicate elements from a finite list in parallel on the common fork-join pool, keeping the first
+   * occurrence of each element. Each range of elements is reduced to its distinct elements in order, then the
+   * reduced ranges are joined from left to right.
+   * @param list a finite list.
+   * @return a list without duplicate elements.
+   */
+  public static <A> FList<A> parDistinct(FList<A> list) {
+    return parDistinct(list, FList.PAR_THRESHOLD);
+  }
+
+  /**
+   * Removes duplicate elements from a finite list in parallel on the common fork-join pool, ranges of
+   * {@code threshold} elements or fewer are reduced sequentially.
+   * @param list a finite list.
+   * @param threshold the number of elements below which work is no longer split.
+   * @return a list without duplicate elements.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> FList<A> parDistinct(FList<A> list, int threshold) {
+    Object[] elements = list.toArray();
+    F2<Integer, Integer, Distinct> leaf = (from, to) -> {
+      Distinct d = new Distinct();
+      for(int i = from; i < to; i++)
+        d.add(elements[i]);
+      return d;
+    };
+    return FList.collection((List<A>)(List<?>)ParallelTasks.collect(elements.length, leaf, Distinct::addAll, threshold).order);
+  }
+
+  /**
+   * Groups the elements of a finite list by the key the function gives each of them. Each group holds its elements
+   * in list order. Keys may not be null.
+   * @param key a function from an element to its key.
+   * @param list a finite list.
+   * @return a map from each key to the elements with that key.
+   */
+  public static <A,K> Map<K, FList<A>> groupBy(F1<? super A, ? extends K> key, FList<A> list) {
+    Groups g = new Groups();
+    for(A a : list)
+      g.add(key.call(a), a);
+    return g.build();
+  }
+
+  /**
+   * Groups the elements of a finite list by the key the function gives each of them, in parallel on the common
+   * fork-join pool. Each range of elements is grouped on its own and the groups of neighbouring ranges are joined
+   * in order.
+   * @param key a function from an element to its key.
+   * @param list a finite list.
+   * @return a map from each key to the elements with that key.
+   */
+  public static <A,K> Map<K, FList<A>> parGroupBy(F1<? super A, ? extends K> key, FList<A> list) {
+    return parGroupBy(key, list, FList.PAR_THRESHOLD);
+  }
+
+  /**
+   * Groups the elements of a finite list by the key the function gives each of them, in parallel on the common
+   * fork-join pool, ranges of {@code threshold} elements or fewer are grouped sequentially.
+   * @param key a function from an element to its key.
+   * @param list a finite list.
+   * @param threshold the number of elements below which work is no longer split.
+   * @return a map from each key to the elements with that key.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A,K> Map<K, FList<A>> parGroupBy(F1<? super A, ? extends K> key, FList<A> list, int threshold) {
+    Object[] elements = list.toArray();
+    F2<Integer, Integer, Groups> leaf = (from, to) -> {
+      Groups g = new Groups();
+      for(int i = from; i < to; i++)
+        g.add(key.call((A)elements[i]), elements[i]);
+      return g;
+    };
+    return ParallelTasks.collect(elements.length, leaf, Groups::addAll, threshold).build();
+  }
+
+  //The first occurrence of each element of a range, in order.
+  private static final class Distinct {
+    private final java.util.HashSet<Object> seen = new java.util.HashSet<>();
+    private final ArrayList<Object> order = new ArrayList<>();
+
+    void add(Object o) {
+      if(seen.add(o))
+        order.add(o);
+    }
+
+    Distinct addAll(Distinct right) {
+      for(Object o : right.order)
+        add(o);
+      return this;
     }
+  }
+
+  //The elements of a range grouped by key, each group in order.
+  private static final class Groups {
+    private final HashMap<Object, ArrayList<Object>> groups = new HashMap<>();
+
+    void add(Object k, Object a) {
+      groups.computeIfAbsent(Objects.requireNonNull(k, "key"), x -> new ArrayList<>()).add(a);
+    }
+
+    Groups addAll(Groups right) {
+      for(java.util.Map.Entry<Object, ArrayList<Object>> e : right.groups.entrySet())
+        groups.computeIfAbsent(e.getKey(), x -> new ArrayList<>()).addAll(e.getValue());
+      return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    <K,A> Map<K, FList<A>> build() {
+      drjoliv.jfunc.data.map.HashMap.Builder<K, FList<A>> builder = drjoliv.jfunc.data.map.HashMap.builder();
+      for(java.util.Map.Entry<Object, ArrayList<Object>> e : groups.entrySet())
+        builder.put((K)e.getKey(), FList.collection((List<A>)(List<?>)e.getValue()));
+      return builder.build();
+    }
+  }
 
     public static <A> FList<A> random(F0<A> generator, int i) {
       return CaseOf.caseOf(i)
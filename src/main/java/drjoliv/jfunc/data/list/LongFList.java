@@ -0,0 +1,469 @@
+package drjoliv.jfunc.data.list;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.data.list.FList.EmptyListException;
+import drjoliv.jfunc.data.set.LongSet;
+import drjoliv.jfunc.function.F0;
+
+/**
+ * A lazy stream of {@code long} values. Elements are stored unboxed and the tail of each cell is evaluated
+ * at most once, the first time it is needed.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public abstract class LongFList implements Iterable<Long> {
+
+  private LongFList(){}
+
+  /**
+   * Returns true if this list has zero elements, or false otherwise.
+   * @return true if this list has zero elements, or false otherwise.
+   */
+  public abstract boolean isEmpty();
+
+  /**
+   * Returns the element at the head of this list.
+   * @return the element at the head of this list.
+   */
+  public abstract long head();
+
+  /**
+   * Returns this list with its head dropped.
+   * @return this list with its head dropped.
+   */
+  public abstract LongFList tail();
+
+  /**
+   * Creates a new list in which the given element is the head.
+   * @param i the element that will be prepended to this list.
+   * @return a new list in which the given element is the head.
+   */
+  public final LongFList cons(long i) {
+    return new Cons(i, this);
+  }
+
+  /**
+   * Applies the given function to every element of this list.
+   * @param fn a function to apply to each element.
+   * @return a list containing the results of the function.
+   */
+  public LongFList map(LongUnaryOperator fn) {
+    if(isEmpty())
+      return empty();
+    final LongFList self = this;
+    return longFList(fn.applyAsLong(head()), () -> self.tail().map(fn));
+  }
+
+  /**
+   * Applies the given function to every element of this list, boxing the results into a FList.
+   * @param fn a function to apply to each element.
+   * @return a FList containing the results of the function.
+   */
+  public <B> FList<B> mapToObj(LongFunction<? extends B> fn) {
+    if(isEmpty())
+      return FList.empty();
+    final LongFList self = this;
+    return FList.flist(fn.apply(head()), () -> self.tail().mapToObj(fn));
+  }
+
+  /**
+   * Removes all elements within this list that evaluate to false when applied to the predicate.
+   * @param p the predicate used to filter this list.
+   * @return a list in which elements have been filtered out.
+   */
+  public LongFList filter(LongPredicate p) {
+    LongFList list = this;
+    while(!list.isEmpty() && !p.test(list.head()))
+      list = list.tail();
+    if(list.isEmpty())
+      return empty();
+    final LongFList rest = list;
+    return longFList(rest.head(), () -> rest.tail().filter(p));
+  }
+
+  /**
+   * Takes elements from this list until the predicate becomes false.
+   * @param p a predicate.
+   * @return elements from this list until the predicate becomes false.
+   */
+  public LongFList takeWhile(LongPredicate p) {
+    if(isEmpty() || !p.test(head()))
+      return empty();
+    final LongFList self = this;
+    return longFList(head(), () -> self.tail().takeWhile(p));
+  }
+
+  /**
+   * Returns a list containing the first {@code i} elements of this list.
+   * @param i the number of elements to take.
+   * @return a list containing the first {@code i} elements of this list.
+   */
+  public LongFList take(int i) {
+    if(i <= 0 || isEmpty())
+      return empty();
+    final LongFList self = this;
+    return longFList(head(), () -> i == 1 ? empty() : self.tail().take(i - 1));
+  }
+
+  /**
+   * Returns this list with the first {@code i} elements dropped.
+   * @param i the number of elements to drop.
+   * @return this list with the first {@code i} elements dropped.
+   */
+  public LongFList drop(int i) {
+    LongFList list = this;
+    for(int j = i; j > 0 && !list.isEmpty(); j--)
+      list = list.tail();
+    return list;
+  }
+
+  /**
+   * Strict left associative fold of this list.
+   * @param seed the seed value.
+   * @param fn a function to fold over this list.
+   * @return a reduced value.
+   */
+  public long fold(long seed, LongBinaryOperator fn) {
+    long acc = seed;
+    for(LongFList list = this; !list.isEmpty(); list = list.tail())
+      acc = fn.applyAsLong(acc, list.head());
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements within this list.
+   * @return the sum of the elements within this list.
+   */
+  public long sum() {
+    long acc = 0;
+    for(LongFList list = this; !list.isEmpty(); list = list.tail())
+      acc += list.head();
+    return acc;
+  }
+
+  /**
+   * Returns the product of the elements within this list.
+   * @return the product of the elements within this list.
+   */
+  public long product() {
+    long acc = 1;
+    for(LongFList list = this; !list.isEmpty(); list = list.tail())
+      acc *= list.head();
+    return acc;
+  }
+
+  /**
+   * Returns the number of elements within this list.
+   * @return the number of elements within this list, or {@code Integer.MAX_VALUE} if it has more elements than that.
+   */
+  public int size() {
+    int i = 0;
+    for(LongFList list = this; i < Integer.MAX_VALUE && !list.isEmpty(); list = list.tail())
+      i++;
+    return i;
+  }
+
+  /**
+   * Performs the given action for every element of this list.
+   * @param c the action to perform.
+   */
+  public void forEachLong(LongConsumer c) {
+    for(LongFList list = this; !list.isEmpty(); list = list.tail())
+      c.accept(list.head());
+  }
+
+  /**
+   * Returns an array containing the elements of this list.
+   * @return an array containing the elements of this list.
+   */
+  public long[] toArray() {
+    long[] array = new long[16];
+    int n = 0;
+    for(LongFList list = this; !list.isEmpty(); list = list.tail()) {
+      if(n == array.length)
+        array = Arrays.copyOf(array, n * 2);
+      array[n++] = list.head();
+    }
+    return Arrays.copyOf(array, n);
+  }
+
+  /**
+   * Converts this list to a FList, boxing each element as it is needed.
+   * @return a FList containing the elements of this list.
+   */
+  public FList<Long> boxed() {
+    return mapToObj(Long::valueOf);
+  }
+
+  /**
+   * Returns a set containing the elements of this list.
+   * @return a set containing the elements of this list.
+   */
+  public LongSet toLongSet() {
+    return LongSet.fromLongFList(this);
+  }
+
+  /**
+   * Removes duplicate elements from this list lazily, keeping the first occurrence of each element. The elements seen
+   * so far are kept in a {@link LongSet}, so no element is boxed.
+   * @return this list without duplicate elements.
+   */
+  public LongFList nub() {
+    return nub(this, LongSet.empty());
+  }
+
+  private static LongFList nub(LongFList list, LongSet seen) {
+    while(!list.isEmpty() && seen.member(list.head()))
+      list = list.tail();
+    if(list.isEmpty())
+      return empty();
+    final LongFList rest = list;
+    final LongSet next = seen.insert(rest.head());
+    return longFList(rest.head(), () -> nub(rest.tail(), next));
+  }
+
+  @Override
+  public PrimitiveIterator.OfLong iterator() {
+    final LongFList self = this;
+    return new PrimitiveIterator.OfLong() {
+
+      private LongFList list = self;
+
+      @Override
+      public boolean hasNext() {
+        return !list.isEmpty();
+      }
+
+      @Override
+      public long nextLong() {
+        if(list.isEmpty())
+          throw new NoSuchElementException();
+        long i = list.head();
+        list = list.tail();
+        return i;
+      }
+    };
+  }
+
+  @Override
+  public final String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    forEachLong(i -> builder.append(i).append(" "));
+    builder.append("]");
+    return builder.toString();
+  }
+
+  private static final class Nil extends LongFList {
+
+    private static final Nil INSTANCE = new Nil();
+
+    @Override
+    public boolean isEmpty() {
+      return true;
+    }
+
+    @Override
+    public long head() {
+      throw new EmptyListException();
+    }
+
+    @Override
+    public LongFList tail() {
+      throw new EmptyListException();
+    }
+  }
+
+  private static final class Cons extends LongFList {
+
+    private final long head;
+    //The tail is published before the eval is released, a null eval means the tail is set.
+    private volatile Eval<LongFList> eval;
+    private volatile LongFList tail;
+
+    private Cons(long head, LongFList tail) {
+      this.head = head;
+      this.tail = tail;
+    }
+
+    private Cons(long head, F0<LongFList> supplier) {
+      this.head = head;
+      this.eval = Eval.later(supplier);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return false;
+    }
+
+    @Override
+    public long head() {
+      return head;
+    }
+
+    @Override
+    public LongFList tail() {
+      LongFList t = tail;
+      return t == null ? computeTail() : t;
+    }
+
+    //The eval computes its value at most once, so threads racing here agree on the tail and no lock is needed.
+    private LongFList computeTail() {
+      Eval<LongFList> e = eval;
+      if(e == null)
+        return tail;
+      LongFList t = e.value();
+      tail = t;
+      eval = null;
+      return t;
+    }
+  }
+
+  /**
+   * A cell of an arithmetic sequence, the tail of this cell is computed from its head, so a sequence costs a
+   * single object per element.
+   */
+  private static final class Range extends LongFList {
+
+    private final long from;
+    private final long to;
+    private final boolean bounded;
+
+    private Range(long from, long to, boolean bounded) {
+      this.from    = from;
+      this.to      = to;
+      this.bounded = bounded;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return false;
+    }
+
+    @Override
+    public long head() {
+      return from;
+    }
+
+    @Override
+    public LongFList tail() {
+      return bounded && from == to
+        ? empty()
+        : new Range(from + 1, to, bounded);
+    }
+
+    @Override
+    public int size() {
+      if(!bounded)
+        return super.size();
+      //The count wraps past zero when the range spans more than half of the longs.
+      long n = to - from + 1;
+      return n <= 0 || n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)n;
+    }
+
+    @Override
+    public LongFList drop(int i) {
+      if(i <= 0)
+        return this;
+      else if(!bounded)
+        return new Range(from + i, to, false);
+      else if(Long.compareUnsigned(i, to - from) > 0)
+        return empty();
+      else
+        return new Range(from + i, to, true);
+    }
+  }
+
+  /**
+   * Returns the empty list.
+   * @return the empty list.
+   */
+  public static LongFList empty() {
+    return Nil.INSTANCE;
+  }
+
+  /**
+   * Creates a new list.
+   * @param head the element placed at the head of the created list.
+   * @param supplier a supplier used to generate the tail of the created list.
+   * @return a new list.
+   */
+  public static LongFList longFList(long head, F0<LongFList> supplier) {
+    return new Cons(head, supplier);
+  }
+
+  /**
+   * Creates a new list from an array of elements.
+   * @param elements the elements that will be turned into a list.
+   * @return a new list.
+   */
+  public static LongFList longFList(long... elements) {
+    LongFList list = empty();
+    for(int i = elements.length - 1; i >= 0; i--)
+      list = list.cons(elements[i]);
+    return list;
+  }
+
+  /**
+   * Returns the list of elements from {@code from} to {@code to} inclusive.
+   * @param from the first element of the range.
+   * @param to the last element of the range.
+   * @return the list of elements from {@code from} to {@code to}.
+   */
+  public static LongFList range(long from, long to) {
+    return from > to
+      ? empty()
+      : new Range(from, to, true);
+  }
+
+  /**
+   * Returns the infinite list of elements starting at the given element.
+   * @param from the first element of the list.
+   * @return an infinite list.
+   */
+  public static LongFList start(long from) {
+    return new Range(from, 0, false);
+  }
+
+  /**
+   * Creates an infinite sequence from a seed element and a function that generates the next element from the previous one.
+   * @param seed the first element of the sequence.
+   * @param fn a function that generates the next element.
+   * @return an infinite list.
+   */
+  public static LongFList sequence(long seed, LongUnaryOperator fn) {
+    return longFList(seed, () -> sequence(fn.applyAsLong(seed), fn));
+  }
+
+  /**
+   * Returns a list generated by applying the binary function to pairs of elements from the two given lists.
+   * @param fn a binary function.
+   * @param l1 the list used in the first operand position.
+   * @param l2 the list used in the second operand position.
+   * @return a list generated by applying the binary function to pairs of elements from the given lists.
+   */
+  public static LongFList zipWith(LongBinaryOperator fn, LongFList l1, LongFList l2) {
+    if(l1.isEmpty() || l2.isEmpty())
+      return empty();
+    return longFList(fn.applyAsLong(l1.head(), l2.head()), () -> zipWith(fn, l1.tail(), l2.tail()));
+  }
+
+  /**
+   * Converts a FList to a list of unboxed elements, the elements are unboxed as they are needed.
+   * @param list a FList.
+   * @return a list of unboxed elements.
+   */
+  public static LongFList unboxed(FList<Long> list) {
+    if(list.isEmpty())
+      return empty();
+    return longFList(list.head(), () -> unboxed(list.tail()));
+  }
+}
@@ -0,0 +1,136 @@
+package drjoliv.jfunc.data.list;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import drjoliv.jfunc.function.F1;
+import drjoliv.jfunc.function.F2;
+import drjoliv.jfunc.monoid.Monoid;
+
+/**
+ * Fork-join tasks over arrays of elements drawn from a FList. Ranges are halved until they hold no more than the
+ * sequential threshold, and ranges at or below the threshold are processed with a plain loop.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+final class ParallelTasks {
+
+  private ParallelTasks(){}
+
+  static Object[] map(Object[] in, F1<Object, Object> fn, int threshold) {
+    Object[] out = new Object[in.length];
+    ForkJoinPool.commonPool().invoke(new MapTask(in, out, fn, 0, in.length, checked(threshold)));
+    return out;
+  }
+
+  static <W> W foldMap(Object[] in, F1<Object, ? extends W> fn, Monoid<W> monoid, int threshold) {
+    return ForkJoinPool.commonPool().invoke(new FoldMapTask<W>(in, fn, monoid, 0, in.length, checked(threshold)));
+  }
+
+  //Gathers each range into its own result with leaf, results of neighbouring ranges are joined left to right.
+  static <W> W collect(int length, F2<Integer, Integer, W> leaf, F2<W, W, W> combine, int threshold) {
+    return ForkJoinPool.commonPool().invoke(new CollectTask<W>(leaf, combine, 0, length, checked(threshold)));
+  }
+
+  private static int checked(int threshold) {
+    if(threshold < 1)
+      throw new IllegalArgumentException("threshold must be greater than zero");
+    return threshold;
+  }
+
+  private static final class MapTask extends RecursiveAction {
+
+    private final Object[] in;
+    private final Object[] out;
+    private final F1<Object, Object> fn;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private MapTask(Object[] in, Object[] out, F1<Object, Object> fn, int from, int to, int threshold) {
+      this.in        = in;
+      this.out       = out;
+      this.fn        = fn;
+      this.from      = from;
+      this.to        = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if(to - from <= threshold) {
+        for(int i = from; i < to; i++)
+          out[i] = fn.call(in[i]);
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new MapTask(in, out, fn, from, mid, threshold)
+                , new MapTask(in, out, fn, mid, to, threshold));
+      }
+    }
+  }
+
+  private static final class FoldMapTask<W> extends RecursiveTask<W> {
+
+    private final Object[] in;
+    private final F1<Object, ? extends W> fn;
+    private final Monoid<W> monoid;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private FoldMapTask(Object[] in, F1<Object, ? extends W> fn, Monoid<W> monoid, int from, int to, int threshold) {
+      this.in        = in;
+      this.fn        = fn;
+      this.monoid    = monoid;
+      this.from      = from;
+      this.to        = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected W compute() {
+      if(to - from <= threshold) {
+        W acc = monoid.mempty();
+        for(int i = from; i < to; i++)
+          acc = monoid.mappend(acc, fn.call(in[i]));
+        return acc;
+      } else {
+        int mid = (from + to) >>> 1;
+        FoldMapTask<W> left = new FoldMapTask<W>(in, fn, monoid, from, mid, threshold);
+        left.fork();
+        W right = new FoldMapTask<W>(in, fn, monoid, mid, to, threshold).compute();
+        return monoid.mappend(left.join(), right);
+      }
+    }
+  }
+
+  private static final class CollectTask<W> extends RecursiveTask<W> {
+
+    private final F2<Integer, Integer, W> leaf;
+    private final F2<W, W, W> combine;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private CollectTask(F2<Integer, Integer, W> leaf, F2<W, W, W> combine, int from, int to, int threshold) {
+      this.leaf      = leaf;
+      this.combine   = combine;
+      this.from      = from;
+      this.to        = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected W compute() {
+      if(to - from <= threshold) {
+        return leaf.call(from, to);
+      } else {
+        int mid = (from + to) >>> 1;
+        CollectTask<W> left = new CollectTask<W>(leaf, combine, from, mid, threshold);
+        left.fork();
+        W right = new CollectTask<W>(leaf, combine, mid, to, threshold).compute();
+        return combine.call(left.join(), right);
+      }
+    }
+  }
+}
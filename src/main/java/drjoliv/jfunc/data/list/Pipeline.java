@@ -0,0 +1,191 @@
+package drjoliv.jfunc.data.list;
+
+import static drjoliv.jfunc.contorl.eval.Eval.later;
+import static drjoliv.jfunc.data.list.FList.flist;
+import static drjoliv.jfunc.data.list.FList.lazy;
+
+import java.util.Arrays;
+
+import drjoliv.jfunc.function.F1;
+import drjoliv.jfunc.function.F2;
+import drjoliv.jfunc.function.P1;
+
+/**
+ * A fused chain of {@code map}, {@code filter}, {@code takeWhile} and {@code take} stages over a FList.
+ * Stages are recorded rather than applied, when the pipeline is run every element of the source is pushed
+ * through all the stages at once, so no intermediate FLists are built and exactly one cell is created for
+ * each element that survives the pipeline.
+ * <pre>
+ * {@code
+ * FList<Integer> list = Integers.naturals()
+ *   .pipeline()
+ *   .map(i -> i * i)
+ *   .filter(i -> i % 3 == 0)
+ *   .take(10)
+ *   .toFList();
+ * }
+ * </pre>
+ * Pipelines are immutable, adding a stage returns a new pipeline and leaves this one untouched.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class Pipeline<A> {
+
+  private static final int MAP        = 0;
+  private static final int FILTER     = 1;
+  private static final int TAKE_WHILE = 2;
+  private static final int TAKE       = 3;
+
+  //Results of pushing an element through the stages that are not elements.
+  private static final Object SKIP = new Object();
+  private static final Object STOP = new Object();
+
+  private final FList<?> source;
+  private final int[] kinds;
+  private final Object[] stages;
+  private final int[] limits;
+
+  private Pipeline(FList<?> source, int[] kinds, Object[] stages, int[] limits) {
+    this.source = source;
+    this.kinds  = kinds;
+    this.stages = stages;
+    this.limits = limits;
+  }
+
+  /**
+   * Creates a pipeline with no stages whose elements are drawn from the given FList.
+   * @param source the FList elements are drawn from.
+   * @return a pipeline.
+   */
+  public static <A> Pipeline<A> pipeline(FList<A> source) {
+    return new Pipeline<A>(source, new int[0], new Object[0], new int[0]);
+  }
+
+  private <B> Pipeline<B> stage(int kind, Object stage) {
+    int[] k    = Arrays.copyOf(kinds, kinds.length + 1);
+    Object[] s = Arrays.copyOf(stages, stages.length + 1);
+    k[kinds.length]  = kind;
+    s[stages.length] = stage;
+    return new Pipeline<B>(source, k, s, limits);
+  }
+
+  /**
+   * Adds a stage that applies the given function to every element.
+   * @param fn a function.
+   * @return a pipeline.
+   */
+  public <B> Pipeline<B> map(F1<? super A, ? extends B> fn) {
+    return stage(MAP, fn);
+  }
+
+  /**
+   * Adds a stage that removes elements that evaluate to false when applied to the predicate.
+   * @param p a predicate.
+   * @return a pipeline.
+   */
+  public Pipeline<A> filter(P1<A> p) {
+    return stage(FILTER, p);
+  }
+
+  /**
+   * Adds a stage that ends the pipeline at the first element that evaluates to false when applied to the predicate.
+   * @param p a predicate.
+   * @return a pipeline.
+   */
+  public Pipeline<A> takeWhile(P1<A> p) {
+    return stage(TAKE_WHILE, p);
+  }
+
+  /**
+   * Adds a stage that ends the pipeline after {@code i} elements have reached it.
+   * @param i the number of elements to take.
+   * @return a pipeline.
+   */
+  public Pipeline<A> take(int i) {
+    int[] l = Arrays.copyOf(limits, limits.length + 1);
+    l[limits.length] = Math.max(i, 0);
+    Pipeline<A> p = stage(TAKE, Integer.valueOf(limits.length));
+    return new Pipeline<A>(p.source, p.kinds, p.stages, l);
+  }
+
+  /**
+   * Runs this pipeline, returning a FList of the elements that survive it. The returned FList is lazy, elements
+   * are drawn from the source only as the returned FList is walked, so pipelines over infinite FLists are allowed.
+   * @return a FList of the elements that survive this pipeline.
+   */
+  public FList<A> toFList() {
+    return lazy(later(() -> run(source, kinds, stages, limits)));
+  }
+
+  /**
+   * Runs this pipeline, strictly folding the elements that survive it from left to right.
+   * @param fn a function to fold over the elements.
+   * @param b the seed value.
+   * @return a reduced value.
+   */
+  @SuppressWarnings("unchecked")
+  public <B> B foldl(F2<B, ? super A, B> fn, B b) {
+    int[] counts = limits.clone();
+    B acc = b;
+    FList<?> l = source;
+    while(!hasEnded(counts) && !l.isEmpty()) {
+      Object o = push(l.head(), kinds, stages, counts);
+      if(o == STOP)
+        break;
+      if(o != SKIP)
+        acc = fn.call(acc, (A)o);
+      l = l.tail();
+    }
+    return acc;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> FList<A> run(FList<?> source, int[] kinds, Object[] stages, int[] limits) {
+    int[] counts = limits.clone();
+    FList<?> l = source;
+    while(!hasEnded(counts) && !l.isEmpty()) {
+      Object o = push(l.head(), kinds, stages, counts);
+      if(o == STOP)
+        return FList.empty();
+      if(o != SKIP) {
+        final FList<?> rest = l;
+        return flist((A)o, () -> run(rest.tail(), kinds, stages, counts));
+      }
+      l = l.tail();
+    }
+    return FList.empty();
+  }
+
+  //Once any take stage has let through all of its elements no further element can survive the pipeline.
+  private static boolean hasEnded(int[] counts) {
+    for(int c : counts)
+      if(c == 0)
+        return true;
+    return false;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Object push(Object a, int[] kinds, Object[] stages, int[] counts) {
+    Object o = a;
+    for(int i = 0; i < kinds.length; i++) {
+      switch(kinds[i]) {
+        case MAP:
+          o = ((F1)stages[i]).call(o);
+          break;
+        case FILTER:
+          if(!((P1)stages[i]).test(o))
+            return SKIP;
+          break;
+        case TAKE_WHILE:
+          if(!((P1)stages[i]).test(o))
+            return STOP;
+          break;
+        default:
+          int k = (Integer)stages[i];
+          if(counts[k] == 0)
+            return STOP;
+          counts[k]--;
+      }
+    }
+    return o;
+  }
+}
@@ -0,0 +1,265 @@
+package drjoliv.jfunc.data.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import drjoliv.jfunc.foldable.Foldable;
+import drjoliv.jfunc.hlist.T2;
+
+/**
+ * The number of times each element occurs in a collection. Elements are kept in an open addressing hash table with
+ * linear probing, the counts are held in a parallel array of {@code long}s, so counting an element neither boxes
+ * its count nor allocates an entry. Elements are compared with {@code equals} and {@code hashCode}, null may be
+ * counted.
+ * <p>
+ * A frequencies is not changed once built, counts are gathered through a {@link Builder}.
+ * <pre>
+ * {@code
+ * Frequencies<String> f = Frequencies.fromFoldable(flist("a", "b", "a"));
+ * f.count("a") == 2
+ * f.count("c") == 0
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class Frequencies<K> implements Iterable<T2<K,Long>> {
+
+  //Stands in for a null element, empty slots hold null.
+  private static final Object NULL = new Object();
+
+  private final Object[] keys;
+  private final long[] counts;
+  private final int size;
+  private final long total;
+
+  private Frequencies(Object[] keys, long[] counts, int size, long total) {
+    this.keys   = keys;
+    this.counts = counts;
+    this.size   = size;
+    this.total  = total;
+  }
+
+  /**
+   * Returns a builder whose counts start empty.
+   * @return a builder.
+   */
+  public static <K> Builder<K> builder() {
+    return new Builder<K>();
+  }
+
+  /**
+   * Counts the elements of a finite foldable.
+   * @param foldable a finite foldable.
+   * @return the number of times each element occurs in the foldable.
+   */
+  public static <M,K> Frequencies<K> fromFoldable(Foldable<M,K> foldable) {
+    return foldable.foldl(Builder::add, Frequencies.<K>builder()).build();
+  }
+
+  /**
+   * Returns the number of times the element was counted.
+   * @param k an element.
+   * @return the number of times {@code k} was counted, zero if it was never counted.
+   */
+  public long count(K k) {
+    Object key = mask(k);
+    int i = slot(keys, key);
+    return keys[i] == null ? 0 : counts[i];
+  }
+
+  /**
+   * Returns the number of distinct elements counted.
+   * @return the number of distinct elements counted.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the sum of all counts.
+   * @return the sum of all counts.
+   */
+  public long total() {
+    return total;
+  }
+
+  /**
+   * Returns a persistent map from each element counted to its count.
+   * @return a map from each element counted to its count.
+   * @throws NullPointerException if null was counted, maps can not hold a null key.
+   */
+  public HashMap<K,Long> toMap() {
+    HashMap.Builder<K,Long> builder = HashMap.builder();
+    for(T2<K,Long> t : this)
+      builder.put(t._1(), t._2());
+    return builder.build();
+  }
+
+  /**
+   * Returns an iterator over each element counted and its count, in no particular order.
+   * @return an iterator over each element counted and its count.
+   */
+  @Override
+  public Iterator<T2<K,Long>> iterator() {
+    return new Iterator<T2<K,Long>>() {
+
+      private int i = advance(0);
+
+      private int advance(int j) {
+        while(j < keys.length && keys[j] == null)
+          j++;
+        return j;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return i < keys.length;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public T2<K,Long> next() {
+        if(i >= keys.length)
+          throw new NoSuchElementException();
+        T2<K,Long> t = T2.t2((K)unmask(keys[i]), counts[i]);
+        i = advance(i + 1);
+        return t;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("{ ");
+    for(T2<K,Long> t : this)
+      builder.append(t._1()).append("=").append(t._2()).append(" ");
+    builder.append("}");
+    return builder.toString();
+  }
+
+  private static Object mask(Object k) {
+    return k == null ? NULL : k;
+  }
+
+  private static Object unmask(Object k) {
+    return k == NULL ? null : k;
+  }
+
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  //The slot holding the key, or the empty slot where it would be placed.
+  private static int slot(Object[] keys, Object key) {
+    int m = keys.length - 1;
+    int i = hash(key) & m;
+    while(keys[i] != null && !Objects.equals(keys[i], key))
+      i = (i + 1) & m;
+    return i;
+  }
+
+  /**
+   * Gathers counts. A builder changes its table in place and can not be used once {@link #build()} has been called.
+   */
+  public static final class Builder<K> {
+
+    private Object[] keys = new Object[16];
+    private long[] counts = new long[16];
+    private int size;
+    private long total;
+    private boolean built;
+
+    private Builder() {}
+
+    /**
+     * Counts the element once.
+     * @param k an element.
+     * @return this builder.
+     */
+    public Builder<K> add(K k) {
+      return add(k, 1);
+    }
+
+    /**
+     * Counts the element {@code n} times.
+     * @param k an element.
+     * @param n the number of times to count the element.
+     * @return this builder.
+     */
+    public Builder<K> add(K k, long n) {
+      ensureEditable();
+      addMasked(mask(k), n);
+      return this;
+    }
+
+    /**
+     * Adds the counts of the given frequencies to the counts of this builder.
+     * @param frequencies counts to add.
+     * @return this builder.
+     */
+    public Builder<K> addAll(Frequencies<K> frequencies) {
+      ensureEditable();
+      Object[] ks = frequencies.keys;
+      long[] cs   = frequencies.counts;
+      for(int i = 0; i < ks.length; i++)
+        if(ks[i] != null)
+          addMasked(ks[i], cs[i]);
+      return this;
+    }
+
+    /**
+     * Returns the number of distinct elements counted by this builder.
+     * @return the number of distinct elements counted by this builder.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the counts gathered by this builder.
+     * @return the counts gathered by this builder.
+     */
+    public Frequencies<K> build() {
+      ensureEditable();
+      built = true;
+      return new Frequencies<K>(keys, counts, size, total);
+    }
+
+    private void addMasked(Object key, long n) {
+      int i = slot(keys, key);
+      if(keys[i] == null) {
+        //Keep the table at most half full so probe sequences stay short.
+        if((size + 1) * 2 > keys.length) {
+          resize();
+          i = slot(keys, key);
+        }
+        keys[i] = key;
+        size++;
+      }
+      counts[i] += n;
+      total     += n;
+    }
+
+    private void resize() {
+      Object[] oldKeys = keys;
+      long[] oldCounts = counts;
+      keys   = new Object[oldKeys.length << 1];
+      counts = new long[oldKeys.length << 1];
+      for(int i = 0; i < oldKeys.length; i++) {
+        if(oldKeys[i] != null) {
+          int j = slot(keys, oldKeys[i]);
+          keys[j]   = oldKeys[i];
+          counts[j] = oldCounts[i];
+        }
+      }
+    }
+
+    private void ensureEditable() {
+      if(built)
+        throw new IllegalStateException("This builder has already been built.");
+    }
+  }
+}
@@ -0,0 +1,640 @@
+package drjoliv.jfunc.data.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.foldable.Foldable;
+import drjoliv.jfunc.hlist.T2;
+
+/**
+ * A persistent map stored as a hash array mapped trie. Keys are placed by successive five bit slices of their hash,
+ * each node holds a bitmap of the slices in use for entries and a bitmap of the slices in use for child nodes, so a
+ * node only stores as many slots as it has entries and children. Changing a map copies the nodes on the path to the
+ * changed entry and shares every other node with the original map, lookups take at most seven steps.
+ * <p>
+ * Keys are compared with {@code equals} and {@code hashCode}, neither keys nor values may be null.
+ * Many changes at once are best made through a {@link Builder}, which changes the nodes it created in place.
+ * <pre>
+ * {@code
+ * HashMap<String,Integer> map = HashMap.<String,Integer>builder()
+ *   .put("one", 1)
+ *   .put("two", 2)
+ *   .build();
+ * map.put("three", 3).getOrElse("three", 0) == 3
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class HashMap<K,V> implements Map<K,V> {
+
+  private static final int BITS      = 5;
+  private static final int MASK      = (1 << BITS) - 1;
+  private static final int HASH_BITS = 32;
+
+  //Returned by lookups for absent keys, values are never null so this can not clash with a value.
+  private static final Object NOT_FOUND = new Object();
+
+  private static final HashMap<?,?> EMPTY = new HashMap<>(BitmapNode.EMPTY, 0);
+
+  private final Node root;
+  private final int size;
+
+  private HashMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns an empty map.
+   * @return an empty map.
+   */
+  @SuppressWarnings("unchecked")
+  public static <K,V> HashMap<K,V> empty() {
+    return (HashMap<K,V>)EMPTY;
+  }
+
+  /**
+   * Returns a builder whose entries start empty.
+   * @return a builder.
+   */
+  public static <K,V> Builder<K,V> builder() {
+    return new Builder<K,V>(BitmapNode.EMPTY, 0);
+  }
+
+  /**
+   * Creates a map from a foldable of tuples of a key and a value, later entries replace earlier entries with the same key.
+   * @param foldable the entries of the map.
+   * @return a map.
+   */
+  public static <M,K,V> HashMap<K,V> fromFoldable(Foldable<M,T2<K,V>> foldable) {
+    return foldable.foldl((b, t) -> b.put(t._1.value(), t._2.value()), HashMap.<K,V>builder()).build();
+  }
+
+  /**
+   * Returns a builder whose entries start as the entries of this map, this map is not changed by the builder.
+   * @return a builder.
+   */
+  public Builder<K,V> toBuilder() {
+    return new Builder<K,V>(root, size);
+  }
+
+  static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  @Override
+  public HashMap<K,V> put(K k, V v) {
+    Objects.requireNonNull(k, "key");
+    Objects.requireNonNull(v, "value");
+    Change change = new Change();
+    Node r = root.put(null, k, hash(k), v, 0, change);
+    return r == root ? this : new HashMap<K,V>(r, change.added ? size + 1 : size);
+  }
+
+  @Override
+  public HashMap<K,V> remove(K k) {
+    Change change = new Change();
+    Node r = root.remove(null, k, hash(k), 0, change);
+    if(!change.removed)
+      return this;
+    return size == 1 ? empty() : new HashMap<K,V>(r, size - 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Maybe<V> get(K k) {
+    Object v = root.get(k, hash(k), 0);
+    return v == NOT_FOUND ? Maybe.nothing() : Maybe.maybe$(Eval.now((V)v));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V getOrElse(K k, V v) {
+    Object found = root.get(k, hash(k), 0);
+    return found == NOT_FOUND ? v : (V)found;
+  }
+
+  @Override
+  public boolean containsKey(K k) {
+    return root.get(k, hash(k), 0) != NOT_FOUND;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<T2<K,V>> iterator() {
+    return new NodeIterator<T2<K,V>>(root) {
+      @Override
+      @SuppressWarnings("unchecked")
+      T2<K,V> entry(Node node, int i) {
+        return T2.t2((K)node.key(i), (V)node.value(i));
+      }
+    };
+  }
+
+  /**
+   * Returns an iterator over the keys of this map.
+   * @return an iterator over the keys of this map.
+   */
+  public Iterator<K> keyIterator() {
+    return new NodeIterator<K>(root) {
+      @Override
+      @SuppressWarnings("unchecked")
+      K entry(Node node, int i) {
+        return (K)node.key(i);
+      }
+    };
+  }
+
+  /**
+   * Collects entries into a map. A builder owns the nodes it creates and changes them in place, nodes it shares with
+   * a map are copied before they are changed, so building never disturbs an existing map. A builder can not be used
+   * once {@link #build()} has been called.
+   */
+  public static final class Builder<K,V> {
+
+    private Object edit = new Object();
+    private Node root;
+    private int size;
+    private final Change change = new Change();
+
+    private Builder(Node root, int size) {
+      this.root = root;
+      this.size = size;
+    }
+
+    /**
+     * Associates the key with the value, replacing any value the key was associated with.
+     * @param k a key.
+     * @param v a value.
+     * @return this builder.
+     */
+    public Builder<K,V> put(K k, V v) {
+      Objects.requireNonNull(k, "key");
+      Objects.requireNonNull(v, "value");
+      ensureEditable();
+      change.added = false;
+      root = root.put(edit, k, hash(k), v, 0, change);
+      if(change.added)
+        size++;
+      return this;
+    }
+
+    /**
+     * Removes the key.
+     * @param k a key.
+     * @return this builder.
+     */
+    public Builder<K,V> remove(K k) {
+      ensureEditable();
+      change.removed = false;
+      root = root.remove(edit, k, hash(k), 0, change);
+      if(change.removed)
+        size--;
+      return this;
+    }
+
+    /**
+     * Returns true if the key has been added to this builder, or false otherwise.
+     * @param k a key.
+     * @return true if the key has been added to this builder, or false otherwise.
+     */
+    public boolean containsKey(K k) {
+      ensureEditable();
+      return root.get(k, hash(k), 0) != NOT_FOUND;
+    }
+
+    /**
+     * Returns the number of entries within this builder.
+     * @return the number of entries within this builder.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns a map of the entries within this builder.
+     * @return a map.
+     */
+    public HashMap<K,V> build() {
+      ensureEditable();
+      edit = null;
+      return size == 0 ? HashMap.<K,V>empty() : new HashMap<K,V>(root, size);
+    }
+
+    private void ensureEditable() {
+      if(edit == null)
+        throw new IllegalStateException("This builder has already been built.");
+    }
+  }
+
+  //Reports whether an operation added or removed an entry, as nodes changed in place by a builder are returned as is.
+  private static final class Change {
+    boolean added;
+    boolean removed;
+  }
+
+  private static abstract class Node {
+
+    abstract Object get(Object key, int hash, int shift);
+
+    abstract Node put(Object edit, Object key, int hash, Object value, int shift, Change change);
+
+    abstract Node remove(Object edit, Object key, int hash, int shift, Change change);
+
+    abstract int payloadArity();
+
+    abstract int nodeArity();
+
+    abstract Object key(int i);
+
+    abstract Object value(int i);
+
+    abstract Node node(int i);
+
+    final boolean hasSinglePayload() {
+      return nodeArity() == 0 && payloadArity() == 1;
+    }
+
+    final boolean isEditable(Object edit) {
+      return edit != null && edit == edit();
+    }
+
+    abstract Object edit();
+  }
+
+  /**
+   * A node holding entries and children side by side. The entries are stored as key, value pairs at the front of the
+   * array in the order of their bits, and the children at the back of the array in reverse order of their bits.
+   */
+  private static final class BitmapNode extends Node {
+
+    static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+
+    private final Object edit;
+    private int dataMap;
+    private int nodeMap;
+    private Object[] content;
+
+    private BitmapNode(Object edit, int dataMap, int nodeMap, Object[] content) {
+      this.edit    = edit;
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+    }
+
+    private static int index(int map, int bit) {
+      return Integer.bitCount(map & (bit - 1));
+    }
+
+    @Override
+    Object edit() {
+      return edit;
+    }
+
+    @Override
+    int payloadArity() {
+      return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    int nodeArity() {
+      return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    Object key(int i) {
+      return content[2 * i];
+    }
+
+    @Override
+    Object value(int i) {
+      return content[2 * i + 1];
+    }
+
+    @Override
+    Node node(int i) {
+      return (Node)content[content.length - 1 - i];
+    }
+
+    @Override
+    Object get(Object key, int hash, int shift) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if((dataMap & bit) != 0) {
+        int i = index(dataMap, bit);
+        return key.equals(content[2 * i]) ? content[2 * i + 1] : NOT_FOUND;
+      }
+      if((nodeMap & bit) != 0)
+        return node(index(nodeMap, bit)).get(key, hash, shift + BITS);
+      return NOT_FOUND;
+    }
+
+    @Override
+    Node put(Object edit, Object key, int hash, Object value, int shift, Change change) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if((dataMap & bit) != 0) {
+        int i = index(dataMap, bit);
+        Object k0 = content[2 * i];
+        if(key.equals(k0))
+          return content[2 * i + 1] == value ? this : setValue(edit, i, value);
+        Object v0 = content[2 * i + 1];
+        Node sub = merge(edit, k0, hash(k0), v0, key, hash, value, shift + BITS);
+        change.added = true;
+        return inlineToNode(edit, bit, sub);
+      }
+      if((nodeMap & bit) != 0) {
+        int j = index(nodeMap, bit);
+        Node child = node(j);
+        Node n = child.put(edit, key, hash, value, shift + BITS, change);
+        return n == child ? this : setNode(edit, j, n);
+      }
+      change.added = true;
+      return insertValue(edit, bit, key, value);
+    }
+
+    @Override
+    Node remove(Object edit, Object key, int hash, int shift, Change change) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if((dataMap & bit) != 0) {
+        int i = index(dataMap, bit);
+        if(!key.equals(content[2 * i]))
+          return this;
+        change.removed = true;
+        return removeValue(edit, bit, i);
+      }
+      if((nodeMap & bit) != 0) {
+        int j = index(nodeMap, bit);
+        Node child = node(j);
+        Node n = child.remove(edit, key, hash, shift + BITS, change);
+        if(n == child)
+          return this;
+        //A child left with a single entry is inlined, the root is the only node that may be left without entries.
+        if(n.hasSinglePayload()) {
+          if(shift > 0 && dataMap == 0 && nodeArity() == 1)
+            return n;
+          return nodeToInline(edit, bit, j, n.key(0), n.value(0));
+        }
+        return setNode(edit, j, n);
+      }
+      return this;
+    }
+
+    private static Node merge(Object edit, Object k0, int h0, Object v0, Object k1, int h1, Object v1, int shift) {
+      if(shift >= HASH_BITS)
+        return new CollisionNode(edit, new Object[]{k0, v0, k1, v1});
+      int m0 = (h0 >>> shift) & MASK;
+      int m1 = (h1 >>> shift) & MASK;
+      if(m0 != m1) {
+        Object[] content = m0 < m1
+          ? new Object[]{k0, v0, k1, v1}
+          : new Object[]{k1, v1, k0, v0};
+        return new BitmapNode(edit, (1 << m0) | (1 << m1), 0, content);
+      }
+      return new BitmapNode(edit, 0, 1 << m0, new Object[]{merge(edit, k0, h0, v0, k1, h1, v1, shift + BITS)});
+    }
+
+    private Node with(Object edit, int dataMap, int nodeMap, Object[] content) {
+      if(isEditable(edit)) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.content = content;
+        return this;
+      }
+      return new BitmapNode(edit, dataMap, nodeMap, content);
+    }
+
+    private Node setValue(Object edit, int i, Object value) {
+      if(isEditable(edit)) {
+        content[2 * i + 1] = value;
+        return this;
+      }
+      Object[] c = content.clone();
+      c[2 * i + 1] = value;
+      return new BitmapNode(edit, dataMap, nodeMap, c);
+    }
+
+    private Node setNode(Object edit, int j, Node node) {
+      if(isEditable(edit)) {
+        content[content.length - 1 - j] = node;
+        return this;
+      }
+      Object[] c = content.clone();
+      c[c.length - 1 - j] = node;
+      return new BitmapNode(edit, dataMap, nodeMap, c);
+    }
+
+    private Node insertValue(Object edit, int bit, Object key, Object value) {
+      int i = index(dataMap, bit);
+      Object[] c = new Object[content.length + 2];
+      System.arraycopy(content, 0, c, 0, 2 * i);
+      c[2 * i]     = key;
+      c[2 * i + 1] = value;
+      System.arraycopy(content, 2 * i, c, 2 * i + 2, content.length - 2 * i);
+      return with(edit, dataMap | bit, nodeMap, c);
+    }
+
+    private Node removeValue(Object edit, int bit, int i) {
+      Object[] c = new Object[content.length - 2];
+      System.arraycopy(content, 0, c, 0, 2 * i);
+      System.arraycopy(content, 2 * i + 2, c, 2 * i, content.length - 2 * i - 2);
+      return with(edit, dataMap ^ bit, nodeMap, c);
+    }
+
+    //Replaces the entry at the bit with a child holding it and the entry that collided with it.
+    private Node inlineToNode(Object edit, int bit, Node node) {
+      int i       = index(dataMap, bit);
+      int j       = index(nodeMap, bit);
+      int oldLen  = content.length;
+      int dataLen = 2 * payloadArity();
+      Object[] c  = new Object[oldLen - 1];
+      System.arraycopy(content, 0, c, 0, 2 * i);
+      System.arraycopy(content, 2 * i + 2, c, 2 * i, dataLen - 2 * i - 2);
+      System.arraycopy(content, dataLen, c, dataLen - 2, oldLen - j - dataLen);
+      c[oldLen - 2 - j] = node;
+      System.arraycopy(content, oldLen - j, c, oldLen - j - 1, j);
+      return with(edit, dataMap ^ bit, nodeMap | bit, c);
+    }
+
+    //Replaces the child at the bit with the single entry left within it.
+    private Node nodeToInline(Object edit, int bit, int j, Object key, Object value) {
+      int i       = index(dataMap, bit);
+      int oldLen  = content.length;
+      int dataLen = 2 * payloadArity();
+      int p       = oldLen - 1 - j;
+      Object[] c  = new Object[oldLen + 1];
+      System.arraycopy(content, 0, c, 0, 2 * i);
+      c[2 * i]     = key;
+      c[2 * i + 1] = value;
+      System.arraycopy(content, 2 * i, c, 2 * i + 2, dataLen - 2 * i);
+      System.arraycopy(content, dataLen, c, dataLen + 2, p - dataLen);
+      System.arraycopy(content, p + 1, c, p + 2, oldLen - p - 1);
+      return with(edit, dataMap | bit, nodeMap ^ bit, c);
+    }
+  }
+
+  /**
+   * A node holding entries whose keys have the same hash, entries are stored as key, value pairs and found by a linear scan.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final Object edit;
+    private Object[] content;
+
+    private CollisionNode(Object edit, Object[] content) {
+      this.edit    = edit;
+      this.content = content;
+    }
+
+    @Override
+    Object edit() {
+      return edit;
+    }
+
+    private int find(Object key) {
+      for(int i = 0; i < content.length; i += 2)
+        if(key.equals(content[i]))
+          return i;
+      return -1;
+    }
+
+    @Override
+    Object get(Object key, int hash, int shift) {
+      int i = find(key);
+      return i < 0 ? NOT_FOUND : content[i + 1];
+    }
+
+    @Override
+    Node put(Object edit, Object key, int hash, Object value, int shift, Change change) {
+      int i = find(key);
+      Object[] c;
+      if(i >= 0) {
+        if(content[i + 1] == value)
+          return this;
+        c = isEditable(edit) ? content : content.clone();
+        c[i + 1] = value;
+      } else {
+        c = new Object[content.length + 2];
+        System.arraycopy(content, 0, c, 0, content.length);
+        c[content.length]     = key;
+        c[content.length + 1] = value;
+        change.added = true;
+      }
+      return with(edit, c);
+    }
+
+    @Override
+    Node remove(Object edit, Object key, int hash, int shift, Change change) {
+      int i = find(key);
+      if(i < 0)
+        return this;
+      change.removed = true;
+      Object[] c = new Object[content.length - 2];
+      System.arraycopy(content, 0, c, 0, i);
+      System.arraycopy(content, i + 2, c, i, content.length - i - 2);
+      return with(edit, c);
+    }
+
+    private Node with(Object edit, Object[] c) {
+      if(isEditable(edit)) {
+        content = c;
+        return this;
+      }
+      return new CollisionNode(edit, c);
+    }
+
+    @Override
+    int payloadArity() {
+      return content.length >> 1;
+    }
+
+    @Override
+    int nodeArity() {
+      return 0;
+    }
+
+    @Override
+    Object key(int i) {
+      return content[2 * i];
+    }
+
+    @Override
+    Object value(int i) {
+      return content[2 * i + 1];
+    }
+
+    @Override
+    Node node(int i) {
+      throw new IndexOutOfBoundsException();
+    }
+  }
+
+  /**
+   * Walks the trie depth first, yielding the entries of a node before the entries of its children. The path from the
+   * root is held in fixed arrays as the trie is at most eight nodes deep.
+   */
+  private static abstract class NodeIterator<T> implements Iterator<T> {
+
+    private final Node[] path   = new Node[HASH_BITS / BITS + 2];
+    private final int[] cursors = new int[HASH_BITS / BITS + 2];
+    private int depth = -1;
+
+    private Node current;
+    private int index;
+
+    NodeIterator(Node root) {
+      current = root;
+      index   = 0;
+      if(root.nodeArity() > 0)
+        push(root);
+    }
+
+    private void push(Node node) {
+      depth++;
+      path[depth]    = node;
+      cursors[depth] = 0;
+    }
+
+    abstract T entry(Node node, int i);
+
+    @Override
+    public boolean hasNext() {
+      if(index < current.payloadArity())
+        return true;
+      while(depth >= 0) {
+        Node node = path[depth];
+        if(cursors[depth] < node.nodeArity()) {
+          Node child = node.node(cursors[depth]++);
+          if(child.nodeArity() > 0)
+            push(child);
+          if(child.payloadArity() > 0) {
+            current = child;
+            index   = 0;
+            return true;
+          }
+        } else {
+          path[depth--] = null;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public T next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      return entry(current, index++);
+    }
+  }
+}
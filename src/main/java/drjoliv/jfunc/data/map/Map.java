@@ -0,0 +1,61 @@
+package drjoliv.jfunc.data.map;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.hlist.T2;
+
+/**
+ * A persistent map from keys to values. Operations that change a map return a new map and leave the original
+ * untouched, iterating a map yields its entries as tuples of a key and a value.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public interface Map<K,V> extends Iterable<T2<K,V>> {
+
+  /**
+   * Returns a map that associates the key with the value, replacing any value the key was associated with.
+   * @param k a key.
+   * @param v a value.
+   * @return a map containing the given association.
+   */
+  public Map<K,V> put(K k, V v);
+
+  /**
+   * Returns a map without the given key.
+   * @param k a key.
+   * @return a map that does not contain the key.
+   */
+  public Map<K,V> remove(K k);
+
+  /**
+   * Returns the value associated with the key, or nothing if this map does not contain the key.
+   * @param k a key.
+   * @return the value associated with the key.
+   */
+  public Maybe<V> get(K k);
+
+  /**
+   * Returns the value associated with the key, or the given value if this map does not contain the key.
+   * @param k a key.
+   * @param v the value returned when this map does not contain the key.
+   * @return the value associated with the key, or the given value.
+   */
+  public V getOrElse(K k, V v);
+
+  /**
+   * Returns true if this map contains the key, or false otherwise.
+   * @param k a key.
+   * @return true if this map contains the key, or false otherwise.
+   */
+  public boolean containsKey(K k);
+
+  /**
+   * Returns true if this map contains no entries, or false otherwise.
+   * @return true if this map contains no entries, or false otherwise.
+   */
+  public boolean isEmpty();
+
+  /**
+   * Returns the number of entries within this map.
+   * @return the number of entries within this map.
+   */
+  public int size();
+}
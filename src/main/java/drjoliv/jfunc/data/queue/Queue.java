@@ -0,0 +1,324 @@
+package drjoliv.jfunc.data.queue;
+
+import static drjoliv.jfunc.contorl.eval.Eval.later;
+import static drjoliv.jfunc.contorl.maybe.Maybe.maybe;
+import static drjoliv.jfunc.contorl.maybe.Maybe.nothing;
+import static drjoliv.jfunc.hlist.T2.t2;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.FList.EmptyListException;
+import drjoliv.jfunc.hlist.T2;
+
+/**
+ * A persistent catenable queue. A queue is its first element together with a simple queue of child queues that hold
+ * the rest of its elements in order. Concatenating two queues adds the second as the last child of the first, and
+ * removing the first element links the children together lazily from the right, so {@code enqueue}, {@code cons},
+ * {@code dequeue} and {@code concat} are amortized O(1). {@code size} is O(1).
+ * <pre>
+ * {@code
+ * Queue<Integer> q = Queue.queue(1, 2, 3).concat(Queue.queue(4, 5)).enqueue(6);
+ * q.dequeue().toNull()._1() == 1
+ * q.size() == 6
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class Queue<A> implements Iterable<A> {
+
+  private static final Queue<?> EMPTY = new Queue<>(null, Links.EMPTY, 0);
+
+  private final A head;
+  private final Links rest;
+  private final int size;
+
+  private Queue(A head, Links rest, int size) {
+    this.head = head;
+    this.rest = rest;
+    this.size = size;
+  }
+
+  /**
+   * Returns an empty queue.
+   * @return an empty queue.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> Queue<A> empty() {
+    return (Queue<A>)EMPTY;
+  }
+
+  /**
+   * Returns a queue with a single element.
+   * @param a an element.
+   * @return a queue containing only {@code a}.
+   */
+  public static <A> Queue<A> singleton(A a) {
+    return new Queue<A>(a, Links.EMPTY, 1);
+  }
+
+  /**
+   * Creates a queue from the given elements, the first argument is the front of the queue.
+   * @param elements the elements of the queue.
+   * @return a queue.
+   */
+  @SafeVarargs
+  public static <A> Queue<A> queue(A... elements) {
+    Queue<A> q = empty();
+    for(A a : elements)
+      q = q.enqueue(a);
+    return q;
+  }
+
+  /**
+   * Creates a queue from the elements of a finite list, the head of the list is the front of the queue.
+   * @param list a finite list.
+   * @return a queue.
+   */
+  public static <A> Queue<A> fromFList(FList<A> list) {
+    Queue<A> q = empty();
+    for(A a : list)
+      q = q.enqueue(a);
+    return q;
+  }
+
+  /**
+   * Returns the number of elements within this queue.
+   * @return the number of elements within this queue.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if this queue has no elements, or false otherwise.
+   * @return true if this queue has no elements, or false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at the front of this queue.
+   * @return the element at the front of this queue, or nothing if this queue is empty.
+   */
+  public Maybe<A> peek() {
+    return isEmpty()
+      ? nothing()
+      : maybe(head);
+  }
+
+  /**
+   * Returns the element at the front of this queue.
+   * @return the element at the front of this queue.
+   * @throws EmptyListException if this queue is empty.
+   */
+  public A head() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return head;
+  }
+
+  /**
+   * Returns this queue without the element at its front.
+   * @return this queue without the element at its front.
+   * @throws EmptyListException if this queue is empty.
+   */
+  public Queue<A> tail() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return rest.isEmpty()
+      ? empty()
+      : linkAll(rest, size - 1);
+  }
+
+  /**
+   * Returns a queue with the given element added to the back.
+   * @param a an element.
+   * @return a queue whose last element is {@code a}.
+   */
+  public Queue<A> enqueue(A a) {
+    return concat(singleton(a));
+  }
+
+  /**
+   * Returns a queue with the given element added to the front.
+   * @param a an element.
+   * @return a queue whose first element is {@code a}.
+   */
+  public Queue<A> cons(A a) {
+    return singleton(a).concat(this);
+  }
+
+  /**
+   * Removes the element at the front of this queue.
+   * @return the first element and the remaining queue, or nothing if this queue is empty.
+   */
+  public Maybe<T2<A, Queue<A>>> dequeue() {
+    return isEmpty()
+      ? nothing()
+      : maybe(t2(head, tail()));
+  }
+
+  /**
+   * Returns a queue containing the elements of this queue followed by the elements of the given queue.
+   * @param queue a queue.
+   * @return the concatenation of this queue and the given queue.
+   */
+  public Queue<A> concat(Queue<A> queue) {
+    if(queue.isEmpty())
+      return this;
+    if(isEmpty())
+      return queue;
+    return link(this, queue, queue.size);
+  }
+
+  //Adds a child, which is either a queue or a suspended queue, holding n elements.
+  private static <A> Queue<A> link(Queue<A> q, Object child, int n) {
+    return new Queue<A>(q.head, q.rest.snoc(child), q.size + n);
+  }
+
+  //Links the children from the right, only the first of them is forced.
+  @SuppressWarnings("unchecked")
+  private static <A> Queue<A> linkAll(Links rest, int size) {
+    Object child = rest.head();
+    Queue<A> first = child instanceof Suspended
+      ? ((Suspended<A>)child).queue.value()
+      : (Queue<A>)child;
+    Links others = rest.tail();
+    if(others.isEmpty())
+      return first;
+    int remaining = size - first.size;
+    return link(first, new Suspended<A>(later(() -> linkAll(others, remaining))), remaining);
+  }
+
+  /**
+   * Returns a list of the elements of this queue from front to back.
+   * @return a list of the elements of this queue.
+   */
+  public FList<A> toFList() {
+    Object[] elements = new Object[size];
+    int i = 0;
+    for(A a : this)
+      elements[i++] = a;
+    return FList.fromArray(Queue.<A>unchecked(elements));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A[] unchecked(Object[] elements) {
+    return (A[])elements;
+  }
+
+  /**
+   * Returns an iterator over the elements of this queue from front to back.
+   * @return an iterator over the elements of this queue.
+   */
+  @Override
+  public Iterator<A> iterator() {
+    return new Iterator<A>() {
+
+      private Queue<A> q = Queue.this;
+
+      @Override
+      public boolean hasNext() {
+        return !q.isEmpty();
+      }
+
+      @Override
+      public A next() {
+        if(q.isEmpty())
+          throw new NoSuchElementException();
+        A a = q.head;
+        q = q.tail();
+        return a;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    for(A a : this)
+      builder.append(a).append(" ");
+    builder.append("]");
+    return builder.toString();
+  }
+
+  //A child queue that has not been linked yet.
+  private static final class Suspended<A> {
+    final Eval<Queue<A>> queue;
+
+    Suspended(Eval<Queue<A>> queue) {
+      this.queue = queue;
+    }
+  }
+
+  /*
+   * A persistent first in first out queue of children, stored as a front list and a reversed rear list. The rear is
+   * reversed when the front runs out, and the tail of each queue is remembered, so a reversal is done at most once
+   * however many times an old queue is reused.
+   */
+  private static final class Links {
+
+    static final Links EMPTY = new Links(null, null);
+
+    //Null only when the queue is empty.
+    final Cell front;
+    final Cell rear;
+    private Links tail;
+
+    Links(Cell front, Cell rear) {
+      this.front = front;
+      this.rear  = rear;
+    }
+
+    boolean isEmpty() {
+      return front == null;
+    }
+
+    Object head() {
+      return front.item;
+    }
+
+    Links snoc(Object o) {
+      return front == null
+        ? new Links(new Cell(o, null), null)
+        : new Links(front, new Cell(o, rear));
+    }
+
+    Links tail() {
+      Links t = tail;
+      if(t == null) {
+        if(front.next != null)
+          t = new Links(front.next, rear);
+        else if(rear == null)
+          t = EMPTY;
+        else
+          t = new Links(reverse(rear), null);
+        tail = t;
+      }
+      return t;
+    }
+
+    private static Cell reverse(Cell cell) {
+      Cell reversed = null;
+      for(Cell c = cell; c != null; c = c.next)
+        reversed = new Cell(c.item, reversed);
+      return reversed;
+    }
+  }
+
+  private static final class Cell {
+    final Object item;
+    final Cell next;
+
+    Cell(Object item, Cell next) {
+      this.item = item;
+      this.next = next;
+    }
+  }
+}
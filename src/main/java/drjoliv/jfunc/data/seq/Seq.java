@@ -0,0 +1,766 @@
+package drjoliv.jfunc.data.seq;
+
+import static drjoliv.jfunc.contorl.eval.Eval.later;
+import static drjoliv.jfunc.hlist.T2.t2;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import drjoliv.jfunc.applicative.Applicative;
+import drjoliv.jfunc.applicative.ApplicativeFactory;
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.FList.EmptyListException;
+import drjoliv.jfunc.function.F1;
+import drjoliv.jfunc.function.F2;
+import drjoliv.jfunc.function.F3;
+import drjoliv.jfunc.function.F4;
+import drjoliv.jfunc.hkt.Hkt;
+import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.monad.Monad;
+import drjoliv.jfunc.monad.MonadFactory;
+import drjoliv.jfunc.traversable.Traversable;
+
+/**
+ * A persistent sequence stored as a 2-3 finger tree annotated with sizes. The ends of the tree are held in short
+ * digits, so {@code cons}, {@code snoc}, {@code head}, {@code last}, {@code tail} and {@code init} are amortized O(1),
+ * and every internal node records the number of elements beneath it, so {@code get}, {@code update},
+ * {@code splitAt} and {@code append} are O(log n). {@code size} is O(1).
+ * <pre>
+ * {@code
+ * Seq<Integer> seq = Seq.fromFList(Integers.range(1, 1000));
+ * seq.get(499) == 500
+ * seq.splitAt(10)._2().head() == 11
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class Seq<A> implements Hkt<Seq.μ,A>, Monad<Seq.μ,A>, Traversable<Seq.μ,A>, Iterable<A> {
+
+  /**
+  * The witness type of {@code Seq}.
+  */
+  public static class μ {private μ(){}}
+
+  private static final Seq<?> EMPTY = new Seq<>(Empty.INSTANCE);
+
+  private final Tree tree;
+
+  private Seq(Tree tree) {
+    this.tree = tree;
+  }
+
+  private static <A> Seq<A> seq(Tree tree) {
+    return tree == Empty.INSTANCE ? empty() : new Seq<A>(tree);
+  }
+
+  /**
+   * Returns an empty sequence.
+   * @return an empty sequence.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> Seq<A> empty() {
+    return (Seq<A>)EMPTY;
+  }
+
+  /**
+   * Creates a sequence from the given elements.
+   * @param elements the elements of the sequence.
+   * @return a sequence.
+   */
+  @SafeVarargs
+  public static <A> Seq<A> seq(A... elements) {
+    return fromArray(elements, elements.length);
+  }
+
+  /**
+   * Creates a sequence from the elements of a finite FList.
+   * @param list a finite FList.
+   * @return a sequence containing the elements of the list in the same order.
+   */
+  public static <A> Seq<A> fromFList(FList<A> list) {
+    Object[] elements = list.toArray();
+    return fromArray(elements, elements.length);
+  }
+
+  private static <A> Seq<A> fromArray(Object[] elements, int n) {
+    Tree t = Empty.INSTANCE;
+    for(int i = 0; i < n; i++)
+      t = snoc(t, elements[i]);
+    return seq(t);
+  }
+
+  /**
+   * Returns the number of elements within this sequence.
+   * @return the number of elements within this sequence.
+   */
+  public int size() {
+    return tree.size();
+  }
+
+  /**
+   * Returns true if this sequence has no elements, or false otherwise.
+   * @return true if this sequence has no elements, or false otherwise.
+   */
+  public boolean isEmpty() {
+    return tree == Empty.INSTANCE;
+  }
+
+  /**
+   * Returns a sequence with the given element placed before the elements of this sequence.
+   * @param a an element.
+   * @return a sequence whose first element is {@code a}.
+   */
+  public Seq<A> cons(A a) {
+    return new Seq<A>(cons(a, tree));
+  }
+
+  /**
+   * Returns a sequence with the given element placed after the elements of this sequence.
+   * @param a an element.
+   * @return a sequence whose last element is {@code a}.
+   */
+  public Seq<A> snoc(A a) {
+    return new Seq<A>(snoc(tree, a));
+  }
+
+  /**
+   * Returns the first element of this sequence.
+   * @return the first element of this sequence.
+   * @throws EmptyListException if this sequence is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public A head() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return (A)head(tree);
+  }
+
+  /**
+   * Returns the last element of this sequence.
+   * @return the last element of this sequence.
+   * @throws EmptyListException if this sequence is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public A last() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return (A)last(tree);
+  }
+
+  /**
+   * Returns this sequence without its first element.
+   * @return this sequence without its first element.
+   * @throws EmptyListException if this sequence is empty.
+   */
+  public Seq<A> tail() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return seq(tail(tree));
+  }
+
+  /**
+   * Returns this sequence without its last element.
+   * @return this sequence without its last element.
+   * @throws EmptyListException if this sequence is empty.
+   */
+  public Seq<A> init() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return seq(init(tree));
+  }
+
+  /**
+   * Returns the element at the given index.
+   * @param i an index.
+   * @return the element at index {@code i}.
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this sequence.
+   */
+  @SuppressWarnings("unchecked")
+  public A get(int i) {
+    checkIndex(i);
+    Tree t = tree;
+    while(true) {
+      if(t instanceof Single)
+        return (A)get(((Single)t).item, i);
+      Deep d = (Deep)t;
+      int sp = size(d.prefix);
+      if(i < sp)
+        return (A)get(d.prefix, i);
+      i -= sp;
+      if(i >= d.middle.size())
+        return (A)get(d.suffix, i - d.middle.size());
+      t = d.middle;
+    }
+  }
+
+  /**
+   * Returns a sequence with the element at the given index replaced.
+   * @param i an index.
+   * @param a the new element.
+   * @return a sequence with {@code a} at index {@code i}.
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this sequence.
+   */
+  public Seq<A> update(int i, A a) {
+    checkIndex(i);
+    return new Seq<A>(update(tree, i, a));
+  }
+
+  private void checkIndex(int i) {
+    if(i < 0 || i >= size())
+      throw new IndexOutOfBoundsException("index: " + i + ", size: " + size());
+  }
+
+  /**
+   * Splits this sequence before the given index.
+   * @param i an index.
+   * @return the first {@code i} elements of this sequence and the remaining elements.
+   */
+  public T2<Seq<A>,Seq<A>> splitAt(int i) {
+    if(i <= 0)
+      return t2(empty(), this);
+    if(i >= size())
+      return t2(this, empty());
+    Split s = split(i, tree);
+    return t2(seq(s.left), new Seq<A>(cons(s.item, s.right)));
+  }
+
+  /**
+   * Returns the first {@code i} elements of this sequence.
+   * @param i the number of elements to take.
+   * @return the first {@code i} elements of this sequence.
+   */
+  public Seq<A> take(int i) {
+    return i >= size() ? this : splitAt(i)._1();
+  }
+
+  /**
+   * Returns this sequence with the first {@code i} elements dropped.
+   * @param i the number of elements to drop.
+   * @return this sequence with the first {@code i} elements dropped.
+   */
+  public Seq<A> drop(int i) {
+    return i <= 0 ? this : splitAt(i)._2();
+  }
+
+  /**
+   * Returns a sequence containing the elements of this sequence followed by the elements of the given sequence.
+   * @param seq a sequence.
+   * @return the concatenation of this sequence and the given sequence.
+   */
+  public Seq<A> append(Seq<A> seq) {
+    if(seq.isEmpty())
+      return this;
+    if(isEmpty())
+      return seq;
+    return new Seq<A>(concat(tree, NONE, seq.tree));
+  }
+
+  /**
+   * Returns an array containing the elements of this sequence.
+   * @return an array containing the elements of this sequence.
+   */
+  public Object[] toArray() {
+    Object[] elements = new Object[size()];
+    int i = 0;
+    for(A a : this)
+      elements[i++] = a;
+    return elements;
+  }
+
+  @Override
+  public FList<A> toFList() {
+    return FList.fromArray(Seq.<A>unchecked(toArray()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A[] unchecked(Object[] elements) {
+    return (A[])elements;
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return new Iterator<A>() {
+
+      private Object[] stack = new Object[16];
+      private int top;
+      private int remaining = size();
+
+      {
+        stack[top++] = tree;
+      }
+
+      private void push(Object o) {
+        if(top == stack.length)
+          stack = Arrays.copyOf(stack, top << 1);
+        stack[top++] = o;
+      }
+
+      private void pushAll(Object[] items) {
+        for(int i = items.length - 1; i >= 0; i--)
+          push(items[i]);
+      }
+
+      @Override
+      public boolean hasNext() {
+        return remaining > 0;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public A next() {
+        if(remaining == 0)
+          throw new NoSuchElementException();
+        while(true) {
+          Object o = stack[--top];
+          stack[top] = null;
+          if(o instanceof Deep) {
+            Deep d = (Deep)o;
+            pushAll(d.suffix);
+            push(d.middle);
+            pushAll(d.prefix);
+          } else if(o instanceof Single) {
+            push(((Single)o).item);
+          } else if(o instanceof Node) {
+            pushAll(((Node)o).items);
+          } else if(!(o instanceof Empty)) {
+            remaining--;
+            return (A)o;
+          }
+        }
+      }
+    };
+  }
+
+  @Override
+  public <B> Seq<B> map(F1<? super A, ? extends B> fn) {
+    Object[] elements = toArray();
+    for(int i = 0; i < elements.length; i++)
+      elements[i] = fn.call(Seq.<A>unchecked(elements)[i]);
+    return fromArray(elements, elements.length);
+  }
+
+  @Override
+  public <B> Seq<B> bind(F1<? super A, ? extends Monad<μ, B>> fn) {
+    Tree t = Empty.INSTANCE;
+    for(A a : this) {
+      Seq<B> s = (Seq<B>)fn.call(a);
+      if(!s.isEmpty())
+        t = t == Empty.INSTANCE ? s.tree : concat(t, NONE, s.tree);
+    }
+    return seq(t);
+  }
+
+  @Override
+  public <B> Seq<B> apply(Applicative<μ, ? extends F1<? super A, ? extends B>> applicative) {
+    Seq<? extends F1<? super A, ? extends B>> fns = (Seq<? extends F1<? super A, ? extends B>>)applicative;
+    return fns.bind(f -> map(f));
+  }
+
+  @Override
+  public <B> Seq<B> semi(Monad<μ, B> mb) {
+    return bind(a -> mb);
+  }
+
+  @Override
+  public MonadFactory<μ> yield() {
+    return SeqMonadFactory.instance();
+  }
+
+  @Override
+  public ApplicativeFactory<μ> pure() {
+    return SeqMonadFactory.instance();
+  }
+
+  @Override
+  public <B, C> Seq<C> For(F1<? super A, ? extends Monad<μ, B>> fn,
+      F2<? super A, ? super B, ? extends Monad<μ, C>> fn2) {
+    return (Seq<C>)Monad.super.For(fn, fn2);
+  }
+
+  @Override
+  public <B, C, D> Seq<D> For(F1<? super A, ? extends Monad<μ, B>> fn,
+      F2<? super A, ? super B, ? extends Monad<μ, C>> fn2,
+      F3<? super A, ? super B, ? super C, ? extends Monad<μ, D>> fn3) {
+    return (Seq<D>)Monad.super.For(fn, fn2, fn3);
+  }
+
+  @Override
+  public <B, C, D, E> Seq<E> For(F1<? super A, ? extends Monad<μ, B>> fn,
+      F2<? super A, ? super B, ? extends Monad<μ, C>> fn2,
+      F3<? super A, ? super B, ? super C, ? extends Monad<μ, D>> fn3,
+      F4<? super A, ? super B, ? super C, ? super D, ? extends Monad<μ, E>> fn4) {
+    return (Seq<E>)Monad.super.For(fn, fn2, fn3, fn4);
+  }
+
+  @Override
+  public <N, F, B> Applicative<N, Seq<B>> mapA(F1<A, ? extends Applicative<N, B>> fn,
+      ApplicativeFactory<N> pure) {
+    F2<Seq<B>, B, Seq<B>> snoc = (seq, b) -> seq.snoc(b);
+    Applicative<N, Seq<B>> acc = pure.pure(empty());
+    for(A a : this)
+      acc = fn.call(a).apply(acc.map(snoc));
+    return acc;
+  }
+
+  @Override
+  public <B> B foldr(F2<B,? super A,B> fn, B b) {
+    Object[] elements = toArray();
+    B acc = b;
+    for(int i = elements.length - 1; i >= 0; i--)
+      acc = fn.call(acc, Seq.<A>unchecked(elements)[i]);
+    return acc;
+  }
+
+  @Override
+  public <B> B foldl(F2<B,? super A,B> fn, B b) {
+    B acc = b;
+    for(A a : this)
+      acc = fn.call(acc, a);
+    return acc;
+  }
+
+  @Override
+  public <B> Eval<B> foldRight(F2<? super A, Eval<B>, Eval<B>> fn, Eval<B> b) {
+    return foldRight(fn, b, 0);
+  }
+
+  private <B> Eval<B> foldRight(F2<? super A, Eval<B>, Eval<B>> fn, Eval<B> b, int i) {
+    return later(() -> i == size() ? b : fn.call(get(i), foldRight(fn, b, i + 1)))
+      .bind(e -> e);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    for(A a : this)
+      builder.append(a).append(" ");
+    builder.append("]");
+    return builder.toString();
+  }
+
+  /*
+   * The finger tree. Elements at the top level of the tree are the elements of the sequence, elements at the level
+   * below are nodes of two or three of them, and so on, so the type of an element depends on its depth and the tree
+   * is stored untyped. Nodes cache the number of sequence elements beneath them.
+   */
+
+  private static final Object[] NONE = new Object[0];
+
+  private static int size(Object o) {
+    return o instanceof Node ? ((Node)o).size : 1;
+  }
+
+  private static int size(Object[] digit) {
+    int size = 0;
+    for(Object o : digit)
+      size += size(o);
+    return size;
+  }
+
+  private static Object[] prepend(Object o, Object[] digit) {
+    Object[] d = new Object[digit.length + 1];
+    d[0] = o;
+    System.arraycopy(digit, 0, d, 1, digit.length);
+    return d;
+  }
+
+  private static Object[] append(Object[] digit, Object o) {
+    Object[] d = Arrays.copyOf(digit, digit.length + 1);
+    d[digit.length] = o;
+    return d;
+  }
+
+  private static Tree deep(Object[] prefix, Tree middle, Object[] suffix) {
+    return new Deep(size(prefix) + middle.size() + size(suffix), prefix, middle, suffix);
+  }
+
+  private static Tree fromDigit(Object[] digit) {
+    switch(digit.length) {
+      case 0:  return Empty.INSTANCE;
+      case 1:  return new Single(digit[0]);
+      default: {
+        int half = digit.length / 2;
+        return deep(Arrays.copyOfRange(digit, 0, half), Empty.INSTANCE, Arrays.copyOfRange(digit, half, digit.length));
+      }
+    }
+  }
+
+  private static Tree cons(Object o, Tree t) {
+    if(t instanceof Empty)
+      return new Single(o);
+    if(t instanceof Single)
+      return deep(new Object[]{o}, Empty.INSTANCE, new Object[]{((Single)t).item});
+    Deep d = (Deep)t;
+    if(d.prefix.length < 4)
+      return new Deep(d.size + size(o), prepend(o, d.prefix), d.middle, d.suffix);
+    Object[] p = d.prefix;
+    return new Deep(d.size + size(o), new Object[]{o, p[0]}, cons(new Node(p[1], p[2], p[3]), d.middle), d.suffix);
+  }
+
+  private static Tree snoc(Tree t, Object o) {
+    if(t instanceof Empty)
+      return new Single(o);
+    if(t instanceof Single)
+      return deep(new Object[]{((Single)t).item}, Empty.INSTANCE, new Object[]{o});
+    Deep d = (Deep)t;
+    if(d.suffix.length < 4)
+      return new Deep(d.size + size(o), d.prefix, d.middle, append(d.suffix, o));
+    Object[] s = d.suffix;
+    return new Deep(d.size + size(o), d.prefix, snoc(d.middle, new Node(s[0], s[1], s[2])), new Object[]{s[3], o});
+  }
+
+  private static Object head(Tree t) {
+    return t instanceof Single ? ((Single)t).item : ((Deep)t).prefix[0];
+  }
+
+  private static Object last(Tree t) {
+    if(t instanceof Single)
+      return ((Single)t).item;
+    Object[] s = ((Deep)t).suffix;
+    return s[s.length - 1];
+  }
+
+  private static Tree tail(Tree t) {
+    if(t instanceof Single)
+      return Empty.INSTANCE;
+    Deep d = (Deep)t;
+    return deepL(Arrays.copyOfRange(d.prefix, 1, d.prefix.length), d.middle, d.suffix);
+  }
+
+  private static Tree init(Tree t) {
+    if(t instanceof Single)
+      return Empty.INSTANCE;
+    Deep d = (Deep)t;
+    return deepR(d.prefix, d.middle, Arrays.copyOf(d.suffix, d.suffix.length - 1));
+  }
+
+  //Builds a tree from a prefix that may be empty, borrowing the first node of the middle tree to refill it.
+  private static Tree deepL(Object[] prefix, Tree middle, Object[] suffix) {
+    if(prefix.length > 0)
+      return deep(prefix, middle, suffix);
+    if(middle instanceof Empty)
+      return fromDigit(suffix);
+    return deep(((Node)head(middle)).items, tail(middle), suffix);
+  }
+
+  //Builds a tree from a suffix that may be empty, borrowing the last node of the middle tree to refill it.
+  private static Tree deepR(Object[] prefix, Tree middle, Object[] suffix) {
+    if(suffix.length > 0)
+      return deep(prefix, middle, suffix);
+    if(middle instanceof Empty)
+      return fromDigit(prefix);
+    return deep(prefix, init(middle), ((Node)last(middle)).items);
+  }
+
+  //Concatenates two trees with the given elements between them.
+  private static Tree concat(Tree t1, Object[] between, Tree t2) {
+    if(t1 instanceof Empty) {
+      Tree t = t2;
+      for(int i = between.length - 1; i >= 0; i--)
+        t = cons(between[i], t);
+      return t;
+    }
+    if(t2 instanceof Empty) {
+      Tree t = t1;
+      for(Object o : between)
+        t = snoc(t, o);
+      return t;
+    }
+    if(t1 instanceof Single)
+      return cons(((Single)t1).item, concat(Empty.INSTANCE, between, t2));
+    if(t2 instanceof Single)
+      return snoc(concat(t1, between, Empty.INSTANCE), ((Single)t2).item);
+    Deep d1 = (Deep)t1;
+    Deep d2 = (Deep)t2;
+    Object[] middle = new Object[d1.suffix.length + between.length + d2.prefix.length];
+    System.arraycopy(d1.suffix, 0, middle, 0, d1.suffix.length);
+    System.arraycopy(between, 0, middle, d1.suffix.length, between.length);
+    System.arraycopy(d2.prefix, 0, middle, d1.suffix.length + between.length, d2.prefix.length);
+    return new Deep(d1.size + size(between) + d2.size, d1.prefix, concat(d1.middle, nodes(middle), d2.middle)
+        , d2.suffix);
+  }
+
+  //Groups between two and twelve elements into nodes of two or three.
+  private static Object[] nodes(Object[] items) {
+    int n = items.length;
+    Object[] nodes = new Object[(n + 2) / 3];
+    int i = 0;
+    int j = 0;
+    while(n - i > 4 || n - i == 3) {
+      nodes[j++] = new Node(items[i], items[i + 1], items[i + 2]);
+      i += 3;
+    }
+    while(i < n) {
+      nodes[j++] = new Node(items[i], items[i + 1]);
+      i += 2;
+    }
+    return j == nodes.length ? nodes : Arrays.copyOf(nodes, j);
+  }
+
+  private static Object get(Object item, int i) {
+    return item instanceof Node ? get(((Node)item).items, i) : item;
+  }
+
+  private static Object get(Object[] items, int i) {
+    for(Object o : items) {
+      int s = size(o);
+      if(i < s)
+        return get(o, i);
+      i -= s;
+    }
+    throw new IndexOutOfBoundsException();
+  }
+
+  private static Tree update(Tree t, int i, Object o) {
+    if(t instanceof Single)
+      return new Single(update(((Single)t).item, i, o));
+    Deep d = (Deep)t;
+    int sp = size(d.prefix);
+    if(i < sp)
+      return new Deep(d.size, update(d.prefix, i, o), d.middle, d.suffix);
+    i -= sp;
+    if(i < d.middle.size())
+      return new Deep(d.size, d.prefix, update(d.middle, i, o), d.suffix);
+    return new Deep(d.size, d.prefix, d.middle, update(d.suffix, i - d.middle.size(), o));
+  }
+
+  private static Object update(Object item, int i, Object o) {
+    return item instanceof Node
+      ? new Node(((Node)item).size, update(((Node)item).items, i, o))
+      : o;
+  }
+
+  private static Object[] update(Object[] items, int i, Object o) {
+    Object[] copy = items.clone();
+    for(int k = 0; k < copy.length; k++) {
+      int s = size(copy[k]);
+      if(i < s) {
+        copy[k] = update(copy[k], i, o);
+        return copy;
+      }
+      i -= s;
+    }
+    throw new IndexOutOfBoundsException();
+  }
+
+  //The trees to the left and right of the element holding index i, and that element.
+  private static final class Split {
+
+    final Tree left;
+    final Object item;
+    final Tree right;
+
+    Split(Tree left, Object item, Tree right) {
+      this.left  = left;
+      this.item  = item;
+      this.right = right;
+    }
+  }
+
+  //The index of the element of the digit that holds index i.
+  private static int find(Object[] digit, int i) {
+    int k = 0;
+    for(; k < digit.length - 1; k++) {
+      int s = size(digit[k]);
+      if(i < s)
+        return k;
+      i -= s;
+    }
+    return k;
+  }
+
+  //Splits a non-empty tree around the element holding index i, which must be less than the size of the tree.
+  private static Split split(int i, Tree t) {
+    if(t instanceof Single)
+      return new Split(Empty.INSTANCE, ((Single)t).item, Empty.INSTANCE);
+    Deep d = (Deep)t;
+    int sp = size(d.prefix);
+    if(i < sp) {
+      int k = find(d.prefix, i);
+      return new Split(fromDigit(Arrays.copyOf(d.prefix, k)), d.prefix[k]
+          , deepL(Arrays.copyOfRange(d.prefix, k + 1, d.prefix.length), d.middle, d.suffix));
+    }
+    int sm = d.middle.size();
+    if(i < sp + sm) {
+      Split ms = split(i - sp, d.middle);
+      Node node = (Node)ms.item;
+      int j = i - sp - ms.left.size();
+      int k = find(node.items, j);
+      return new Split(deepR(d.prefix, ms.left, Arrays.copyOf(node.items, k)), node.items[k]
+          , deepL(Arrays.copyOfRange(node.items, k + 1, node.items.length), ms.right, d.suffix));
+    }
+    int k = find(d.suffix, i - sp - sm);
+    return new Split(deepR(d.prefix, d.middle, Arrays.copyOf(d.suffix, k)), d.suffix[k]
+        , fromDigit(Arrays.copyOfRange(d.suffix, k + 1, d.suffix.length)));
+  }
+
+  private static abstract class Tree {
+    abstract int size();
+  }
+
+  private static final class Empty extends Tree {
+
+    private static final Empty INSTANCE = new Empty();
+
+    @Override
+    int size() {
+      return 0;
+    }
+  }
+
+  private static final class Single extends Tree {
+
+    final Object item;
+
+    Single(Object item) {
+      this.item = item;
+    }
+
+    @Override
+    int size() {
+      return Seq.size(item);
+    }
+  }
+
+  private static final class Deep extends Tree {
+
+    final int size;
+    final Object[] prefix;
+    final Tree middle;
+    final Object[] suffix;
+
+    Deep(int size, Object[] prefix, Tree middle, Object[] suffix) {
+      this.size   = size;
+      this.prefix = prefix;
+      this.middle = middle;
+      this.suffix = suffix;
+    }
+
+    @Override
+    int size() {
+      return size;
+    }
+  }
+
+  private static final class Node {
+
+    final int size;
+    final Object[] items;
+
+    Node(Object a, Object b) {
+      this(size(a) + size(b), new Object[]{a, b});
+    }
+
+    Node(Object a, Object b, Object c) {
+      this(size(a) + size(b) + size(c), new Object[]{a, b, c});
+    }
+
+    Node(int size, Object[] items) {
+      this.size  = size;
+      this.items = items;
+    }
+  }
+}
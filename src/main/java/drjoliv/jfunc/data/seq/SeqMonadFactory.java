@@ -0,0 +1,24 @@
+package drjoliv.jfunc.data.seq;
+
+import drjoliv.jfunc.applicative.Applicative;
+import drjoliv.jfunc.data.seq.Seq.μ;
+import drjoliv.jfunc.monad.MonadFactory;
+
+public class SeqMonadFactory implements MonadFactory<Seq.μ> {
+
+  private static final SeqMonadFactory INSTANCE = new SeqMonadFactory();
+
+  public static SeqMonadFactory instance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public <A> Seq<A> unit(A a) {
+    return Seq.<A>empty().cons(a);
+  }
+
+  @Override
+  public <A> Applicative<μ, A> pure(A a) {
+    return Seq.<A>empty().cons(a);
+  }
+}
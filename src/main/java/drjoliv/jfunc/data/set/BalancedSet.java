@@ -0,0 +1,816 @@
+package drjoliv.jfunc.data.set;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.eq.Ord;
+import drjoliv.jfunc.eq.Ordering;
+import drjoliv.jfunc.foldable.Foldable;
+import drjoliv.jfunc.hlist.T2;
+
+/**
+ * A persistent set ordered by an {@code Ord}, stored as a weight-balanced binary tree. Each node records the size of
+ * the tree rooted at it and the sizes of the two subtrees of a node are kept within a constant factor of each other,
+ * so the height of the tree is O(log n) whatever order elements are inserted in. {@code insert}, {@code remove} and
+ * {@code member} run in O(log n) and {@code size} in O(1).
+ * <pre>
+ * {@code
+ * BalancedSet<Integer> set = BalancedSet.fromFoldable(Integers.range(1, 1000), Ord.orderable());
+ * set.remove(500).member(500) == false
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class BalancedSet<E> implements Set<E> {
+
+  //A subtree may be at most DELTA times the size of its sibling, RATIO decides between a single and a double rotation.
+  private static final int DELTA = 3;
+  private static final int RATIO = 2;
+
+  private final Ord<E> order;
+  private final Node<E> root;
+
+  private BalancedSet(Ord<E> order, Node<E> root) {
+    this.order = order;
+    this.root  = root;
+  }
+
+  /**
+   * Creates an empty set ordered by the given ord.
+   * @param order the order of the set.
+   * @return an empty set.
+   */
+  public static <E> BalancedSet<E> empty(Ord<E> order) {
+    return new BalancedSet<E>(order, null);
+  }
+
+  /**
+   * Creates a set containing the elements of the given foldable.
+   * @param foldable the elements of the set.
+   * @param order the order of the set.
+   * @return a set.
+   */
+  public static <M,E> BalancedSet<E> fromFoldable(Foldable<M,E> foldable, Ord<E> order) {
+    return foldable.foldl(BalancedSet::insert, empty(order));
+  }
+
+  /**
+   * Creates a set from an array whose elements are in strictly ascending order, the tree is built in O(n) without
+   * comparing any elements. The array is not checked, an array that is out of order or has duplicates gives a set
+   * whose operations return wrong answers.
+   * @param elements elements in strictly ascending order.
+   * @param order the order of the set.
+   * @return a set.
+   */
+  public static <E> BalancedSet<E> fromSortedArray(E[] elements, Ord<E> order) {
+    return new BalancedSet<E>(order, build(elements, 0, elements.length));
+  }
+
+  /**
+   * Creates a set from a finite list whose elements are in strictly ascending order, the tree is built in O(n)
+   * without comparing any elements.
+   * @param list elements in strictly ascending order.
+   * @param order the order of the set.
+   * @return a set.
+   * @see #fromSortedArray(Object[], Ord)
+   */
+  public static <E> BalancedSet<E> fromSortedFList(FList<E> list, Ord<E> order) {
+    Object[] elements = list.toArray();
+    return new BalancedSet<E>(order, build(elements, 0, elements.length));
+  }
+
+  /**
+   * Creates a set containing the elements of the given foldable by sorting them and building the tree in O(n), which
+   * is faster than inserting the elements one at a time.
+   * @param foldable the elements of the set.
+   * @param order the order of the set.
+   * @return a set.
+   */
+  public static <M,E> BalancedSet<E> ofAll(Foldable<M,E> foldable, Ord<E> order) {
+    return ofAll(foldable, order, false);
+  }
+
+  /**
+   * Creates a set containing the elements of the given foldable by sorting them and building the tree in O(n).
+   * @param foldable the elements of the set.
+   * @param order the order of the set.
+   * @param parallel if true the elements are sorted with {@link Arrays#parallelSort(Object[], Comparator)}.
+   * @return a set.
+   */
+  public static <M,E> BalancedSet<E> ofAll(Foldable<M,E> foldable, Ord<E> order, boolean parallel) {
+    Object[] elements = sortedDistinct(foldable, order, parallel);
+    return new BalancedSet<E>(order, build(elements, 0, elements.length));
+  }
+
+  /**
+   * Collects the elements of a foldable into an array sorted by the order with duplicates removed.
+   */
+  static <M,E> Object[] sortedDistinct(Foldable<M,E> foldable, Ord<E> order, boolean parallel) {
+    Object[] elements = foldable.foldl((list, e) -> {
+      list.add(e);
+      return list;
+    }, new ArrayList<E>()).toArray();
+    @SuppressWarnings("unchecked")
+    Comparator<Object> comparator = (e1, e2) -> {
+      Ordering o = order.compare((E)e1, (E)e2);
+      return o == Ordering.LT ? -1 : o == Ordering.GT ? 1 : 0;
+    };
+    if(parallel)
+      Arrays.parallelSort(elements, comparator);
+    else
+      Arrays.sort(elements, comparator);
+    int n = elements.length == 0 ? 0 : 1;
+    for(int i = 1; i < elements.length; i++)
+      if(comparator.compare(elements[n - 1], elements[i]) != 0)
+        elements[n++] = elements[i];
+    return n == elements.length ? elements : Arrays.copyOf(elements, n);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> Node<E> build(Object[] elements, int from, int to) {
+    if(from == to)
+      return null;
+    int mid = (from + to) >>> 1;
+    return new Node<E>((E)elements[mid], build(elements, from, mid), build(elements, mid + 1, to), to - from);
+  }
+
+  private BalancedSet<E> withRoot(Node<E> node) {
+    return node == root ? this : new BalancedSet<E>(order, node);
+  }
+
+  @Override
+  public BalancedSet<E> insert(E e) {
+    return withRoot(insert(root, e));
+  }
+
+  @Override
+  public BalancedSet<E> remove(E e) {
+    return withRoot(remove(root, e));
+  }
+
+  @Override
+  public boolean member(E e) {
+    Node<E> node = root;
+    while(node != null) {
+      Ordering o = order.compare(e, node.value);
+      if(o == Ordering.LT)
+        node = node.left;
+      else if(o == Ordering.GT)
+        node = node.right;
+      else
+        return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  @Override
+  public int size() {
+    return size(root);
+  }
+
+  /**
+   * Returns the number of elements of this set that are less than the given element, in O(log n).
+   * @param e an element.
+   * @return the number of elements less than {@code e}.
+   */
+  public int rank(E e) {
+    return rank(e, false);
+  }
+
+  private int rank(E e, boolean inclusive) {
+    int rank = 0;
+    Node<E> node = root;
+    while(node != null) {
+      Ordering o = order.compare(e, node.value);
+      if(o == Ordering.LT) {
+        node = node.left;
+      } else if(o == Ordering.GT) {
+        rank += size(node.left) + 1;
+        node = node.right;
+      } else {
+        return rank + size(node.left) + (inclusive ? 1 : 0);
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Returns the element of this set with the given rank in O(log n), the smallest element has rank zero.
+   * @param k the rank of an element.
+   * @return the element with rank {@code k}.
+   * @throws IndexOutOfBoundsException if {@code k} is negative or not less than the size of this set.
+   */
+  public E select(int k) {
+    if(k < 0 || k >= size())
+      throw new IndexOutOfBoundsException("rank: " + k + ", size: " + size());
+    Node<E> node = root;
+    while(true) {
+      int l = size(node.left);
+      if(k < l) {
+        node = node.left;
+      } else if(k > l) {
+        k -= l + 1;
+        node = node.right;
+      } else {
+        return node.value;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of elements of this set that are between {@code lo} and {@code hi} inclusive, in O(log n).
+   * @param lo the lower bound.
+   * @param hi the upper bound.
+   * @return the number of elements between {@code lo} and {@code hi}.
+   */
+  public int rangeCount(E lo, E hi) {
+    return Math.max(0, rank(hi, true) - rank(lo, false));
+  }
+
+  /**
+   * Returns the greatest element of this set that is less than or equal to the given element.
+   * @param e an element.
+   * @return the greatest element less than or equal to {@code e}, or nothing if there is none.
+   */
+  public Maybe<E> floor(E e) {
+    return closest(e, Ordering.GT);
+  }
+
+  /**
+   * Returns the least element of this set that is greater than or equal to the given element.
+   * @param e an element.
+   * @return the least element greater than or equal to {@code e}, or nothing if there is none.
+   */
+  public Maybe<E> ceiling(E e) {
+    return closest(e, Ordering.LT);
+  }
+
+  private Maybe<E> closest(E e, Ordering side) {
+    Node<E> found = null;
+    Node<E> node = root;
+    while(node != null) {
+      Ordering o = order.compare(e, node.value);
+      if(o == Ordering.EQ)
+        return Maybe.maybe$(Eval.now(node.value));
+      if(o == side)
+        found = node;
+      node = o == Ordering.LT ? node.left : node.right;
+    }
+    return found == null ? Maybe.nothing() : Maybe.maybe$(Eval.now(found.value));
+  }
+
+  /**
+   * Returns an iterator over the elements of this set between {@code lo} and {@code hi} inclusive in ascending order,
+   * the first element is found in O(log n) and each later one in amortized O(1).
+   * @param lo the lower bound.
+   * @param hi the upper bound.
+   * @return an iterator over the elements between {@code lo} and {@code hi}.
+   */
+  public Iterator<E> range(E lo, E hi) {
+    TreeIterator<E> it = new TreeIterator<E>(false) {
+      @Override
+      public boolean hasNext() {
+        return super.hasNext() && !order.gt(peek().value, hi);
+      }
+    };
+    Node<E> node = root;
+    while(node != null) {
+      if(order.lt(node.value, lo)) {
+        node = node.right;
+      } else {
+        it.push(node);
+        node = node.left;
+      }
+    }
+    return it;
+  }
+
+  /**
+   * Returns the elements of this set in ascending order.
+   * @return the elements of this set in ascending order.
+   */
+  public FList<E> toList() {
+    return ascendingList();
+  }
+
+  /**
+   * Returns the elements of this set in ascending order, the list is filled by a single in-order walk of the tree.
+   * @return the elements of this set in ascending order.
+   */
+  @SuppressWarnings("unchecked")
+  public FList<E> ascendingList() {
+    return FList.fromArray((E[])toArray(iterator()));
+  }
+
+  /**
+   * Returns the elements of this set in descending order, the list is filled by a single reverse-order walk of the
+   * tree.
+   * @return the elements of this set in descending order.
+   */
+  @SuppressWarnings("unchecked")
+  public FList<E> descendingList() {
+    return FList.fromArray((E[])toArray(descendingIterator()));
+  }
+
+  private Object[] toArray(Iterator<E> it) {
+    Object[] elements = new Object[size()];
+    for(int i = 0; i < elements.length; i++)
+      elements[i] = it.next();
+    return elements;
+  }
+
+  /**
+   * Returns an iterator over the elements of this set in ascending order, the iterator keeps the path to its next
+   * element on an array and allocates O(log n) memory in total.
+   * @return an iterator over the elements of this set in ascending order.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    TreeIterator<E> it = new TreeIterator<E>(false);
+    it.descend(root);
+    return it;
+  }
+
+  /**
+   * Returns an iterator over the elements of this set in descending order.
+   * @return an iterator over the elements of this set in descending order.
+   * @see #iterator()
+   */
+  public Iterator<E> descendingIterator() {
+    TreeIterator<E> it = new TreeIterator<E>(true);
+    it.descend(root);
+    return it;
+  }
+
+  //Walks the tree in order, the path to the next node is kept on an array that grows with the height of the tree.
+  private static class TreeIterator<E> implements Iterator<E> {
+
+    private Object[] stack = new Object[16];
+    private int top;
+    private final boolean reverse;
+
+    private TreeIterator(boolean reverse) {
+      this.reverse = reverse;
+    }
+
+    final void push(Node<E> node) {
+      if(top == stack.length)
+        stack = Arrays.copyOf(stack, top << 1);
+      stack[top++] = node;
+    }
+
+    final void descend(Node<E> node) {
+      for(; node != null; node = reverse ? node.right : node.left)
+        push(node);
+    }
+
+    @SuppressWarnings("unchecked")
+    final Node<E> peek() {
+      return (Node<E>)stack[top - 1];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return top > 0;
+    }
+
+    @Override
+    public E next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      Node<E> node = peek();
+      stack[--top] = null;
+      descend(reverse ? node.left : node.right);
+      return node.value;
+    }
+  }
+
+  /**
+   * The default combined size of two subtrees past which the parallel set operations fork work.
+   */
+  public static final int PAR_THRESHOLD = 1 << 12;
+
+  private static final int UNION        = 0;
+  private static final int INTERSECTION = 1;
+  private static final int DIFFERENCE   = 2;
+
+  /**
+   * Returns a set containing the elements of this set and the elements of the given set. When the given set is a
+   * balanced set it is assumed to share the order of this set, the sets are then combined by splitting and joining trees
+   * in O(m log(n/m + 1)) for sets of sizes m and n, where m is not greater than n.
+   * @param other a set.
+   * @return the union of this set and the given set.
+   */
+  @Override
+  public BalancedSet<E> union(Set<E> other) {
+    return combine(UNION, other, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are also elements of the given set.
+   * @param other a set.
+   * @return the intersection of this set and the given set.
+   * @see #union(Set)
+   */
+  @Override
+  public BalancedSet<E> intersection(Set<E> other) {
+    return combine(INTERSECTION, other, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are not elements of the given set.
+   * @param other a set.
+   * @return the difference of this set and the given set.
+   * @see #union(Set)
+   */
+  @Override
+  public BalancedSet<E> difference(Set<E> other) {
+    return combine(DIFFERENCE, other, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the union of this set and the given set, the two halves of each split are combined concurrently on the
+   * common fork-join pool.
+   * @param other a set.
+   * @return the union of this set and the given set.
+   */
+  public BalancedSet<E> parUnion(Set<E> other) {
+    return parUnion(other, PAR_THRESHOLD);
+  }
+
+  /**
+   * Returns the union of this set and the given set, the two halves of a split are combined concurrently while they
+   * hold more than {@code threshold} elements between them.
+   * @param other a set.
+   * @param threshold the combined size at or below which halves are combined sequentially.
+   * @return the union of this set and the given set.
+   */
+  public BalancedSet<E> parUnion(Set<E> other, int threshold) {
+    return combine(UNION, other, checked(threshold));
+  }
+
+  /**
+   * Returns the intersection of this set and the given set, combining the halves of each split concurrently.
+   * @param other a set.
+   * @return the intersection of this set and the given set.
+   */
+  public BalancedSet<E> parIntersection(Set<E> other) {
+    return parIntersection(other, PAR_THRESHOLD);
+  }
+
+  /**
+   * Returns the intersection of this set and the given set, combining the halves of a split concurrently while they
+   * hold more than {@code threshold} elements between them.
+   * @param other a set.
+   * @param threshold the combined size at or below which halves are combined sequentially.
+   * @return the intersection of this set and the given set.
+   */
+  public BalancedSet<E> parIntersection(Set<E> other, int threshold) {
+    return combine(INTERSECTION, other, checked(threshold));
+  }
+
+  /**
+   * Returns the difference of this set and the given set, combining the halves of each split concurrently.
+   * @param other a set.
+   * @return the difference of this set and the given set.
+   */
+  public BalancedSet<E> parDifference(Set<E> other) {
+    return parDifference(other, PAR_THRESHOLD);
+  }
+
+  /**
+   * Returns the difference of this set and the given set, combining the halves of a split concurrently while they
+   * hold more than {@code threshold} elements between them.
+   * @param other a set.
+   * @param threshold the combined size at or below which halves are combined sequentially.
+   * @return the difference of this set and the given set.
+   */
+  public BalancedSet<E> parDifference(Set<E> other, int threshold) {
+    return combine(DIFFERENCE, other, checked(threshold));
+  }
+
+  private static int checked(int threshold) {
+    if(threshold < 1)
+      throw new IllegalArgumentException("threshold must be greater than zero");
+    return threshold;
+  }
+
+  private BalancedSet<E> combine(int op, Set<E> other, int threshold) {
+    Node<E> that = other instanceof BalancedSet
+      ? ((BalancedSet<E>)other).root
+      : ofIterable(other).root;
+    if(threshold == Integer.MAX_VALUE || size(root) + size(that) <= threshold)
+      return withRoot(combine(op, root, that, order, Integer.MAX_VALUE));
+    return withRoot(ForkJoinPool.commonPool().invoke(new CombineTask<E>(op, root, that, order, threshold)));
+  }
+
+  private BalancedSet<E> ofIterable(Iterable<E> elements) {
+    BalancedSet<E> set = empty(order);
+    for(E e : elements)
+      set = set.insert(e);
+    return set;
+  }
+
+  /**
+   * Splits this set into the elements less than the given element and the elements greater than it.
+   * @param e an element.
+   * @return a tuple of the elements less than {@code e} and the elements greater than {@code e}.
+   */
+  public T2<BalancedSet<E>, BalancedSet<E>> split(E e) {
+    Split<E> s = split(e, root, order);
+    return T2.t2(new BalancedSet<E>(order, s.left), new BalancedSet<E>(order, s.right));
+  }
+
+  /**
+   * Joins two sets and an element that is greater than every element of the left set and less than every element of
+   * the right set, in O(log n).
+   * @param left a set whose elements are less than {@code e}.
+   * @param e an element.
+   * @param right a set whose elements are greater than {@code e}.
+   * @return a set containing the elements of both sets and the given element.
+   * @throws IllegalArgumentException if the elements are not in order.
+   */
+  public static <E> BalancedSet<E> join(BalancedSet<E> left, E e, BalancedSet<E> right) {
+    Ord<E> order = left.order;
+    if((left.root != null && !order.lt(max(left.root), e)) || (right.root != null && !order.lt(e, min(right.root))))
+      throw new IllegalArgumentException("The elements of the left set must be less than the element, and the element less than the elements of the right set.");
+    return new BalancedSet<E>(order, link(e, left.root, right.root));
+  }
+
+  /**
+   * Joins two sets where every element of the left set is less than every element of the right set, in O(log n).
+   * @param left a set.
+   * @param right a set whose elements are greater than the elements of {@code left}.
+   * @return a set containing the elements of both sets.
+   * @throws IllegalArgumentException if the elements are not in order.
+   */
+  public static <E> BalancedSet<E> join(BalancedSet<E> left, BalancedSet<E> right) {
+    Ord<E> order = left.order;
+    if(left.root != null && right.root != null && !order.lt(max(left.root), min(right.root)))
+      throw new IllegalArgumentException("The elements of the left set must be less than the elements of the right set.");
+    return new BalancedSet<E>(order, merge(left.root, right.root));
+  }
+
+  private static <E> Node<E> combine(int op, Node<E> t1, Node<E> t2, Ord<E> order, int threshold) {
+    if(t1 == null)
+      return op == UNION ? t2 : null;
+    if(t2 == null)
+      return op == INTERSECTION ? null : t1;
+    Node<E> a1, a2, b1, b2;
+    E pivot;
+    boolean found;
+    if(op == DIFFERENCE) {
+      Split<E> s = split(t2.value, t1, order);
+      a1 = s.left;  a2 = t2.left;
+      b1 = s.right; b2 = t2.right;
+      pivot = t2.value;
+      found = false;
+    } else {
+      Split<E> s = split(t1.value, t2, order);
+      a1 = t1.left;  a2 = s.left;
+      b1 = t1.right; b2 = s.right;
+      pivot = t1.value;
+      found = op == UNION || s.found;
+    }
+    Node<E> l;
+    Node<E> r;
+    if(size(a1) + size(a2) + size(b1) + size(b2) > threshold) {
+      CombineTask<E> left = new CombineTask<E>(op, a1, a2, order, threshold);
+      left.fork();
+      r = combine(op, b1, b2, order, threshold);
+      l = left.join();
+    } else {
+      l = combine(op, a1, a2, order, threshold);
+      r = combine(op, b1, b2, order, threshold);
+    }
+    if(!found)
+      return merge(l, r);
+    if(op != DIFFERENCE && l == t1.left && r == t1.right)
+      return t1;
+    return link(pivot, l, r);
+  }
+
+  private static final class CombineTask<E> extends RecursiveTask<Node<E>> {
+
+    private final int op;
+    private final Node<E> t1;
+    private final Node<E> t2;
+    private final Ord<E> order;
+    private final int threshold;
+
+    private CombineTask(int op, Node<E> t1, Node<E> t2, Ord<E> order, int threshold) {
+      this.op        = op;
+      this.t1        = t1;
+      this.t2        = t2;
+      this.order     = order;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected Node<E> compute() {
+      return combine(op, t1, t2, order, threshold);
+    }
+  }
+
+  private static final class Split<E> {
+
+    private final Node<E> left;
+    private final boolean found;
+    private final Node<E> right;
+
+    private Split(Node<E> left, boolean found, Node<E> right) {
+      this.left  = left;
+      this.found = found;
+      this.right = right;
+    }
+  }
+
+  private static <E> Split<E> split(E e, Node<E> node, Ord<E> order) {
+    if(node == null)
+      return new Split<E>(null, false, null);
+    Ordering o = order.compare(e, node.value);
+    if(o == Ordering.LT) {
+      Split<E> s = split(e, node.left, order);
+      return new Split<E>(s.left, s.found, link(node.value, s.right, node.right));
+    } else if(o == Ordering.GT) {
+      Split<E> s = split(e, node.right, order);
+      return new Split<E>(link(node.value, node.left, s.left), s.found, s.right);
+    } else {
+      return new Split<E>(node.left, true, node.right);
+    }
+  }
+
+  //Joins two trees of any size and an element between them, walking down the spine of the larger tree until the sizes balance.
+  static <E> Node<E> link(E e, Node<E> l, Node<E> r) {
+    if(l == null)
+      return insertMin(e, r);
+    if(r == null)
+      return insertMax(e, l);
+    if(DELTA * l.size < r.size)
+      return balance(r.value, link(e, l, r.left), r.right);
+    if(DELTA * r.size < l.size)
+      return balance(l.value, l.left, link(e, l.right, r));
+    return node(e, l, r);
+  }
+
+  //Joins two trees of any size where every element of the left tree is less than every element of the right tree.
+  static <E> Node<E> merge(Node<E> l, Node<E> r) {
+    if(l == null)
+      return r;
+    if(r == null)
+      return l;
+    if(DELTA * l.size < r.size)
+      return balance(r.value, merge(l, r.left), r.right);
+    if(DELTA * r.size < l.size)
+      return balance(l.value, l.left, merge(l.right, r));
+    return glue(l, r);
+  }
+
+  private static <E> Node<E> insertMin(E e, Node<E> node) {
+    if(node == null)
+      return new Node<E>(e, null, null, 1);
+    return balance(node.value, insertMin(e, node.left), node.right);
+  }
+
+  private static <E> Node<E> insertMax(E e, Node<E> node) {
+    if(node == null)
+      return new Node<E>(e, null, null, 1);
+    return balance(node.value, node.left, insertMax(e, node.right));
+  }
+
+  private Node<E> insert(Node<E> node, E e) {
+    if(node == null)
+      return new Node<E>(e, null, null, 1);
+    Ordering o = order.compare(e, node.value);
+    if(o == Ordering.LT) {
+      Node<E> l = insert(node.left, e);
+      return l == node.left ? node : balance(node.value, l, node.right);
+    } else if(o == Ordering.GT) {
+      Node<E> r = insert(node.right, e);
+      return r == node.right ? node : balance(node.value, node.left, r);
+    } else {
+      return node;
+    }
+  }
+
+  private Node<E> remove(Node<E> node, E e) {
+    if(node == null)
+      return null;
+    Ordering o = order.compare(e, node.value);
+    if(o == Ordering.LT) {
+      Node<E> l = remove(node.left, e);
+      return l == node.left ? node : balance(node.value, l, node.right);
+    } else if(o == Ordering.GT) {
+      Node<E> r = remove(node.right, e);
+      return r == node.right ? node : balance(node.value, node.left, r);
+    } else {
+      return glue(node.left, node.right);
+    }
+  }
+
+  //Joins two balanced trees whose elements are ordered with respect to each other and whose sizes are balanced.
+  private static <E> Node<E> glue(Node<E> l, Node<E> r) {
+    if(l == null)
+      return r;
+    if(r == null)
+      return l;
+    if(l.size > r.size) {
+      E max = max(l);
+      return balance(max, removeMax(l), r);
+    } else {
+      E min = min(r);
+      return balance(min, l, removeMin(r));
+    }
+  }
+
+  private static <E> E min(Node<E> node) {
+    while(node.left != null)
+      node = node.left;
+    return node.value;
+  }
+
+  private static <E> E max(Node<E> node) {
+    while(node.right != null)
+      node = node.right;
+    return node.value;
+  }
+
+  private static <E> Node<E> removeMin(Node<E> node) {
+    if(node.left == null)
+      return node.right;
+    return balance(node.value, removeMin(node.left), node.right);
+  }
+
+  private static <E> Node<E> removeMax(Node<E> node) {
+    if(node.right == null)
+      return node.left;
+    return balance(node.value, node.left, removeMax(node.right));
+  }
+
+  static int size(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  static <E> Node<E> node(E e, Node<E> l, Node<E> r) {
+    return new Node<E>(e, l, r, size(l) + size(r) + 1);
+  }
+
+  //Restores balance at a node after one of its subtrees has grown or shrunk by one element.
+  static <E> Node<E> balance(E e, Node<E> l, Node<E> r) {
+    int sl = size(l);
+    int sr = size(r);
+    if(sl + sr <= 1)
+      return new Node<E>(e, l, r, sl + sr + 1);
+    if(sr > DELTA * sl)
+      return size(r.left) < RATIO * size(r.right) ? singleL(e, l, r) : doubleL(e, l, r);
+    if(sl > DELTA * sr)
+      return size(l.right) < RATIO * size(l.left) ? singleR(e, l, r) : doubleR(e, l, r);
+    return new Node<E>(e, l, r, sl + sr + 1);
+  }
+
+  private static <E> Node<E> singleL(E e, Node<E> l, Node<E> r) {
+    return node(r.value, node(e, l, r.left), r.right);
+  }
+
+  private static <E> Node<E> doubleL(E e, Node<E> l, Node<E> r) {
+    Node<E> rl = r.left;
+    return node(rl.value, node(e, l, rl.left), node(r.value, rl.right, r.right));
+  }
+
+  private static <E> Node<E> singleR(E e, Node<E> l, Node<E> r) {
+    return node(l.value, l.left, node(e, l.right, r));
+  }
+
+  private static <E> Node<E> doubleR(E e, Node<E> l, Node<E> r) {
+    Node<E> lr = l.right;
+    return node(lr.value, node(l.value, l.left, lr.left), node(e, lr.right, r));
+  }
+
+  static final class Node<E> {
+
+    final E value;
+    final Node<E> left;
+    final Node<E> right;
+    final int size;
+
+    Node(E value, Node<E> left, Node<E> right, int size) {
+      this.value = value;
+      this.left  = left;
+      this.right = right;
+      this.size  = size;
+    }
+  }
+}
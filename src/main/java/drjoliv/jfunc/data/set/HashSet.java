@@ -0,0 +1,183 @@
+package drjoliv.jfunc.data.set;
+
+import java.util.Iterator;
+
+import drjoliv.jfunc.data.Unit;
+import drjoliv.jfunc.data.map.HashMap;
+import drjoliv.jfunc.foldable.Foldable;
+
+/**
+ * A persistent set stored as a hash array mapped trie, elements are compared with {@code equals} and {@code hashCode}
+ * so no {@code Ord} is needed. {@code insert}, {@code remove} and {@code member} take at most seven steps through the
+ * trie and {@code size} is O(1). Elements may not be null.
+ * @see HashMap
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class HashSet<E> implements Set<E> {
+
+  private static final HashSet<?> EMPTY = new HashSet<>(HashMap.empty());
+
+  private final HashMap<E,Unit> map;
+
+  private HashSet(HashMap<E,Unit> map) {
+    this.map = map;
+  }
+
+  /**
+   * Returns an empty set.
+   * @return an empty set.
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> HashSet<E> empty() {
+    return (HashSet<E>)EMPTY;
+  }
+
+  /**
+   * Returns a builder whose elements start empty.
+   * @return a builder.
+   */
+  public static <E> Builder<E> builder() {
+    return new Builder<E>(HashMap.builder());
+  }
+
+  /**
+   * Creates a set containing the elements of the given foldable.
+   * @param foldable the elements of the set.
+   * @return a set.
+   */
+  public static <M,E> HashSet<E> fromFoldable(Foldable<M,E> foldable) {
+    return foldable.foldl(Builder::insert, HashSet.<E>builder()).build();
+  }
+
+  /**
+   * Returns a builder whose elements start as the elements of this set, this set is not changed by the builder.
+   * @return a builder.
+   */
+  public Builder<E> toBuilder() {
+    return new Builder<E>(map.toBuilder());
+  }
+
+  private HashSet<E> withMap(HashMap<E,Unit> m) {
+    if(m == map)
+      return this;
+    return m.isEmpty() ? empty() : new HashSet<E>(m);
+  }
+
+  @Override
+  public HashSet<E> insert(E e) {
+    return withMap(map.put(e, Unit.unit));
+  }
+
+  @Override
+  public HashSet<E> remove(E e) {
+    return withMap(map.remove(e));
+  }
+
+  @Override
+  public boolean member(E e) {
+    return map.containsKey(e);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return map.keyIterator();
+  }
+
+  @Override
+  public HashSet<E> union(Set<E> other) {
+    if(other.size() > size() && other instanceof HashSet)
+      return ((HashSet<E>)other).union(this);
+    Builder<E> builder = toBuilder();
+    for(E e : other)
+      builder.insert(e);
+    return builder.build();
+  }
+
+  @Override
+  public HashSet<E> intersection(Set<E> other) {
+    Builder<E> builder = builder();
+    Set<E> small = other.size() < size() ? other : this;
+    Set<E> large = small == this ? other : this;
+    for(E e : small)
+      if(large.member(e))
+        builder.insert(e);
+    return builder.size() == size() ? this : builder.build();
+  }
+
+  @Override
+  public HashSet<E> difference(Set<E> other) {
+    Builder<E> builder = toBuilder();
+    for(E e : other)
+      builder.remove(e);
+    return builder.size() == size() ? this : builder.build();
+  }
+
+  /**
+   * Collects elements into a set, changing the trie in place until {@link #build()} is called.
+   * @see HashMap.Builder
+   */
+  public static final class Builder<E> {
+
+    private final HashMap.Builder<E,Unit> map;
+
+    private Builder(HashMap.Builder<E,Unit> map) {
+      this.map = map;
+    }
+
+    /**
+     * Adds an element.
+     * @param e an element.
+     * @return this builder.
+     */
+    public Builder<E> insert(E e) {
+      map.put(e, Unit.unit);
+      return this;
+    }
+
+    /**
+     * Removes an element.
+     * @param e an element.
+     * @return this builder.
+     */
+    public Builder<E> remove(E e) {
+      map.remove(e);
+      return this;
+    }
+
+    /**
+     * Returns true if the element has been added to this builder, or false otherwise.
+     * @param e an element.
+     * @return true if the element has been added to this builder, or false otherwise.
+     */
+    public boolean member(E e) {
+      return map.containsKey(e);
+    }
+
+    /**
+     * Returns the number of elements within this builder.
+     * @return the number of elements within this builder.
+     */
+    public int size() {
+      return map.size();
+    }
+
+    /**
+     * Returns a set of the elements within this builder.
+     * @return a set.
+     */
+    public HashSet<E> build() {
+      HashMap<E,Unit> m = map.build();
+      return m.isEmpty() ? HashSet.<E>empty() : new HashSet<E>(m);
+    }
+  }
+}
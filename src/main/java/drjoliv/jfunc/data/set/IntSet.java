@@ -0,0 +1,449 @@
+package drjoliv.jfunc.data.set;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+import drjoliv.jfunc.data.list.IntFList;
+
+/**
+ * A persistent set of unboxed {@code int} values stored as a big-endian Patricia trie. Each branch of the trie splits
+ * its elements on a single bit, so {@code insert}, {@code remove} and {@code member} follow at most 32 branches without
+ * comparing or boxing elements, and {@code union}, {@code intersection} and {@code difference} of two int sets merge
+ * whole subtrees whose prefixes do not overlap. The elements are iterated in ascending order and {@code size} is O(1).
+ * <pre>
+ * {@code
+ * IntSet set = IntSet.fromIntFList(IntFList.range(1, 1000).map(i -> i % 100));
+ * set.size() == 100
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class IntSet implements Set<Integer> {
+
+  private static final IntSet EMPTY = new IntSet(null);
+
+  //Keys are stored with the sign bit flipped, so unsigned order of the stored keys is the signed order of the elements.
+  private static final int FLIP = Integer.MIN_VALUE;
+
+  private final Node root;
+
+  private IntSet(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns an empty set.
+   * @return an empty set.
+   */
+  public static IntSet empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a set containing the given elements.
+   * @param elements the elements of the set.
+   * @return a set.
+   */
+  public static IntSet of(int... elements) {
+    return build(elements.clone());
+  }
+
+  /**
+   * Creates a set containing the elements of the given finite list.
+   * @param list the elements of the set.
+   * @return a set.
+   */
+  public static IntSet fromIntFList(IntFList list) {
+    return build(list.toArray());
+  }
+
+  //Sorts the keys and builds the trie bottom up, each branch splits a run of sorted keys at its highest differing bit.
+  private static IntSet build(int[] elements) {
+    Arrays.parallelSort(elements);
+    int n = elements.length == 0 ? 0 : 1;
+    for(int i = 1; i < elements.length; i++)
+      if(elements[i] != elements[n - 1])
+        elements[n++] = elements[i];
+    for(int i = 0; i < n; i++)
+      elements[i] ^= FLIP;
+    return withRoot(build(elements, 0, n));
+  }
+
+  private static Node build(int[] keys, int from, int to) {
+    if(from == to)
+      return null;
+    if(to - from == 1)
+      return new Tip(keys[from]);
+    int m = Integer.highestOneBit(keys[from] ^ keys[to - 1]);
+    int lo = from;
+    int hi = to - 1;
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(zero(keys[mid], m))
+        lo = mid + 1;
+      else
+        hi = mid;
+    }
+    return new Bin(prefix(keys[from], m), m, build(keys, from, lo), build(keys, lo, to));
+  }
+
+  private static IntSet withRoot(Node root) {
+    return root == null ? EMPTY : new IntSet(root);
+  }
+
+  private IntSet with(Node node) {
+    return node == root ? this : withRoot(node);
+  }
+
+  /**
+   * Returns a set containing the elements of this set and the given element.
+   * @param i an element.
+   * @return a set containing the given element.
+   */
+  public IntSet insert(int i) {
+    return with(insert(i ^ FLIP, root));
+  }
+
+  /**
+   * Returns a set containing the elements of this set except the given element.
+   * @param i an element.
+   * @return a set that does not contain the given element.
+   */
+  public IntSet remove(int i) {
+    return with(remove(i ^ FLIP, root));
+  }
+
+  /**
+   * Returns true if the given element is a member of this set, or false otherwise.
+   * @param i an element.
+   * @return true if the given element is a member of this set, or false otherwise.
+   */
+  public boolean member(int i) {
+    return member(i ^ FLIP, root);
+  }
+
+  @Override
+  public IntSet insert(Integer i) {
+    return insert(i.intValue());
+  }
+
+  @Override
+  public IntSet remove(Integer i) {
+    return remove(i.intValue());
+  }
+
+  @Override
+  public boolean member(Integer i) {
+    return member(i.intValue());
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  @Override
+  public int size() {
+    return root == null ? 0 : root.size;
+  }
+
+  /**
+   * Returns a set containing the elements of this set and the elements of the given set, when the given set is an
+   * {@code IntSet} the two tries are merged and subtrees found in only one of them are shared.
+   * @param other a set.
+   * @return the union of this set and the given set.
+   */
+  @Override
+  public IntSet union(Set<Integer> other) {
+    if(other instanceof IntSet)
+      return with(union(root, ((IntSet)other).root));
+    Node node = root;
+    for(Integer i : other)
+      node = insert(i ^ FLIP, node);
+    return with(node);
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are also elements of the given set.
+   * @param other a set.
+   * @return the intersection of this set and the given set.
+   */
+  @Override
+  public IntSet intersection(Set<Integer> other) {
+    if(other instanceof IntSet)
+      return with(intersection(root, ((IntSet)other).root));
+    Node node = root;
+    for(PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+      int i = it.nextInt();
+      if(!other.member(i))
+        node = remove(i ^ FLIP, node);
+    }
+    return with(node);
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are not elements of the given set.
+   * @param other a set.
+   * @return the difference of this set and the given set.
+   */
+  @Override
+  public IntSet difference(Set<Integer> other) {
+    if(other instanceof IntSet)
+      return with(difference(root, ((IntSet)other).root));
+    Node node = root;
+    for(Integer i : other)
+      node = remove(i ^ FLIP, node);
+    return with(node);
+  }
+
+  /**
+   * Performs the given action for every element of this set in ascending order.
+   * @param c the action to perform.
+   */
+  public void forEachInt(IntConsumer c) {
+    for(PrimitiveIterator.OfInt it = iterator(); it.hasNext();)
+      c.accept(it.nextInt());
+  }
+
+  /**
+   * Returns an array containing the elements of this set in ascending order.
+   * @return an array containing the elements of this set in ascending order.
+   */
+  public int[] toArray() {
+    int[] array = new int[size()];
+    PrimitiveIterator.OfInt it = iterator();
+    for(int n = 0; n < array.length; n++)
+      array[n] = it.nextInt();
+    return array;
+  }
+
+  /**
+   * Returns the elements of this set in ascending order.
+   * @return the elements of this set in ascending order.
+   */
+  public IntFList toIntFList() {
+    return IntFList.intFList(toArray());
+  }
+
+  /**
+   * Returns an iterator over the elements of this set in ascending order, the iterator does not box elements.
+   * @return an iterator over the elements of this set in ascending order.
+   */
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+
+      //A branch tests one of 32 bits, so no path holds more than 32 branches.
+      private final Node[] stack = new Node[33];
+      private int top;
+
+      {
+        if(root != null)
+          stack[top++] = root;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return top > 0;
+      }
+
+      @Override
+      public int nextInt() {
+        if(top == 0)
+          throw new NoSuchElementException();
+        Node node = stack[--top];
+        while(node instanceof Bin) {
+          Bin b = (Bin)node;
+          stack[top++] = b.right;
+          node = b.left;
+        }
+        return ((Tip)node).key ^ FLIP;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("{ ");
+    forEachInt(i -> builder.append(i).append(" "));
+    builder.append("}");
+    return builder.toString();
+  }
+
+  private static boolean zero(int k, int mask) {
+    return (k & mask) == 0;
+  }
+
+  //The bits of k above the mask bit.
+  private static int prefix(int k, int mask) {
+    return k & (-mask ^ mask);
+  }
+
+  private static boolean nomatch(int k, int prefix, int mask) {
+    return prefix(k, mask) != prefix;
+  }
+
+  //True if the branch on mask m1 is above the branch on mask m2.
+  private static boolean shorter(int m1, int m2) {
+    return Integer.compareUnsigned(m1, m2) > 0;
+  }
+
+  private static Node link(int p1, Node t1, int p2, Node t2) {
+    int m = Integer.highestOneBit(p1 ^ p2);
+    int p = prefix(p1, m);
+    return zero(p1, m)
+      ? new Bin(p, m, t1, t2)
+      : new Bin(p, m, t2, t1);
+  }
+
+  //Rebuilds a branch from possibly changed children, reusing the branch when neither child changed.
+  private static Node bin(Bin b, Node l, Node r) {
+    if(l == b.left && r == b.right)
+      return b;
+    if(l == null)
+      return r;
+    if(r == null)
+      return l;
+    return new Bin(b.prefix, b.mask, l, r);
+  }
+
+  private static Node insert(int k, Node node) {
+    if(node == null)
+      return new Tip(k);
+    if(node instanceof Tip)
+      return ((Tip)node).key == k ? node : link(k, new Tip(k), ((Tip)node).key, node);
+    Bin b = (Bin)node;
+    if(nomatch(k, b.prefix, b.mask))
+      return link(k, new Tip(k), b.prefix, b);
+    return zero(k, b.mask)
+      ? bin(b, insert(k, b.left), b.right)
+      : bin(b, b.left, insert(k, b.right));
+  }
+
+  private static Node remove(int k, Node node) {
+    if(node == null)
+      return null;
+    if(node instanceof Tip)
+      return ((Tip)node).key == k ? null : node;
+    Bin b = (Bin)node;
+    if(nomatch(k, b.prefix, b.mask))
+      return b;
+    return zero(k, b.mask)
+      ? bin(b, remove(k, b.left), b.right)
+      : bin(b, b.left, remove(k, b.right));
+  }
+
+  private static boolean member(int k, Node node) {
+    while(node instanceof Bin) {
+      Bin b = (Bin)node;
+      if(nomatch(k, b.prefix, b.mask))
+        return false;
+      node = zero(k, b.mask) ? b.left : b.right;
+    }
+    return node != null && ((Tip)node).key == k;
+  }
+
+  private static Node union(Node s, Node t) {
+    if(s == null || s == t)
+      return t;
+    if(t == null)
+      return s;
+    if(s instanceof Tip)
+      return insert(((Tip)s).key, t);
+    if(t instanceof Tip)
+      return insert(((Tip)t).key, s);
+    Bin a = (Bin)s;
+    Bin b = (Bin)t;
+    if(a.mask == b.mask && a.prefix == b.prefix)
+      return bin(a, union(a.left, b.left), union(a.right, b.right));
+    if(shorter(a.mask, b.mask) && !nomatch(b.prefix, a.prefix, a.mask))
+      return zero(b.prefix, a.mask)
+        ? bin(a, union(a.left, b), a.right)
+        : bin(a, a.left, union(a.right, b));
+    if(shorter(b.mask, a.mask) && !nomatch(a.prefix, b.prefix, b.mask))
+      return zero(a.prefix, b.mask)
+        ? bin(b, union(a, b.left), b.right)
+        : bin(b, b.left, union(a, b.right));
+    return link(a.prefix, a, b.prefix, b);
+  }
+
+  private static Node intersection(Node s, Node t) {
+    if(s == null || t == null)
+      return null;
+    if(s == t)
+      return s;
+    if(s instanceof Tip)
+      return member(((Tip)s).key, t) ? s : null;
+    if(t instanceof Tip)
+      return member(((Tip)t).key, s) ? t : null;
+    Bin a = (Bin)s;
+    Bin b = (Bin)t;
+    if(a.mask == b.mask && a.prefix == b.prefix)
+      return bin(a, intersection(a.left, b.left), intersection(a.right, b.right));
+    if(shorter(a.mask, b.mask) && !nomatch(b.prefix, a.prefix, a.mask))
+      return intersection(zero(b.prefix, a.mask) ? a.left : a.right, b);
+    if(shorter(b.mask, a.mask) && !nomatch(a.prefix, b.prefix, b.mask))
+      return intersection(a, zero(a.prefix, b.mask) ? b.left : b.right);
+    return null;
+  }
+
+  private static Node difference(Node s, Node t) {
+    if(s == null || s == t)
+      return null;
+    if(t == null)
+      return s;
+    if(s instanceof Tip)
+      return member(((Tip)s).key, t) ? null : s;
+    if(t instanceof Tip)
+      return remove(((Tip)t).key, s);
+    Bin a = (Bin)s;
+    Bin b = (Bin)t;
+    if(a.mask == b.mask && a.prefix == b.prefix)
+      return bin(a, difference(a.left, b.left), difference(a.right, b.right));
+    if(shorter(a.mask, b.mask) && !nomatch(b.prefix, a.prefix, a.mask))
+      return zero(b.prefix, a.mask)
+        ? bin(a, difference(a.left, b), a.right)
+        : bin(a, a.left, difference(a.right, b));
+    if(shorter(b.mask, a.mask) && !nomatch(a.prefix, b.prefix, b.mask))
+      return difference(a, zero(a.prefix, b.mask) ? b.left : b.right);
+    return a;
+  }
+
+  private static abstract class Node {
+
+    final int size;
+
+    Node(int size) {
+      this.size = size;
+    }
+  }
+
+  private static final class Tip extends Node {
+
+    final int key;
+
+    Tip(int key) {
+      super(1);
+      this.key = key;
+    }
+  }
+
+  private static final class Bin extends Node {
+
+    final int prefix;
+    final int mask;
+    final Node left;
+    final Node right;
+
+    Bin(int prefix, int mask, Node left, Node right) {
+      super(left.size + right.size);
+      this.prefix = prefix;
+      this.mask   = mask;
+      this.left   = left;
+      this.right  = right;
+    }
+  }
+}
@@ -1,9 +1,58 @@
 package drjoliv.jfunc.data.set;
 
+import drjoliv.jfunc.foldable.Foldable;
+
 public interface Set<E> extends Iterable<E> {
   public Set<E> insert(E e);
   public Set<E> remove(E e);
   public boolean member(E e);
   public boolean isEmpty();
   public int size();
+
+  /**
+   * Returns a set containing the elements of this set and the elements of the given set.
+   * @param other a set.
+   * @return the union of this set and the given set.
+   */
+  public default Set<E> union(Set<E> other) {
+    Set<E> set = this;
+    for(E e : other)
+      set = set.insert(e);
+    return set;
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are also elements of the given set.
+   * @param other a set.
+   * @return the intersection of this set and the given set.
+   */
+  public default Set<E> intersection(Set<E> other) {
+    Set<E> set = this;
+    for(E e : this)
+      if(!other.member(e))
+        set = set.remove(e);
+    return set;
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are not elements of the given set.
+   * @param other a set.
+   * @return the difference of this set and the given set.
+   */
+  public default Set<E> difference(Set<E> other) {
+    Set<E> set = this;
+    for(E e : other)
+      set = set.remove(e);
+    return set;
+  }
+
+  /**
+   * Inserts the elements of the given foldable into the given set, so the caller chooses the implementation.
+   * @param foldable the elements to insert.
+   * @param set the set the elements are inserted into, usually an empty set.
+   * @return a set containing the elements of both the foldable and the given set.
+   */
+  public static <M,E> Set<E> fromFoldable(Foldable<M,E> foldable, Set<E> set) {
+    return foldable.foldl(Set::insert, set);
+  }
 }
@@ -1,22 +1,29 @@
 package drjoliv.jfunc.data.set;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import drjoliv.jfunc.contorl.CaseOf;
 import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.contorl.maybe.Maybe;
 import drjoliv.jfunc.contorl.tramp.Trampoline;
 import static drjoliv.jfunc.contorl.tramp.Trampoline.*;
 
 import static drjoliv.jfunc.contorl.eval.Eval.*;
 import drjoliv.jfunc.data.Unit;
 import drjoliv.jfunc.data.list.FList;
-import drjoliv.jfunc.data.list.Functions;
 import drjoliv.jfunc.eq.Ord;
 import drjoliv.jfunc.eq.Ordering;
 import drjoliv.jfunc.foldable.Foldable;
 import drjoliv.jfunc.function.F1;
-import drjoliv.jfunc.function.F2;
 import drjoliv.jfunc.function.F3;
+import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.monoid.Monoid;
 
 public abstract class UnbalancedSet<E> implements Set<E> {
 
@@ -46,26 +53,38 @@ public abstract class UnbalancedSet<E> implements Set<E> {
     return new Nil<E>(order);
   }
 
+  /**
+   * Returns the elements of this set in ascending order.
+   * @return the elements of this set in ascending order.
+   */
   public final FList<E> toList() {
-
-    final F2< UnbalancedSet<E>
-            , UnbalancedSet<E>
-            , FList<E> > go = (left, right) -> left.toList().append(right.toList());
-
-    return visit$(nil -> FList.empty()
-        , (data, left ,right) -> FList.flist$( data, Eval.liftM2(left, right, go) ) );
+    return ascendingList();
   }
 
+  /**
+   * Returns the elements of this set in ascending order, the list is filled by a single in-order walk of the tree.
+   * @return the elements of this set in ascending order.
+   */
+  @SuppressWarnings("unchecked")
   public final FList<E> ascendingList() {
-    return visit(nil -> FList.<E>empty()
-        , (data, left ,right) ->
-        Functions.flatten( left.ascendingList() , FList.flist(data), right.ascendingList()  ) );
+    return FList.fromArray((E[])toArray(iterator()));
   }
 
+  /**
+   * Returns the elements of this set in descending order, the list is filled by a single reverse-order walk of the
+   * tree.
+   * @return the elements of this set in descending order.
+   */
+  @SuppressWarnings("unchecked")
   public final FList<E> descendingList() {
-    return visit(nil -> FList.<E>empty()
-        , (data, left ,right) ->
-        Functions.flatten( right.descendingList() , FList.flist(data), left.descendingList()  ) );
+    return FList.fromArray((E[])toArray(descendingIterator()));
+  }
+
+  private Object[] toArray(Iterator<E> it) {
+    Object[] elements = new Object[size()];
+    for(int i = 0; i < elements.length; i++)
+      elements[i] = it.next();
+    return elements;
   }
 
   final <B> B visit (F1<Unit, B> nil, F3<E, UnbalancedSet<E>, UnbalancedSet<E>, B> cons) {
@@ -96,7 +115,7 @@ public abstract class UnbalancedSet<E> implements Set<E> {
   private static final <E> Trampoline<Boolean> member(E e, UnbalancedSet<E> set) {
     return set.visit( unit               -> Trampoline.done(Boolean.FALSE)
                     ,(data, left, right) -> {
-                      Ordering order = set.getOrder().compare(data, e);
+                      Ordering order = set.getOrder().compare(e, data);
                       return CaseOf.caseOf(order)
                         .of(Ordering.LT, () -> more(() -> member(e, left)))
                         .of(Ordering.GT, () -> more(() -> member(e, right)))
@@ -104,23 +123,134 @@ public abstract class UnbalancedSet<E> implements Set<E> {
                     });
   }
 
+  /**
+   * Returns the number of elements within this set. Each node keeps the size of its subtree once it has been counted,
+   * so a size is computed in one walk over the nodes not counted before and is O(1) afterwards, a subtree shared by
+   * sets derived from this one is never counted again.
+   * @return the number of elements within this set.
+   */
   @Override
-  public final int size() {
-   return size(this, ZERO).result(); 
+  public abstract int size();
+
+  /**
+   * Returns the number of elements of this set that are less than the given element, in O(h) where h is the height of
+   * the tree.
+   * @param e an element.
+   * @return the number of elements less than {@code e}.
+   */
+  public final int rank(E e) {
+    return rank(e, false);
+  }
+
+  private int rank(E e, boolean inclusive) {
+    int rank = 0;
+    UnbalancedSet<E> set = this;
+    while(set instanceof Cons) {
+      Cons<E> c = (Cons<E>)set;
+      Ordering o = order.compare(e, c.data.value());
+      if(o == Ordering.LT) {
+        set = c.left.value();
+      } else if(o == Ordering.GT) {
+        rank += c.left.value().size() + 1;
+        set = c.right.value();
+      } else {
+        return rank + c.left.value().size() + (inclusive ? 1 : 0);
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Returns the element of this set with the given rank, the smallest element has rank zero.
+   * @param k the rank of an element.
+   * @return the element with rank {@code k}.
+   * @throws IndexOutOfBoundsException if {@code k} is negative or not less than the size of this set.
+   */
+  public final E select(int k) {
+    if(k < 0 || k >= size())
+      throw new IndexOutOfBoundsException("rank: " + k + ", size: " + size());
+    Cons<E> c = (Cons<E>)this;
+    while(true) {
+      int l = c.left.value().size();
+      if(k < l) {
+        c = (Cons<E>)c.left.value();
+      } else if(k > l) {
+        k -= l + 1;
+        c = (Cons<E>)c.right.value();
+      } else {
+        return c.data.value();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of elements of this set that are between {@code lo} and {@code hi} inclusive.
+   * @param lo the lower bound.
+   * @param hi the upper bound.
+   * @return the number of elements between {@code lo} and {@code hi}.
+   */
+  public final int rangeCount(E lo, E hi) {
+    return Math.max(0, rank(hi, true) - rank(lo, false));
+  }
+
+  /**
+   * Returns the greatest element of this set that is less than or equal to the given element.
+   * @param e an element.
+   * @return the greatest element less than or equal to {@code e}, or nothing if there is none.
+   */
+  public final Maybe<E> floor(E e) {
+    return closest(e, Ordering.GT);
+  }
+
+  /**
+   * Returns the least element of this set that is greater than or equal to the given element.
+   * @param e an element.
+   * @return the least element greater than or equal to {@code e}, or nothing if there is none.
+   */
+  public final Maybe<E> ceiling(E e) {
+    return closest(e, Ordering.LT);
   }
 
-  private static final Integer ZERO = Integer.valueOf(0);
-  private static final Integer ONE  = Integer.valueOf(1);
+  private Maybe<E> closest(E e, Ordering side) {
+    Cons<E> found = null;
+    UnbalancedSet<E> set = this;
+    while(set instanceof Cons) {
+      Cons<E> c = (Cons<E>)set;
+      Ordering o = order.compare(e, c.data.value());
+      if(o == Ordering.EQ)
+        return Maybe.maybe$(c.data);
+      if(o == side)
+        found = c;
+      set = o == Ordering.LT ? c.left.value() : c.right.value();
+    }
+    return found == null ? Maybe.nothing() : Maybe.maybe$(found.data);
+  }
 
-  private static <E> Trampoline<Integer> size(UnbalancedSet<E> set, Integer i) {
-    return set.visit( unit            -> Trampoline.done(i)
-                    ,(e, left, right) -> Trampoline.more(() -> {
-                  F2<Integer,Integer,Integer> go = (l, r) -> l + r + ONE;
-                  Trampoline<Integer> tl = size(left, ZERO);
-                  Trampoline<Integer> tr = size(right, ZERO);
-                  Trampoline<Integer> retVal = Trampoline.liftM2(tl, tr, go);
-                  return retVal;
-                }));
+  /**
+   * Returns an iterator over the elements of this set between {@code lo} and {@code hi} inclusive in ascending order,
+   * subtrees are only visited as the iterator reaches them.
+   * @param lo the lower bound.
+   * @param hi the upper bound.
+   * @return an iterator over the elements between {@code lo} and {@code hi}.
+   */
+  public final Iterator<E> range(E lo, E hi) {
+    TreeIterator<E> it = new TreeIterator<E>(false) {
+      @Override
+      public boolean hasNext() {
+        return super.hasNext() && !gt(peek().data.value(), hi);
+      }
+    };
+    UnbalancedSet<E> set = this;
+    while(set instanceof Cons) {
+      Cons<E> c = (Cons<E>)set;
+      if(lt(c.data.value(), lo)) {
+        set = c.right.value();
+      } else {
+        it.push(c);
+        set = c.left.value();
+      }
+    }
+    return it;
   }
 
   @Override
@@ -128,9 +258,348 @@ public abstract class UnbalancedSet<E> implements Set<E> {
     return match(n -> true, c -> false);
   }
 
+  /**
+   * Returns an iterator over the elements of this set in ascending order, the iterator keeps the path to its next
+   * element on an array and allocates O(h) memory in total, where h is the height of the tree.
+   * @return an iterator over the elements of this set in ascending order.
+   */
   @Override
   public final Iterator<E> iterator() {
-    return toList().iterator();
+    TreeIterator<E> it = new TreeIterator<E>(false);
+    it.descend(this);
+    return it;
+  }
+
+  /**
+   * Returns an iterator over the elements of this set in descending order.
+   * @return an iterator over the elements of this set in descending order.
+   * @see #iterator()
+   */
+  public final Iterator<E> descendingIterator() {
+    TreeIterator<E> it = new TreeIterator<E>(true);
+    it.descend(this);
+    return it;
+  }
+
+  //Walks the tree in order, the path to the next node is kept on an array that grows with the height of the tree.
+  private static class TreeIterator<E> implements Iterator<E> {
+
+    private Object[] stack = new Object[16];
+    private int top;
+    private final boolean reverse;
+
+    private TreeIterator(boolean reverse) {
+      this.reverse = reverse;
+    }
+
+    final void push(Cons<E> c) {
+      if(top == stack.length)
+        stack = Arrays.copyOf(stack, top << 1);
+      stack[top++] = c;
+    }
+
+    final void descend(UnbalancedSet<E> set) {
+      while(set instanceof Cons) {
+        Cons<E> c = (Cons<E>)set;
+        push(c);
+        set = reverse ? c.right.value() : c.left.value();
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    final Cons<E> peek() {
+      return (Cons<E>)stack[top - 1];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return top > 0;
+    }
+
+    @Override
+    public E next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      Cons<E> c = peek();
+      stack[--top] = null;
+      descend(reverse ? c.left.value() : c.right.value());
+      return c.data.value();
+    }
+  }
+
+  private static final int UNION        = 0;
+  private static final int INTERSECTION = 1;
+  private static final int DIFFERENCE   = 2;
+
+  /**
+   * Returns a set containing the elements of this set and the elements of the given set. When the given set is an
+   * unbalanced set it is assumed to share the order of this set, the sets are then combined by splitting and joining
+   * trees, otherwise its elements are first built into a balanced tree. Each split costs O(h) where h is the height of
+   * the tree being split.
+   * @param other a set.
+   * @return the union of this set and the given set.
+   */
+  @Override
+  public final UnbalancedSet<E> union(Set<E> other) {
+    return combine(UNION, this, unbalanced(other)).result();
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are also elements of the given set.
+   * @param other a set.
+   * @return the intersection of this set and the given set.
+   * @see #union(Set)
+   */
+  @Override
+  public final UnbalancedSet<E> intersection(Set<E> other) {
+    return combine(INTERSECTION, this, unbalanced(other)).result();
+  }
+
+  /**
+   * Returns a set containing the elements of this set that are not elements of the given set.
+   * @param other a set.
+   * @return the difference of this set and the given set.
+   * @see #union(Set)
+   */
+  @Override
+  public final UnbalancedSet<E> difference(Set<E> other) {
+    return combine(DIFFERENCE, this, unbalanced(other)).result();
+  }
+
+  private UnbalancedSet<E> unbalanced(Set<E> other) {
+    if(other instanceof UnbalancedSet)
+      return (UnbalancedSet<E>)other;
+    List<E> elements = new ArrayList<>();
+    for(E e : other)
+      elements.add(e);
+    return ofAll(FList.collection(elements), order);
+  }
+
+  /**
+   * Splits this set into the elements less than the given element and the elements greater than it, in O(h). The
+   * subtrees off the path to the element are shared with this set.
+   * @param e an element.
+   * @return a tuple of the elements less than {@code e} and the elements greater than {@code e}.
+   */
+  public final T2<UnbalancedSet<E>, UnbalancedSet<E>> split(E e) {
+    Split<E> s = split(e, this);
+    return T2.t2(s.left, s.right);
+  }
+
+  /**
+   * Joins two sets and an element that is greater than every element of the left set and less than every element of
+   * the right set. The element becomes the root of the returned tree, so joining is O(1) once the order is checked in
+   * O(h).
+   * @param left a set whose elements are less than {@code e}.
+   * @param e an element.
+   * @param right a set whose elements are greater than {@code e}.
+   * @return a set containing the elements of both sets and the given element.
+   * @throws IllegalArgumentException if the elements are not in order.
+   */
+  public static <E> UnbalancedSet<E> join(UnbalancedSet<E> left, E e, UnbalancedSet<E> right) {
+    if((left instanceof Cons && !left.lt(Cons.max(left), e)) || (right instanceof Cons && !left.lt(e, Cons.min(right))))
+      throw new IllegalArgumentException("The elements of the left set must be less than the element, and the element less than the elements of the right set.");
+    return new Cons<E>(now(e), now(left), now(right), left.getOrder());
+  }
+
+  /**
+   * Joins two sets where every element of the left set is less than every element of the right set, in O(h).
+   * @param left a set.
+   * @param right a set whose elements are greater than the elements of {@code left}.
+   * @return a set containing the elements of both sets.
+   * @throws IllegalArgumentException if the elements are not in order.
+   */
+  public static <E> UnbalancedSet<E> join(UnbalancedSet<E> left, UnbalancedSet<E> right) {
+    if(left instanceof Cons && right instanceof Cons && !left.lt(Cons.max(left), Cons.min(right)))
+      throw new IllegalArgumentException("The elements of the left set must be less than the elements of the right set.");
+    return merge(left, right);
+  }
+
+  //Combines two trees by splitting one at the root of the other, the halves are combined on a trampoline so
+  //degenerate trees do not overflow the stack.
+  private static <E> Trampoline<UnbalancedSet<E>> combine(int op, UnbalancedSet<E> t1, UnbalancedSet<E> t2) {
+    if(!(t1 instanceof Cons))
+      return done(op == UNION ? t2 : t1);
+    if(!(t2 instanceof Cons))
+      return done(op == INTERSECTION ? t2 : t1);
+    Cons<E> pivot;
+    UnbalancedSet<E> a1, a2, b1, b2;
+    boolean found;
+    if(op == DIFFERENCE) {
+      pivot = (Cons<E>)t2;
+      Split<E> s = split(pivot.data.value(), t1);
+      a1 = s.left;  a2 = pivot.left.value();
+      b1 = s.right; b2 = pivot.right.value();
+      found = false;
+    } else {
+      pivot = (Cons<E>)t1;
+      Split<E> s = split(pivot.data.value(), t2);
+      a1 = pivot.left.value();  a2 = s.left;
+      b1 = pivot.right.value(); b2 = s.right;
+      found = op == UNION || s.found;
+    }
+    Ord<E> order = t1.getOrder();
+    return more(() -> combine(op, a1, a2))
+      .bind(l -> combine(op, b1, b2)
+      .map(r -> found
+        ? new Cons<E>(pivot.data, now(l), now(r), order)
+        : merge(l, r)));
+  }
+
+  //Joins two trees whose elements are in order, the least element of the right tree becomes the root.
+  private static <E> UnbalancedSet<E> merge(UnbalancedSet<E> left, UnbalancedSet<E> right) {
+    if(!(left instanceof Cons))
+      return right;
+    if(!(right instanceof Cons))
+      return left;
+    E min = Cons.min(right);
+    return new Cons<E>(now(min), now(left), now(right.remove(min)), left.getOrder());
+  }
+
+  //Walks down to the element, then rebuilds the path from the bottom into the trees less than and greater than it.
+  @SuppressWarnings("unchecked")
+  private static <E> Split<E> split(E e, UnbalancedSet<E> set) {
+    Object[] path = new Object[16];
+    boolean[] lefts = new boolean[16];
+    int top = 0;
+    UnbalancedSet<E> less = set;
+    UnbalancedSet<E> greater = set;
+    boolean found = false;
+    while(set instanceof Cons) {
+      Cons<E> c = (Cons<E>)set;
+      Ordering o = set.getOrder().compare(e, c.data.value());
+      if(o == Ordering.EQ) {
+        less    = c.left.value();
+        greater = c.right.value();
+        found   = true;
+        break;
+      }
+      if(top == path.length) {
+        path  = Arrays.copyOf(path, top << 1);
+        lefts = Arrays.copyOf(lefts, top << 1);
+      }
+      path[top]    = c;
+      lefts[top++] = o == Ordering.LT;
+      set = o == Ordering.LT ? c.left.value() : c.right.value();
+      less    = set;
+      greater = set;
+    }
+    while(top > 0) {
+      Cons<E> c = (Cons<E>)path[--top];
+      if(lefts[top])
+        greater = new Cons<E>(c.data, now(greater), c.right, c.getOrder());
+      else
+        less = new Cons<E>(c.data, c.left, now(less), c.getOrder());
+    }
+    return new Split<E>(less, found, greater);
+  }
+
+  private static final class Split<E> {
+
+    private final UnbalancedSet<E> left;
+    private final boolean found;
+    private final UnbalancedSet<E> right;
+
+    private Split(UnbalancedSet<E> left, boolean found, UnbalancedSet<E> right) {
+      this.left  = left;
+      this.found = found;
+      this.right = right;
+    }
+  }
+
+  /**
+   * The default depth of the tree past which the parallel operations of a set stop forking work.
+   */
+  public static final int PAR_DEPTH = 34 - Integer.numberOfLeadingZeros(ForkJoinPool.getCommonPoolParallelism());
+
+  /**
+   * Maps each element of this set into a monoid and combines the results in ascending order, the left and right
+   * subtrees of each node are folded concurrently on the common fork-join pool.
+   * @param fn a function from an element to the monoid.
+   * @param monoid a monoid whose operation is associative.
+   * @return the combination of the mapped elements.
+   */
+  public final <W> W parFoldMap(F1<? super E, ? extends W> fn, Monoid<W> monoid) {
+    return parFoldMap(fn, monoid, PAR_DEPTH);
+  }
+
+  /**
+   * Maps each element of this set into a monoid and combines the results in ascending order, subtrees are folded
+   * concurrently on the common fork-join pool until {@code depth} levels of the tree have been split, deeper subtrees
+   * are folded sequentially.
+   * @param fn a function from an element to the monoid.
+   * @param monoid a monoid whose operation is associative.
+   * @param depth the number of levels of the tree that are split into concurrent tasks.
+   * @return the combination of the mapped elements.
+   */
+  public final <W> W parFoldMap(F1<? super E, ? extends W> fn, Monoid<W> monoid, int depth) {
+    return ForkJoinPool.commonPool().invoke(new FoldMapTask<E,W>(this, fn, monoid, depth));
+  }
+
+  /**
+   * Combines the elements of this set in ascending order, folding subtrees concurrently.
+   * @param monoid a monoid whose operation is associative.
+   * @return the combination of the elements.
+   */
+  public final E parReduce(Monoid<E> monoid) {
+    return parFoldMap(F1.identity(), monoid, PAR_DEPTH);
+  }
+
+  /**
+   * Combines the elements of this set in ascending order, folding subtrees concurrently until {@code depth} levels of
+   * the tree have been split.
+   * @param monoid a monoid whose operation is associative.
+   * @param depth the number of levels of the tree that are split into concurrent tasks.
+   * @return the combination of the elements.
+   */
+  public final E parReduce(Monoid<E> monoid, int depth) {
+    return parFoldMap(F1.identity(), monoid, depth);
+  }
+
+  /**
+   * Applies the function to every element of this set in parallel, returning a set of the results.
+   * @param fn a function to apply to each element.
+   * @param order the order of the returned set.
+   * @return a set containing the results of the function.
+   */
+  @SuppressWarnings("unchecked")
+  public final <B> UnbalancedSet<B> parMap(F1<? super E, ? extends B> fn, Ord<B> order) {
+    FList<E> elements = FList.fromArray((E[])toArray(iterator()));
+    return fromFoldable(elements.parMap(fn), order);
+  }
+
+  private static <E,W> W foldMap(UnbalancedSet<E> set, F1<? super E, ? extends W> fn, Monoid<W> monoid) {
+    W acc = monoid.mempty();
+    for(E e : set)
+      acc = monoid.mappend(acc, fn.call(e));
+    return acc;
+  }
+
+  private static final class FoldMapTask<E,W> extends RecursiveTask<W> {
+
+    private final UnbalancedSet<E> set;
+    private final F1<? super E, ? extends W> fn;
+    private final Monoid<W> monoid;
+    private final int depth;
+
+    private FoldMapTask(UnbalancedSet<E> set, F1<? super E, ? extends W> fn, Monoid<W> monoid, int depth) {
+      this.set    = set;
+      this.fn     = fn;
+      this.monoid = monoid;
+      this.depth  = depth;
+    }
+
+    @Override
+    protected W compute() {
+      if(depth <= 0 || !(set instanceof Cons))
+        return foldMap(set, fn, monoid);
+      Cons<E> c = (Cons<E>)set;
+      FoldMapTask<E,W> left = new FoldMapTask<E,W>(c.left.value(), fn, monoid, depth - 1);
+      left.fork();
+      W right = new FoldMapTask<E,W>(c.right.value(), fn, monoid, depth - 1).compute();
+      W data  = fn.call(c.data.value());
+      return monoid.mappend(monoid.mappend(left.join(), data), right);
+    }
   }
 
   private static final class Nil<E> extends UnbalancedSet<E> {
@@ -144,6 +613,11 @@ public abstract class UnbalancedSet<E> implements Set<E> {
       return nil.call(this);
     }
 
+    @Override
+    public int size() {
+      return 0;
+    }
+
     @Override
     public UnbalancedSet<E> insert(Eval<E> e) {
       return new Cons<>(e, now(this), now(this), getOrder());
@@ -172,6 +646,9 @@ public abstract class UnbalancedSet<E> implements Set<E> {
     private final Eval<UnbalancedSet<E>> left;
     private final Eval<UnbalancedSet<E>> right;
 
+    //The number of elements in this subtree, -1 until it is counted.
+    private int size = -1;
+
     private Cons(Eval<E> data, Eval<UnbalancedSet<E>> left, Eval<UnbalancedSet<E>> right, Ord<E> order) {
       super(order);
       this.data = data;
@@ -184,6 +661,40 @@ public abstract class UnbalancedSet<E> implements Set<E> {
       return cons.call(this);
     }
 
+    @Override
+    public int size() {
+      int s = size;
+      return s >= 0 ? s : count(this);
+    }
+
+    //Counts the subtrees whose sizes are not known in post order, the path is kept on an array so degenerate trees do
+    //not overflow the stack.
+    @SuppressWarnings("unchecked")
+    private static <E> int count(Cons<E> root) {
+      Object[] stack = new Object[16];
+      int top = 0;
+      stack[top++] = root;
+      while(top > 0) {
+        Cons<E> c = (Cons<E>)stack[top - 1];
+        UnbalancedSet<E> l = c.left.value();
+        UnbalancedSet<E> r = c.right.value();
+        Cons<E> next = uncounted(l) ? (Cons<E>)l : uncounted(r) ? (Cons<E>)r : null;
+        if(next != null) {
+          if(top == stack.length)
+            stack = Arrays.copyOf(stack, top << 1);
+          stack[top++] = next;
+        } else {
+          c.size = l.size() + r.size() + 1;
+          stack[--top] = null;
+        }
+      }
+      return root.size;
+    }
+
+    private static boolean uncounted(UnbalancedSet<?> set) {
+      return set instanceof Cons && ((Cons<?>)set).size < 0;
+    }
+
     @Override
     public UnbalancedSet<E> insert(E e) {
       if(lt(e, data.value()))
@@ -196,8 +707,18 @@ public abstract class UnbalancedSet<E> implements Set<E> {
 
     @Override
     public UnbalancedSet<E> remove(E e) {
-      // TODO implement remove
-      throw new UnsupportedOperationException();
+      if(lt(e, data.value()))
+        return new Cons<>(data, left.map(l -> l.remove(e)), right, getOrder());
+      else if(gt(e, data.value()))
+        return new Cons<>(data, left, right.map(r -> r.remove(e)), getOrder());
+      else if(left.value().isEmpty())
+        return right.value();
+      else if(right.value().isEmpty())
+        return left.value();
+      else {
+        E min = min(right.value());
+        return new Cons<>(now(min), left, right.map(r -> r.remove(min)), getOrder());
+      }
     }
 
     @Override
@@ -212,13 +733,88 @@ public abstract class UnbalancedSet<E> implements Set<E> {
 
     @Override
     public UnbalancedSet<E> remove(Eval<E> e) {
-      // TODO implement remove
-      throw new UnsupportedOperationException();
+      return remove(e.value());
+    }
+
+    private static <E> E min(UnbalancedSet<E> set) {
+      Cons<E> c = (Cons<E>)set;
+      while(c.left.value() instanceof Cons)
+        c = (Cons<E>)c.left.value();
+      return c.data.value();
+    }
+
+    private static <E> E max(UnbalancedSet<E> set) {
+      Cons<E> c = (Cons<E>)set;
+      while(c.right.value() instanceof Cons)
+        c = (Cons<E>)c.right.value();
+      return c.data.value();
     }
   }
 
   public static <M,E> UnbalancedSet<E> fromFoldable(Foldable<M,E> foldable, Ord<E> order) {
-    return foldable.foldr((set, e) -> set.insert(e) , empty(order));
+    return foldable.foldl((set, e) -> set.insert(e) , empty(order));
+  }
+
+  /**
+   * Creates a perfectly balanced set from an array whose elements are in strictly ascending order, the tree is built
+   * in O(n) without comparing any elements. The array is not checked, an array that is out of order or has
+   * duplicates gives a set whose operations return wrong answers.
+   * @param elements elements in strictly ascending order.
+   * @param order the order of the set.
+   * @return a set.
+   */
+  public static <E> UnbalancedSet<E> fromSortedArray(E[] elements, Ord<E> order) {
+    return build(elements, 0, elements.length, new Nil<E>(order));
+  }
+
+  /**
+   * Creates a perfectly balanced set from a finite list whose elements are in strictly ascending order, the tree is
+   * built in O(n) without comparing any elements.
+   * @param list elements in strictly ascending order.
+   * @param order the order of the set.
+   * @return a set.
+   * @see #fromSortedArray(Object[], Ord)
+   */
+  public static <E> UnbalancedSet<E> fromSortedFList(FList<E> list, Ord<E> order) {
+    Object[] elements = list.toArray();
+    return build(elements, 0, elements.length, new Nil<E>(order));
+  }
+
+  /**
+   * Creates a perfectly balanced set containing the elements of the given foldable by sorting them and building the
+   * tree in O(n), unlike {@link #fromFoldable(Foldable, Ord)} the shape of the tree does not depend on the order of
+   * the elements.
+   * @param foldable the elements of the set.
+   * @param order the order of the set.
+   * @return a set.
+   */
+  public static <M,E> UnbalancedSet<E> ofAll(Foldable<M,E> foldable, Ord<E> order) {
+    return ofAll(foldable, order, false);
+  }
+
+  /**
+   * Creates a perfectly balanced set containing the elements of the given foldable by sorting them and building the
+   * tree in O(n).
+   * @param foldable the elements of the set.
+   * @param order the order of the set.
+   * @param parallel if true the elements are sorted with {@link java.util.Arrays#parallelSort(Object[],
+   * java.util.Comparator)}.
+   * @return a set.
+   */
+  public static <M,E> UnbalancedSet<E> ofAll(Foldable<M,E> foldable, Ord<E> order, boolean parallel) {
+    Object[] elements = BalancedSet.sortedDistinct(foldable, order, parallel);
+    return build(elements, 0, elements.length, new Nil<E>(order));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> UnbalancedSet<E> build(Object[] elements, int from, int to, Nil<E> nil) {
+    if(from == to)
+      return nil;
+    int mid = (from + to) >>> 1;
+    return new Cons<E>(now((E)elements[mid])
+        , now(build(elements, from, mid, nil))
+        , now(build(elements, mid + 1, to, nil))
+        , nil.getOrder());
   }
 
   //private static void shuffleArray(int[] array, java.util.Random ran) {
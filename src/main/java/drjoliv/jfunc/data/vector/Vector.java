@@ -0,0 +1,526 @@
+package drjoliv.jfunc.data.vector;
+
+import static drjoliv.jfunc.contorl.eval.Eval.later;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import drjoliv.jfunc.applicative.Applicative;
+import drjoliv.jfunc.applicative.ApplicativeFactory;
+import drjoliv.jfunc.contorl.eval.Eval;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.FList.EmptyListException;
+import drjoliv.jfunc.function.F1;
+import drjoliv.jfunc.function.F2;
+import drjoliv.jfunc.hkt.Hkt;
+import drjoliv.jfunc.traversable.Traversable;
+
+/**
+ * A persistent vector stored as a 32-way trie of arrays. Elements are placed by successive five bit slices of their
+ * index, so {@code get} and {@code update} take at most seven steps. The last, partly filled leaf is kept outside the
+ * trie as a tail, so {@code snoc} and {@code init} usually copy only the tail and touch the trie once every 32 calls.
+ * Changing a vector copies the nodes on the path to the changed element and shares every other node with the original
+ * vector.
+ * <p>
+ * Many elements are best added through a {@link Builder}, which changes the nodes it created in place.
+ * <pre>
+ * {@code
+ * Vector<Integer> vector = Vector.fromFList(Integers.range(1, 1000));
+ * vector.get(499) == 500
+ * vector.update(0, 0).snoc(1001).last() == 1001
+ * }
+ * </pre>
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+public final class Vector<A> implements Hkt<Vector.μ,A>, Traversable<Vector.μ,A>, Iterable<A> {
+
+  /**
+  * The witness type of {@code Vector}.
+  */
+  public static class μ {private μ(){}}
+
+  private static final int BITS  = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK  = WIDTH - 1;
+
+  private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+  private static final Vector<?> EMPTY = new Vector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+  private final int size;
+  private final int shift;
+  private final Node root;
+  private final Object[] tail;
+
+  private Vector(int size, int shift, Node root, Object[] tail) {
+    this.size  = size;
+    this.shift = shift;
+    this.root  = root;
+    this.tail  = tail;
+  }
+
+  /**
+   * Returns an empty vector.
+   * @return an empty vector.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> Vector<A> empty() {
+    return (Vector<A>)EMPTY;
+  }
+
+  /**
+   * Returns a builder whose elements start empty.
+   * @return a builder.
+   */
+  public static <A> Builder<A> builder() {
+    return new Builder<A>(empty());
+  }
+
+  /**
+   * Returns a builder whose elements start as the elements of this vector. This vector is not changed by the builder.
+   * @return a builder.
+   */
+  public Builder<A> toBuilder() {
+    return new Builder<A>(this);
+  }
+
+  /**
+   * Creates a vector from the given elements.
+   * @param elements the elements of the vector.
+   * @return a vector.
+   */
+  @SafeVarargs
+  public static <A> Vector<A> vector(A... elements) {
+    Builder<A> builder = builder();
+    for(A a : elements)
+      builder.snoc(a);
+    return builder.build();
+  }
+
+  /**
+   * Creates a vector from the elements of a finite FList.
+   * @param list a finite FList.
+   * @return a vector containing the elements of the list in the same order.
+   */
+  public static <A> Vector<A> fromFList(FList<A> list) {
+    Builder<A> builder = builder();
+    for(A a : list)
+      builder.snoc(a);
+    return builder.build();
+  }
+
+  /**
+   * Returns the number of elements within this vector.
+   * @return the number of elements within this vector.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if this vector has no elements, or false otherwise.
+   * @return true if this vector has no elements, or false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at the given index.
+   * @param i an index.
+   * @return the element at index {@code i}.
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this vector.
+   */
+  @SuppressWarnings("unchecked")
+  public A get(int i) {
+    checkIndex(i, size);
+    return (A)leafFor(i)[i & MASK];
+  }
+
+  /**
+   * Returns the last element of this vector.
+   * @return the last element of this vector.
+   * @throws EmptyListException if this vector is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public A last() {
+    if(isEmpty())
+      throw new EmptyListException();
+    return (A)tail[tail.length - 1];
+  }
+
+  /**
+   * Returns a vector with the element at the given index replaced.
+   * @param i an index.
+   * @param a the new element.
+   * @return a vector whose element at index {@code i} is {@code a}.
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this vector.
+   */
+  public Vector<A> update(int i, A a) {
+    checkIndex(i, size);
+    if(i >= tailOffset(size)) {
+      Object[] t = tail.clone();
+      t[i & MASK] = a;
+      return new Vector<A>(size, shift, root, t);
+    }
+    return new Vector<A>(size, shift, update(null, shift, root, i, a), tail);
+  }
+
+  /**
+   * Returns a vector with the given element placed after the elements of this vector.
+   * @param a an element.
+   * @return a vector whose last element is {@code a}.
+   */
+  public Vector<A> snoc(A a) {
+    if(size - tailOffset(size) < WIDTH) {
+      Object[] t = Arrays.copyOf(tail, tail.length + 1);
+      t[tail.length] = a;
+      return new Vector<A>(size + 1, shift, root, t);
+    }
+    Node tailNode = new Node(null, tail);
+    if((size >>> BITS) > (1 << shift)) {
+      Node r = new Node(null, new Object[WIDTH]);
+      r.array[0] = root;
+      r.array[1] = newPath(null, shift, tailNode);
+      return new Vector<A>(size + 1, shift + BITS, r, new Object[]{a});
+    }
+    return new Vector<A>(size + 1, shift, pushTail(null, size, shift, root, tailNode), new Object[]{a});
+  }
+
+  /**
+   * Returns this vector without its last element.
+   * @return this vector without its last element.
+   * @throws EmptyListException if this vector is empty.
+   */
+  public Vector<A> init() {
+    if(isEmpty())
+      throw new EmptyListException();
+    if(size == 1)
+      return empty();
+    if(size - tailOffset(size) > 1)
+      return new Vector<A>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+    Object[] newTail = leafFor(size - 2);
+    Node r = popTail(shift, root);
+    int s = shift;
+    if(r == null)
+      r = EMPTY_NODE;
+    if(shift > BITS && r.array[1] == null) {
+      r = (Node)r.array[0];
+      s -= BITS;
+    }
+    return new Vector<A>(size - 1, s, r, newTail);
+  }
+
+  /**
+   * Returns an array containing the elements of this vector.
+   * @return an array containing the elements of this vector.
+   */
+  public Object[] toArray() {
+    Object[] elements = new Object[size];
+    for(int base = 0; base < size; base += WIDTH)
+      System.arraycopy(leafFor(base), 0, elements, base, Math.min(WIDTH, size - base));
+    return elements;
+  }
+
+  @Override
+  public FList<A> toFList() {
+    return FList.fromArray(Vector.<A>unchecked(toArray()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A[] unchecked(Object[] elements) {
+    return (A[])elements;
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return new Iterator<A>() {
+
+      private int i;
+      private Object[] leaf;
+
+      @Override
+      public boolean hasNext() {
+        return i < size;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public A next() {
+        if(i >= size)
+          throw new NoSuchElementException();
+        if((i & MASK) == 0)
+          leaf = leafFor(i);
+        return (A)leaf[i++ & MASK];
+      }
+    };
+  }
+
+  @Override
+  public <B> Vector<B> map(F1<? super A, ? extends B> fn) {
+    Builder<B> builder = builder();
+    for(int base = 0; base < size; base += WIDTH) {
+      Object[] leaf = leafFor(base);
+      for(int j = 0, n = Math.min(WIDTH, size - base); j < n; j++)
+        builder.snoc(fn.call(Vector.<A>unchecked(leaf)[j]));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public <N, F, B> Applicative<N, Vector<B>> mapA(F1<A, ? extends Applicative<N, B>> fn,
+      ApplicativeFactory<N> pure) {
+    F2<Vector<B>, B, Vector<B>> snoc = (vector, b) -> vector.snoc(b);
+    Applicative<N, Vector<B>> acc = pure.pure(empty());
+    for(A a : this)
+      acc = fn.call(a).apply(acc.map(snoc));
+    return acc;
+  }
+
+  @Override
+  public <B> B foldr(F2<B,? super A,B> fn, B b) {
+    B acc = b;
+    for(int base = ((size - 1) >>> BITS) << BITS; base >= 0; base -= WIDTH) {
+      Object[] leaf = leafFor(base);
+      for(int j = Math.min(WIDTH, size - base) - 1; j >= 0; j--)
+        acc = fn.call(acc, Vector.<A>unchecked(leaf)[j]);
+    }
+    return acc;
+  }
+
+  @Override
+  public <B> B foldl(F2<B,? super A,B> fn, B b) {
+    B acc = b;
+    for(int base = 0; base < size; base += WIDTH) {
+      Object[] leaf = leafFor(base);
+      for(int j = 0, n = Math.min(WIDTH, size - base); j < n; j++)
+        acc = fn.call(acc, Vector.<A>unchecked(leaf)[j]);
+    }
+    return acc;
+  }
+
+  @Override
+  public <B> Eval<B> foldRight(F2<? super A, Eval<B>, Eval<B>> fn, Eval<B> b) {
+    return foldRight(fn, b, 0);
+  }
+
+  private <B> Eval<B> foldRight(F2<? super A, Eval<B>, Eval<B>> fn, Eval<B> b, int i) {
+    return later(() -> i == size ? b : fn.call(get(i), foldRight(fn, b, i + 1)))
+      .bind(e -> e);
+  }
+
+  @Override
+  public int length() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("[ ");
+    for(A a : this)
+      builder.append(a).append(" ");
+    builder.append("]");
+    return builder.toString();
+  }
+
+  private Object[] leafFor(int i) {
+    return leafFor(root, shift, tail, tailOffset(size), i);
+  }
+
+  private static Object[] leafFor(Node root, int shift, Object[] tail, int tailOffset, int i) {
+    if(i >= tailOffset)
+      return tail;
+    Node node = root;
+    for(int level = shift; level > 0; level -= BITS)
+      node = (Node)node.array[(i >>> level) & MASK];
+    return node.array;
+  }
+
+  //The index of the first element held in the tail.
+  private static int tailOffset(int size) {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  private static void checkIndex(int i, int size) {
+    if(i < 0 || i >= size)
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+  }
+
+  //Returns the node itself if it belongs to the given edit, otherwise a copy that does.
+  private static Node editable(Object edit, Node node) {
+    return edit != null && node.edit == edit
+      ? node
+      : new Node(edit, node.array.clone());
+  }
+
+  private static Node newPath(Object edit, int level, Node node) {
+    if(level == 0)
+      return node;
+    Node ret = new Node(edit, new Object[WIDTH]);
+    ret.array[0] = newPath(edit, level - BITS, node);
+    return ret;
+  }
+
+  //Places a full tail as the next leaf of a trie holding size - 32 elements.
+  private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+    Node ret = editable(edit, parent);
+    int sub = ((size - 1) >>> level) & MASK;
+    Node insert;
+    if(level == BITS) {
+      insert = tailNode;
+    } else {
+      Node child = (Node)parent.array[sub];
+      insert = child != null
+        ? pushTail(edit, size, level - BITS, child, tailNode)
+        : newPath(edit, level - BITS, tailNode);
+    }
+    ret.array[sub] = insert;
+    return ret;
+  }
+
+  private static Node update(Object edit, int level, Node node, int i, Object a) {
+    Node ret = editable(edit, node);
+    if(level == 0) {
+      ret.array[i & MASK] = a;
+    } else {
+      int sub = (i >>> level) & MASK;
+      ret.array[sub] = update(edit, level - BITS, (Node)node.array[sub], i, a);
+    }
+    return ret;
+  }
+
+  //Removes the last leaf of the trie, returns null when the node is left empty.
+  private Node popTail(int level, Node node) {
+    int sub = ((size - 2) >>> level) & MASK;
+    if(level > BITS) {
+      Node child = popTail(level - BITS, (Node)node.array[sub]);
+      if(child == null && sub == 0)
+        return null;
+      Node ret = new Node(null, node.array.clone());
+      ret.array[sub] = child;
+      return ret;
+    } else if(sub == 0) {
+      return null;
+    } else {
+      Node ret = new Node(null, node.array.clone());
+      ret.array[sub] = null;
+      return ret;
+    }
+  }
+
+  /**
+   * Collects elements into a vector. A builder owns the nodes it creates and changes them in place, nodes it shares
+   * with a vector are copied before they are changed, so building never disturbs an existing vector. A builder can
+   * not be used once {@link #build()} has been called.
+   */
+  public static final class Builder<A> {
+
+    private Object edit = new Object();
+    private int size;
+    private int shift;
+    private Node root;
+    private Object[] tail;
+
+    private Builder(Vector<A> vector) {
+      this.size  = vector.size;
+      this.shift = vector.shift;
+      this.root  = vector.root;
+      this.tail  = Arrays.copyOf(vector.tail, WIDTH);
+    }
+
+    /**
+     * Adds the element after the elements of this builder.
+     * @param a an element.
+     * @return this builder.
+     */
+    public Builder<A> snoc(A a) {
+      ensureEditable();
+      if(size - tailOffset(size) < WIDTH) {
+        tail[size++ & MASK] = a;
+        return this;
+      }
+      Node tailNode = new Node(edit, tail);
+      tail = new Object[WIDTH];
+      tail[0] = a;
+      if((size >>> BITS) > (1 << shift)) {
+        Node r = new Node(edit, new Object[WIDTH]);
+        r.array[0] = root;
+        r.array[1] = newPath(edit, shift, tailNode);
+        root = r;
+        shift += BITS;
+      } else {
+        root = pushTail(edit, size, shift, root, tailNode);
+      }
+      size++;
+      return this;
+    }
+
+    /**
+     * Replaces the element at the given index.
+     * @param i an index.
+     * @param a the new element.
+     * @return this builder.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this builder.
+     */
+    public Builder<A> update(int i, A a) {
+      ensureEditable();
+      checkIndex(i, size);
+      if(i >= tailOffset(size))
+        tail[i & MASK] = a;
+      else
+        root = Vector.update(edit, shift, root, i, a);
+      return this;
+    }
+
+    /**
+     * Returns the element at the given index.
+     * @param i an index.
+     * @return the element at index {@code i}.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this builder.
+     */
+    @SuppressWarnings("unchecked")
+    public A get(int i) {
+      ensureEditable();
+      checkIndex(i, size);
+      return (A)leafFor(root, shift, tail, tailOffset(size), i)[i & MASK];
+    }
+
+    /**
+     * Returns the number of elements within this builder.
+     * @return the number of elements within this builder.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns a vector of the elements within this builder.
+     * @return a vector.
+     */
+    public Vector<A> build() {
+      ensureEditable();
+      edit = null;
+      return size == 0
+        ? Vector.<A>empty()
+        : new Vector<A>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+    }
+
+    private void ensureEditable() {
+      if(edit == null)
+        throw new IllegalStateException("This builder has already been built.");
+    }
+  }
+
+  //A node of the trie, the edit marks the builder that may change it in place, null for nodes no builder owns.
+  private static final class Node {
+    final Object edit;
+    final Object[] array;
+
+    Node(Object edit, Object[] array) {
+      this.edit  = edit;
+      this.array = array;
+    }
+  }
+}
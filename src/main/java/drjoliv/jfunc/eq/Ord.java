@@ -35,9 +35,9 @@ public interface Ord<A> extends EQ<A>{
       @Override
       public Ordering compare(A a, A a1) {
         int i = a.compareTo(a1);
-        if(i == -1)
+        if(i < 0)
           return Ordering.LT;
-        else if(i == 1)
+        else if(i > 0)
           return Ordering.GT;
         else
           return Ordering.EQ;
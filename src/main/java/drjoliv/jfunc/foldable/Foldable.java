@@ -1,6 +1,7 @@
 package drjoliv.jfunc.foldable;
 
 import static drjoliv.jfunc.contorl.eval.Eval.later;
+import static drjoliv.jfunc.contorl.eval.Eval.now;
 
 import java.util.Comparator;
 
@@ -9,6 +10,7 @@ import drjoliv.jfunc.contorl.maybe.Maybe;
 import drjoliv.jfunc.data.list.FList;
 import drjoliv.jfunc.function.F2;
 import drjoliv.jfunc.function.F3;
+import drjoliv.jfunc.function.P1;
 import drjoliv.jfunc.functor.Functor;
 import drjoliv.jfunc.nums.Numbers;
 
@@ -26,13 +28,37 @@ import drjoliv.jfunc.nums.Numbers;
 public interface Foldable<M, A> extends Functor<M, A>{
 
   /**
-   * Right associative fold of this structure.
+   * Right associative fold of this structure. The function receives the result of folding the elements to the right
+   * of an element, followed by the element itself.
    * @param fn function to fold over this data structure.
    * @param b seed value.
    * @return a reduced value.
    */
   public <B> B foldr(F2<B,? super A,B> fn, B b);
 
+  /**
+   * Strict left associative fold of this structure, the elements are folded from left to right without building up
+   * any intermediate structure.
+   * @param fn function to fold over this data structure.
+   * @param b seed value.
+   * @return a reduced value.
+   */
+  public <B> B foldl(F2<B,? super A,B> fn, B b);
+
+  /**
+   * A lazy right associative fold of this structure. The function receives an element and an eval of the result of
+   * folding the elements to its right, that eval is only evaluated if the function asks for its value. A function
+   * that does not ask for the rest of the fold stops the fold early, which allows this fold to be used on infinite structures.
+   * <pre>{@code
+   * Eval<Boolean> b = naturals().foldRight((i, rest) -> i > 10 ? now(true) : rest, now(false));
+   * // b.value() == true
+   * }</pre>
+   * @param fn function to fold over this data structure.
+   * @param b an eval of the seed value.
+   * @return a eval containing a reduced value.
+   */
+  public <B> Eval<B> foldRight(F2<? super A, Eval<B>, Eval<B>> fn, Eval<B> b);
+
   /**
    * A lazy version of foldr.
    * @param fn function to fold over this data structure.
@@ -67,7 +93,7 @@ public interface Foldable<M, A> extends Functor<M, A>{
       else
         return Maybe.maybe(a);
     };
-    return foldr(go, Maybe.nothing());
+    return foldl(go, Maybe.nothing());
   }
 
   public default A minimum(Comparator<A> comp) {
@@ -92,7 +118,37 @@ public interface Foldable<M, A> extends Functor<M, A>{
       else
         return Maybe.maybe(a);
     };
-    return foldr(go, Maybe.nothing());
+    return foldl(go, Maybe.nothing());
+  }
+
+  /**
+   * Returns true if the predicate is true for any element within this structure, stopping at the first such element.
+   * @param p a predicate.
+   * @return true if the predicate is true for any element within this structure.
+   */
+  public default boolean any(P1<A> p) {
+    F2<A, Eval<Boolean>, Eval<Boolean>> go = (a, rest) -> p.test(a) ? now(Boolean.TRUE) : rest;
+    return foldRight(go, now(Boolean.FALSE)).value();
+  }
+
+  /**
+   * Returns true if the predicate is true for all elements within this structure, stopping at the first element for which it is false.
+   * @param p a predicate.
+   * @return true if the predicate is true for all elements within this structure.
+   */
+  public default boolean all(P1<A> p) {
+    F2<A, Eval<Boolean>, Eval<Boolean>> go = (a, rest) -> p.test(a) ? rest : now(Boolean.FALSE);
+    return foldRight(go, now(Boolean.TRUE)).value();
+  }
+
+  /**
+   * Returns the first element within this structure for which the predicate is true, or nothing if there is none.
+   * @param p a predicate.
+   * @return the first element within this structure for which the predicate is true.
+   */
+  public default Maybe<A> find(P1<A> p) {
+    F2<A, Eval<Maybe<A>>, Eval<Maybe<A>>> go = (a, rest) -> p.test(a) ? now(Maybe.maybe(a)) : rest;
+    return foldRight(go, now(Maybe.nothing())).value();
   }
 
   /**
@@ -109,8 +165,13 @@ public interface Foldable<M, A> extends Functor<M, A>{
    * @return the number of elements in this foldable.
    */
   public default int length() {
-    F2<Integer,A,Integer> go = (i, a) -> i + 1;
-    return foldr(go, 0);
+    int[] n = {0};
+    F2<Object,A,Object> go = (o, a) -> {
+      n[0]++;
+      return o;
+    };
+    foldl(go, null);
+    return n[0];
   }
 
   /**
@@ -118,7 +179,8 @@ public interface Foldable<M, A> extends Functor<M, A>{
    * @return true if this data structure is empty and false othherwise.
    */
   public default boolean isNull() {
-    return length() == 0;
+    F2<A, Eval<Boolean>, Eval<Boolean>> go = (a, rest) -> now(Boolean.FALSE);
+    return foldRight(go, now(Boolean.TRUE)).value();
   }
 
 }
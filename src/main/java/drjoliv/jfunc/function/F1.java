@@ -1,6 +1,6 @@
 package drjoliv.jfunc.function;
 
-import static drjoliv.jfunc.data.deque.Deque.dequeue;
+import static drjoliv.jfunc.data.queue.Queue.queue;
 import static drjoliv.jfunc.function.F1Composed.isComposedFunc;
 
 /**
@@ -54,7 +54,7 @@ public interface F1<A,B> {
   public default <C> F1<C,B> before(F1<? super C ,? extends A> fn) {
     return isComposedFunc(fn)
       ? (F1<C,B>)fn.then(this)
-      : new F1Composed<C,B>(dequeue(fn,this));
+      : new F1Composed<C,B>(queue(fn,this));
   }
 
   /**
@@ -1,6 +1,6 @@
 package drjoliv.jfunc.function;
 
-import drjoliv.jfunc.data.deque.Deque;
+import drjoliv.jfunc.data.queue.Queue;
 
 class F1Composed<A,B> implements F1<A,B> {
 
@@ -15,17 +15,29 @@ class F1Composed<A,B> implements F1<A,B> {
     }
 
     @SuppressWarnings("rawtypes")
-    private final Deque<F1> dequeue;
+    private final Queue<F1> queue;
 
-    F1Composed(@SuppressWarnings("rawtypes") Deque<F1> dequeue) {
-      this.dequeue = dequeue;
+    //The functions of the queue in order, copied out the first time this function is called.
+    @SuppressWarnings("rawtypes")
+    private volatile F1[] functions;
+
+    F1Composed(@SuppressWarnings("rawtypes") Queue<F1> queue) {
+      this.queue = queue;
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public B call(A a) {
-      Object b = a; 
-      for(F1 f : dequeue)
+      F1[] fns = functions;
+      if(fns == null) {
+        fns = new F1[queue.size()];
+        int i = 0;
+        for(F1 f : queue)
+          fns[i++] = f;
+        functions = fns;
+      }
+      Object b = a;
+      for(F1 f : fns)
         b = f.call(b);
       return (B) b;
     }
@@ -34,15 +46,15 @@ class F1Composed<A,B> implements F1<A,B> {
     @Override
     public <C> F1<A, C> then(F1<? super B, ? extends C> fn) {
      return isComposedFunc(fn)
-          ? new F1Composed<A,C>(dequeue.concat(asComposedFunc(fn).dequeue))
-          : new F1Composed<A,C>(dequeue.pushBack(fn));
+          ? new F1Composed<A,C>(queue.concat(asComposedFunc(fn).queue))
+          : new F1Composed<A,C>(queue.enqueue(fn));
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <C> F1<C, B> before(F1<? super C, ? extends A> fn) {
      return isComposedFunc(fn)
-          ? new F1Composed<C,B>(asComposedFunc(fn).dequeue.concat(dequeue))
-          : new F1Composed<C,B>(dequeue.pushFront(fn));
+          ? new F1Composed<C,B>(asComposedFunc(fn).queue.concat(queue))
+          : new F1Composed<C,B>(queue.cons(fn));
     }
 }
@@ -4,6 +4,7 @@ import static drjoliv.jfunc.contorl.tramp.Trampoline.*;
 import static drjoliv.jfunc.data.list.FList.*;
 
 import drjoliv.jfunc.contorl.tramp.Trampoline;
+import drjoliv.jfunc.data.list.DoubleFList;
 import drjoliv.jfunc.data.list.FList;
 import drjoliv.jfunc.function.F1;
 import drjoliv.jfunc.function.F2;
@@ -11,7 +12,25 @@ import drjoliv.jfunc.function.F2;
 public class Doubles {
 
   public static Double product(FList<Double> list) {
-    return list.foldr(Doubles::multiply, 1.0);
+    double acc = 1.0;
+    for(Double d : list)
+      acc *= d;
+    return acc;
+  }
+
+  public static double product(DoubleFList list) {
+    return list.product();
+  }
+
+  public static Double sum(FList<Double> list) {
+    double acc = 0.0;
+    for(Double d : list)
+      acc += d;
+    return acc;
+  }
+
+  public static double sum(DoubleFList list) {
+    return list.sum();
   }
 
   public static Double multiply(Double d1, Double d2) {
@@ -3,6 +3,7 @@ package drjoliv.jfunc.nums;
 import static drjoliv.jfunc.data.list.FList.*;
 
 import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.IntFList;
 import drjoliv.jfunc.function.F1;
 import drjoliv.jfunc.function.F2;
 
@@ -25,7 +26,25 @@ public class Integers {
   }
 
   public static Integer product(FList<Integer> list) {
-    return list.foldr(multiply(),1);
+    int acc = 1;
+    for(Integer i : list)
+      acc *= i;
+    return acc;
+  }
+
+  public static int product(IntFList list) {
+    return list.product();
+  }
+
+  public static Integer sum(FList<Integer> list) {
+    int acc = 0;
+    for(Integer i : list)
+      acc += i;
+    return acc;
+  }
+
+  public static int sum(IntFList list) {
+    return list.sum();
   }
 
   public static F1<Integer,Integer> increment(Integer i) {
@@ -5,6 +5,7 @@ import static drjoliv.jfunc.data.list.FList.*;
 
 import drjoliv.jfunc.contorl.tramp.Trampoline;
 import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.LongFList;
 import drjoliv.jfunc.function.F1;
 import drjoliv.jfunc.function.F2;
 
@@ -31,7 +32,14 @@ public class Longs {
   }
 
   public static Long product(FList<Long> list) {
-    return list.foldr(multiply(),1L);
+    long acc = 1L;
+    for(Long l : list)
+      acc *= l;
+    return acc;
+  }
+
+  public static long product(LongFList list) {
+    return list.product();
   }
 
   private static FList<Long> inc(Long from, Long to, F1<Long,Long> fn) {
@@ -58,7 +66,14 @@ public class Longs {
   }
 
   public static Long sum(FList<Long> flist) {
-    return flist.foldr(add(), 0L);
+    long acc = 0L;
+    for(Long l : flist)
+      acc += l;
+    return acc;
+  }
+
+  public static long sum(LongFList list) {
+    return list.sum();
   }
 
   public static F1<FList<Long>, Long> sum() {
@@ -3,9 +3,11 @@ package drjoliv.jfunc.nums;
 import java.math.BigInteger;
 import java.util.Comparator;
 
+import drjoliv.jfunc.contorl.eval.Eval;
 import drjoliv.jfunc.contorl.tramp.Trampoline;
 import drjoliv.jfunc.data.list.FList;
 import drjoliv.jfunc.data.list.Functions;
+import drjoliv.jfunc.data.list.LongFList;
 
 import static drjoliv.jfunc.contorl.tramp.Trampoline.*;
 import static drjoliv.jfunc.data.list.FList.*;
@@ -15,9 +17,13 @@ import drjoliv.jfunc.function.F1;
 public class Numbers {
 
   public static boolean isPrime(Long i) {
-   final int sqrtOfi = (int)Math.sqrt(i); 
-   return Functions.allTrueWhile(primes, p -> p <= sqrtOfi
-       , p -> i % p != 0);
+    return isPrime(i.longValue());
+  }
+
+  public static boolean isPrime(long i) {
+    final long sqrtOfi = (long)Math.sqrt(i);
+    return Functions.allTrueWhile(primes, p -> p <= sqrtOfi
+        , p -> i % p != 0);
   }
 
   public static <A> A min(Comparator<A> comparator, A a1, A a2) {
@@ -59,7 +65,7 @@ public class Numbers {
     }
   }
 
-  public static FList<Long> primes = flist(2L, 3L, () -> Longs.start(4L).filter(Numbers::isPrime));
+  public static FList<Long> primes = flist(2L, 3L, () -> lazy(Eval.later(() -> LongFList.start(4L).filter(Numbers::isPrime).boxed())));
 
   public static FList<Long> fibonacci = sequence(1L, 1L, (l1, l2) -> l1 + l2);
 
@@ -0,0 +1,228 @@
+package drjoliv.jfunc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import drjoliv.jfunc.contorl.eval.Eval;
+
+/**
+ * Compares building and forcing chains of {@code map} and {@code bind} with {@link Eval} against the evaluation
+ * scheme it replaced, where binds were re-associated by nesting new lambdas and maps composed suppliers.
+ * The chain depth is kept small enough for the old scheme, which recurses through composed suppliers, to finish.
+ * Run the main method with the test classpath after {@code mvn test-compile}.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvalBenchmark {
+
+  @Param({"100", "1000"})
+  public int depth;
+
+  @Benchmark
+  public Integer mapChain() {
+    Eval<Integer> e = Eval.now(0);
+    for(int i = 0; i < depth; i++)
+      e = e.map(x -> x + 1);
+    return e.value();
+  }
+
+  @Benchmark
+  public Integer legacyMapChain() {
+    LegacyEval<Integer> e = LegacyEval.now(0);
+    for(int i = 0; i < depth; i++)
+      e = e.map(x -> x + 1);
+    return e.value();
+  }
+
+  @Benchmark
+  public Integer bindChain() {
+    Eval<Integer> e = Eval.now(0);
+    for(int i = 0; i < depth; i++)
+      e = e.bind(x -> Eval.now(x + 1));
+    return e.value();
+  }
+
+  @Benchmark
+  public Integer legacyBindChain() {
+    LegacyEval<Integer> e = LegacyEval.now(0);
+    for(int i = 0; i < depth; i++)
+      e = e.bind(x -> LegacyEval.now(x + 1));
+    return e.value();
+  }
+
+  @Benchmark
+  public Integer recursiveBind() {
+    return count(depth).value();
+  }
+
+  @Benchmark
+  public Integer legacyRecursiveBind() {
+    return legacyCount(depth).value();
+  }
+
+  private static Eval<Integer> count(int n) {
+    return Eval.now(n).bind(x -> x == 0 ? Eval.now(0) : count(x - 1).map(y -> y + 1));
+  }
+
+  private static LegacyEval<Integer> legacyCount(int n) {
+    return LegacyEval.now(n).bind(x -> x == 0 ? LegacyEval.now(0) : legacyCount(x - 1).map(y -> y + 1));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(EvalBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  /**
+   * The evaluation scheme Eval used before it was rewritten around an explicit continuation stack.
+   */
+  private static abstract class LegacyEval<A> {
+
+    abstract <B> LegacyEval<B> doBind(Function<? super A, LegacyEval<B>> fn);
+
+    abstract LegacyEval<A> step();
+
+    abstract A value();
+
+    abstract <B> LegacyEval<B> map(Function<? super A, ? extends B> fn);
+
+    <B> LegacyEval<B> bind(Function<? super A, LegacyEval<B>> fn) {
+      return new Bind<A,B>(this, fn);
+    }
+
+    static <A> LegacyEval<A> now(A a) {
+      return new Now<A>(a);
+    }
+
+    static <A> LegacyEval<A> later(Supplier<A> fn) {
+      return new Later<A>(fn);
+    }
+
+    private static final class Now<A> extends LegacyEval<A> {
+
+      private final A value;
+
+      private Now(A value) {
+        this.value = value;
+      }
+
+      @Override
+      <B> LegacyEval<B> map(Function<? super A, ? extends B> fn) {
+        return later(() -> fn.apply(value));
+      }
+
+      @Override
+      LegacyEval<A> step() {
+        return this;
+      }
+
+      @Override
+      <B> LegacyEval<B> doBind(Function<? super A, LegacyEval<B>> fn) {
+        return fn.apply(value);
+      }
+
+      @Override
+      A value() {
+        return value;
+      }
+    }
+
+    private static final class Bind<A,B> extends LegacyEval<B> {
+
+      private final LegacyEval<A> eval;
+      private final Function<? super A, LegacyEval<B>> binder;
+
+      private Bind(LegacyEval<A> eval, Function<? super A, LegacyEval<B>> binder) {
+        this.eval   = eval;
+        this.binder = binder;
+      }
+
+      @Override
+      LegacyEval<B> step() {
+        return eval.doBind(binder);
+      }
+
+      @Override
+      <C> LegacyEval<C> doBind(Function<? super B, LegacyEval<C>> fn) {
+        return eval.bind(a -> binder.apply(a).bind(fn));
+      }
+
+      @Override
+      synchronized B value() {
+        LegacyEval<B> e = this;
+        while(e instanceof Bind)
+          e = e.step();
+        return e.value();
+      }
+
+      @Override
+      <C> LegacyEval<C> map(Function<? super B, ? extends C> fn) {
+        return bind(a -> now(fn.apply(a)));
+      }
+    }
+
+    private static final class Later<A> extends LegacyEval<A> {
+
+      private volatile Supplier<A> supplier;
+      private A cache;
+
+      private Later(Supplier<A> supplier) {
+        this.supplier = supplier;
+      }
+
+      private synchronized A computeValue() {
+        if(cache == null) {
+          cache = supplier.get();
+          supplier = null;
+        }
+        return cache;
+      }
+
+      @Override
+      A value() {
+        return supplier == null ? cache : computeValue();
+      }
+
+      @Override
+      <B> LegacyEval<B> doBind(Function<? super A, LegacyEval<B>> fn) {
+        return fn.apply(value());
+      }
+
+      @Override
+      <B> LegacyEval<B> map(Function<? super A, ? extends B> fn) {
+        Supplier<A> s = supplier;
+        if(s == null) {
+          A a = cache;
+          return later(() -> fn.apply(a));
+        }
+        return later(() -> fn.apply(s.get()));
+      }
+
+      @Override
+      LegacyEval<A> step() {
+        return this;
+      }
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package drjoliv.jfunc.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import drjoliv.jfunc.data.deque.Deque;
+import drjoliv.jfunc.data.queue.Queue;
+
+/**
+ * Compares {@link Queue} with {@link Deque} and {@link ArrayDeque} on first in first out use: filling and draining,
+ * and gathering many small queues with {@code concat} before draining. The {@code ArrayDeque} versions copy the
+ * elements being concatenated, as a mutable queue has to.
+ * Run the main method with the test classpath after {@code mvn test-compile}.
+ * @author Desonte 'drjoliv' Jolivet : drjoliv@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  //The number of elements in each of the queues that are concatenated.
+  private static final int PIECE = 8;
+
+  @Benchmark
+  public long queueFillDrain() {
+    Queue<Integer> q = Queue.empty();
+    for(int i = 0; i < size; i++)
+      q = q.enqueue(i);
+    long sum = 0;
+    while(!q.isEmpty()) {
+      sum += q.head();
+      q = q.tail();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long dequeFillDrain() {
+    Deque<Integer> d = Deque.empty();
+    for(int i = 0; i < size; i++)
+      d = d.pushBack(i);
+    long sum = 0;
+    while(!d.isEmpty()) {
+      sum += d.first().toNull();
+      d = d.popFront().toNull()._2();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long arrayDequeFillDrain() {
+    ArrayDeque<Integer> d = new ArrayDeque<>();
+    for(int i = 0; i < size; i++)
+      d.addLast(i);
+    long sum = 0;
+    while(!d.isEmpty())
+      sum += d.pollFirst();
+    return sum;
+  }
+
+  @Benchmark
+  public long queueConcatDrain() {
+    Queue<Integer> q = Queue.empty();
+    for(int i = 0; i < size; i += PIECE) {
+      Queue<Integer> piece = Queue.empty();
+      for(int j = 0; j < PIECE; j++)
+        piece = piece.enqueue(i + j);
+      q = q.concat(piece);
+    }
+    long sum = 0;
+    for(Integer i : q)
+      sum += i;
+    return sum;
+  }
+
+  @Benchmark
+  public long dequeConcatDrain() {
+    Deque<Integer> d = Deque.empty();
+    for(int i = 0; i < size; i += PIECE) {
+      Deque<Integer> piece = Deque.empty();
+      for(int j = 0; j < PIECE; j++)
+        piece = piece.pushBack(i + j);
+      d = d.concat(piece);
+    }
+    long sum = 0;
+    for(Integer i : d)
+      sum += i;
+    return sum;
+  }
+
+  @Benchmark
+  public long arrayDequeConcatDrain() {
+    ArrayDeque<Integer> d = new ArrayDeque<>();
+    for(int i = 0; i < size; i += PIECE) {
+      ArrayDeque<Integer> piece = new ArrayDeque<>();
+      for(int j = 0; j < PIECE; j++)
+        piece.addLast(i + j);
+      d.addAll(piece);
+    }
+    long sum = 0;
+    while(!d.isEmpty())
+      sum += d.pollFirst();
+    return sum;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(QueueBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,95 @@
+package drjoliv.jfunc.contorl.eval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class EvalTest {
+
+  private static Eval<Integer> count(int n) {
+    return Eval.now(n).bind(x -> x == 0 ? Eval.now(0) : count(x - 1).map(y -> y + 1));
+  }
+
+  @Test
+  public void deepChains() {
+    Eval<Integer> e = Eval.now(0);
+    for(int i = 0; i < 1000000; i++)
+      e = i % 2 == 0 ? e.map(x -> x + 1) : e.bind(x -> Eval.now(x + 1));
+
+    assertEquals(Integer.valueOf(1000000), e.value());
+    assertEquals(Integer.valueOf(1000000), count(1000000).value());
+  }
+
+  @Test
+  public void memoization() {
+    int[] calls = {0};
+    Eval<Integer> later = Eval.later(() -> ++calls[0]);
+    Eval<Integer> mapped = later.map(i -> i * 10);
+    Eval<String> nothing = later.bind(i -> { calls[0]++; return Eval.now((String)null); });
+
+    assertEquals(Integer.valueOf(10), mapped.value());
+    assertEquals(Integer.valueOf(10), mapped.value());
+    assertNull(nothing.value());
+    assertNull(nothing.value());
+    assertEquals(2, calls[0]);
+
+    Eval<Integer> always = Eval.always(() -> ++calls[0]);
+    always.value();
+    always.value();
+    assertEquals(4, calls[0]);
+  }
+
+  @Test
+  public void innerChainsMemoized() {
+    int[] calls = {0, 0};
+    Eval<Integer> x = Eval.later(() -> 1).map(i -> { calls[0]++; return i + 1; });
+    Eval<Integer> y = x.map(i -> i * 10);
+    Eval<Integer> z = x.bind(i -> Eval.later(() -> { calls[1]++; return i * 100; })).map(i -> i + 1);
+    Eval<Integer> w = z.map(i -> -i);
+
+    assertEquals(Integer.valueOf(20), y.value());
+    assertEquals(Integer.valueOf(2), x.value());
+    assertEquals(Integer.valueOf(-201), w.value());
+    assertEquals(Integer.valueOf(201), z.value());
+    assertEquals(1, calls[0]);
+    assertEquals(1, calls[1]);
+  }
+
+  @Test
+  public void failedInnerChainsRetry() {
+    int[] calls = {0};
+    Eval<Integer> x = Eval.later(() -> 1).map(i -> { if(calls[0]++ == 0) throw new IllegalStateException(); return i; });
+    Eval<Integer> y = x.map(i -> i + 1);
+    try {
+      y.value();
+    } catch(IllegalStateException e) {}
+    assertEquals(Integer.valueOf(1), x.value());
+    assertEquals(Integer.valueOf(2), y.value());
+  }
+
+  @Test(timeout = 10000)
+  public void failedInnerChainsReleased() throws InterruptedException {
+    int[] calls = {0};
+    Eval<Integer> inner = Eval.later(() -> 1).map(i -> { if(calls[0]++ == 0) throw new IllegalStateException(); return i; });
+    Eval<Integer> bound = Eval.later(() -> 1).bind(i -> { if(calls[0]++ == 1) throw new IllegalStateException(); return Eval.now(i); });
+    Eval<Integer> outer = inner.map(i -> i + 1);
+    Eval<Integer> other = bound.map(i -> i + 1);
+    try {
+      outer.value();
+    } catch(IllegalStateException e) {}
+    try {
+      other.value();
+    } catch(IllegalStateException e) {}
+
+    Integer[] values = new Integer[2];
+    Thread thread = new Thread(() -> {
+      values[0] = inner.value();
+      values[1] = bound.value();
+    });
+    thread.start();
+    thread.join();
+    assertEquals(Integer.valueOf(1), values[0]);
+    assertEquals(Integer.valueOf(1), values[1]);
+  }
+}
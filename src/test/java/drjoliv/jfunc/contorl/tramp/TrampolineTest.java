@@ -0,0 +1,43 @@
+package drjoliv.jfunc.contorl.tramp;
+
+import static drjoliv.jfunc.contorl.tramp.Trampoline.done;
+import static drjoliv.jfunc.contorl.tramp.Trampoline.done$;
+import static drjoliv.jfunc.contorl.tramp.Trampoline.more;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TrampolineTest {
+
+  private static Trampoline<Integer> rightNested(int n) {
+    return n == 0
+      ? done(0)
+      : more(() -> done(n).bind(i -> rightNested(i - 1).map(j -> j + 1)));
+  }
+
+  @Test
+  public void leftNested() {
+    Trampoline<Integer> t = done(0);
+    for(int i = 0; i < 1000000; i++)
+      t = i % 2 == 0 ? t.map(x -> x + 1) : t.bind(x -> done(x + 1));
+
+    assertEquals(Integer.valueOf(1000000), t.result());
+    assertEquals(Integer.valueOf(1000000), t.result());
+  }
+
+  @Test
+  public void rightNested() {
+    assertEquals(Integer.valueOf(1000000), rightNested(1000000).result());
+  }
+
+  @Test
+  public void lazyDone() {
+    int[] calls = {0};
+    Trampoline<Integer> t = done$(() -> ++calls[0]).map(i -> i * 10);
+
+    assertEquals(0, calls[0]);
+    assertEquals(Integer.valueOf(10), t.result());
+    assertEquals(Integer.valueOf(20), t.result());
+    assertEquals(2, calls[0]);
+  }
+}
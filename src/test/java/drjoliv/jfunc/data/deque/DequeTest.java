@@ -0,0 +1,121 @@
+package drjoliv.jfunc.data.deque;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.function.F1;
+import drjoliv.jfunc.hlist.T2;
+
+public class DequeTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  @Test
+  public void matchesArrayDeque() {
+    Random random = new Random(21);
+    ArrayDeque<Integer> expected = new ArrayDeque<>();
+    Deque<Integer> deque = Deque.empty();
+    for(int i = 0; i < 20000; i++) {
+      switch(random.nextInt(6)) {
+        case 0:
+        case 1:
+          expected.addFirst(i);
+          deque = deque.pushFront(i);
+          break;
+        case 2:
+        case 3:
+          expected.addLast(i);
+          deque = deque.pushBack(i);
+          break;
+        case 4: {
+          Maybe<T2<Integer,Deque<Integer>>> popped = deque.popFront();
+          assertEquals(expected.pollFirst(), popped.isSome() ? popped.toNull()._1() : null);
+          deque = popped.isSome() ? popped.toNull()._2() : deque;
+          break;
+        }
+        default: {
+          Maybe<T2<Integer,Deque<Integer>>> popped = deque.popBack();
+          assertEquals(expected.pollLast(), popped.isSome() ? popped.toNull()._1() : null);
+          deque = popped.isSome() ? popped.toNull()._2() : deque;
+        }
+      }
+      assertEquals(expected.size(), deque.size());
+      assertEquals(expected.peekFirst(), deque.first().toNull());
+      assertEquals(expected.peekLast(), deque.last().toNull());
+    }
+    assertEquals(new ArrayList<>(expected), toJava(deque));
+  }
+
+  @Test
+  public void popBack() {
+    Deque<Integer> deque = Deque.dequeue(1, 2, 3);
+
+    assertEquals(Integer.valueOf(3), deque.popBack().toNull()._1());
+    assertEquals(Integer.valueOf(2), deque.popBack().toNull()._2().popBack().toNull()._1());
+    assertEquals(Integer.valueOf(1), Deque.dequeue(1).popBack().toNull()._1());
+    assertTrue(Deque.dequeue(1).popBack().toNull()._2().isEmpty());
+    assertFalse(Deque.empty().popBack().isSome());
+  }
+
+  @Test
+  public void concat() {
+    Deque<Integer> left = Deque.empty();
+    Deque<Integer> right = Deque.empty();
+    for(int i = 0; i < 100; i++) {
+      left  = left.pushBack(i).pushFront(-i - 1);
+      right = right.pushBack(1000 + i);
+    }
+    Deque<Integer> both = left.concat(right);
+    List<Integer> expected = toJava(left);
+    expected.addAll(toJava(right));
+
+    assertEquals(300, both.size());
+    assertEquals(expected, toJava(both));
+    assertEquals(expected.subList(0, 10), toJava(both.takeFront(10)));
+    assertEquals(Integer.valueOf(1099), both.takeBack(1).head());
+    assertEquals(Integer.valueOf(1099), both.popBack().toNull()._1());
+  }
+
+  @Test
+  public void deepConcat() {
+    Deque<Integer> left  = Deque.empty();
+    Deque<Integer> right = Deque.empty();
+    for(int i = 0; i < 100000; i += 8) {
+      left  = left.concat(Deque.dequeue(i, i + 1, i + 2, i + 3, i + 4, i + 5, i + 6, i + 7));
+      right = Deque.dequeue(-i - 8, -i - 7, -i - 6, -i - 5, -i - 4, -i - 3, -i - 2, -i - 1).concat(right);
+    }
+
+    int expected = 0;
+    for(Integer i : left)
+      assertEquals(expected++, i.intValue());
+    expected = -100000;
+    for(Integer i : right)
+      assertEquals(expected++, i.intValue());
+    assertEquals(200000, right.concat(left).size());
+    assertEquals(Integer.valueOf(99999), right.concat(left).last().toNull());
+  }
+
+  @Test
+  public void longComposition() {
+    F1<Integer,Integer> fn = F1.identity();
+    for(int i = 0; i < 10000; i++)
+      fn = fn.then(x -> x + 1).before(x -> x * 1);
+
+    assertEquals(Integer.valueOf(10000), fn.call(0));
+    assertEquals(Integer.valueOf(10001), fn.call(1));
+  }
+}
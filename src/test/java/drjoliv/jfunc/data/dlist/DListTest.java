@@ -0,0 +1,108 @@
+package drjoliv.jfunc.data.dlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.trans.writer.Writer;
+import drjoliv.jfunc.trans.writer.WriterMonadFactory;
+
+public class DListTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  @Test
+  public void matchesLinkedList() {
+    Random random = new Random(51);
+    LinkedList<Integer> expected = new LinkedList<>();
+    DList<Integer> dlist = DList.empty();
+    for(int i = 0; i < 20000; i++) {
+      switch(random.nextInt(5)) {
+        case 0:
+          expected.addFirst(i);
+          dlist = dlist.cons(i);
+          break;
+        case 1:
+          expected.addLast(i);
+          dlist = dlist.snoc(i);
+          break;
+        case 2:
+          expected.addAll(0, Arrays.asList(i, i + 1));
+          dlist = dlist.prepend(DList.dlist(i, i + 1));
+          break;
+        case 3:
+          expected.addAll(Arrays.asList(i, i + 1, i + 2));
+          dlist = dlist.append(DList.fromList(FList.flist(i, i + 1, i + 2)));
+          break;
+        default:
+          expected.addLast(i);
+          dlist = dlist.append(DList.singleton(i));
+      }
+      assertEquals(expected.size(), dlist.size());
+    }
+    assertEquals(expected, toJava(dlist));
+    assertEquals(expected, toJava(dlist.toList()));
+    assertEquals(expected.get(12345), dlist.toArray()[12345]);
+  }
+
+  @Test
+  public void orderAndMap() {
+    DList<Integer> dlist = DList.dlist(3, 4).cons(2).snoc(5).prepend(DList.singleton(1)).append(DList.dlist(6));
+
+    assertEquals("[ 1 2 3 4 5 6 ]", dlist.toString());
+    assertEquals("[ 2 4 6 8 10 12 ]", dlist.map(i -> i * 2).toList().toString());
+    assertEquals("[ 3 4 5 ]", DList.fromList(FList.flist(3, 4)).snoc(5).toString());
+    assertTrue(DList.empty().append(DList.empty()).isEmpty());
+  }
+
+  @Test
+  public void writerLog() {
+    WriterMonadFactory<DList<String>> factory = WriterMonadFactory.writerFactory(DListMonoid.dlistMonoid());
+    Writer<DList<String>,Integer> writer = factory.of(0, DList.singleton("start"));
+    for(int i = 0; i < 500; i++)
+      writer = writer.bind(n -> factory.of(n + 1, DList.singleton("step " + n)));
+
+    assertEquals(Integer.valueOf(500), writer.exec());
+    DList<String> log = writer.log();
+    assertEquals(501, log.size());
+    assertEquals("start", log.toList().head());
+    assertEquals("step 499", log.toArray()[500]);
+  }
+
+  @Test
+  public void infiniteFromList() {
+    DList<Integer> dlist = DList.fromList(iterate(0)).cons(-1).append(DList.dlist(-2));
+
+    assertEquals(Arrays.asList(-1, 0, 1, 2, 3), toJava(dlist.toList().take(5)));
+    assertEquals(Arrays.asList(0, 2, 4), toJava(dlist.map(i -> i * 2).toList().drop(1).take(3)));
+    assertEquals(Integer.valueOf(-1), dlist.iterator().next());
+  }
+
+  @Test
+  public void finiteFromListSize() {
+    DList<Integer> dlist = DList.dlist(1, 2).append(DList.fromList(FList.flist(3, 4, 5))).snoc(6);
+
+    assertEquals(6, dlist.size());
+    assertEquals(7, dlist.cons(0).size());
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), toJava(dlist));
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), Arrays.asList(dlist.toArray()));
+    assertTrue(DList.fromList(FList.empty()).isEmpty());
+  }
+
+  private static FList<Integer> iterate(int from) {
+    return FList.flist(from, () -> iterate(from + 1));
+  }
+}
@@ -0,0 +1,94 @@
+package drjoliv.jfunc.data.heap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.eq.Ord;
+import drjoliv.jfunc.eq.Ordering;
+import drjoliv.jfunc.hlist.T2;
+
+public class HeapTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  @Test
+  public void matchesPriorityQueue() {
+    Random random = new Random(71);
+    PriorityQueue<Integer> expected = new PriorityQueue<>();
+    Heap<Integer> heap = Heap.empty(Ord.<Integer>orderable());
+    for(int i = 0; i < 20000; i++) {
+      int op = random.nextInt(5);
+      if(op < 3) {
+        int n = random.nextInt(1000);
+        expected.add(n);
+        heap = heap.insert(n);
+      } else if(op == 3) {
+        Heap<Integer> other = Heap.empty(Ord.<Integer>orderable());
+        for(int j = 0; j < 3; j++) {
+          int n = random.nextInt(1000);
+          expected.add(n);
+          other = other.insert(n);
+        }
+        heap = heap.merge(other);
+      } else {
+        Maybe<T2<Integer,Heap<Integer>>> popped = heap.pop();
+        assertEquals(expected.poll(), popped.isSome() ? popped.toNull()._1() : null);
+        heap = popped.isSome() ? popped.toNull()._2() : heap;
+      }
+      assertEquals(expected.size(), heap.size());
+      assertEquals(expected.peek(), heap.findMin().toNull());
+    }
+    List<Integer> sorted = new ArrayList<>(expected);
+    Collections.sort(sorted);
+    assertEquals(sorted, toJava(heap));
+    assertEquals(sorted, toJava(heap.toList()));
+  }
+
+  @Test
+  public void persistent() {
+    Heap<Integer> heap = Heap.fromFoldable(FList.flist(5, 1, 4, 1, 3), Ord.orderable());
+    Heap<Integer> smaller = heap.deleteMin().deleteMin();
+
+    assertEquals("[ 1 1 3 4 5 ]", heap.toString());
+    assertEquals("[ 3 4 5 ]", smaller.toString());
+    assertEquals("[ 0 3 4 5 ]", smaller.insert(0).toString());
+    assertEquals(Integer.valueOf(1), heap.findMin().toNull());
+    assertFalse(Heap.<Integer>empty(Ord.orderable()).pop().isSome());
+  }
+
+  @Test
+  public void topK() {
+    List<Integer> values = new ArrayList<>();
+    Random random = new Random(72);
+    for(int i = 0; i < 10000; i++)
+      values.add(random.nextInt());
+    FList<Integer> list = FList.collection(values);
+    Ord<Integer> reversed = (a, b) -> {
+      int c = b.compareTo(a);
+      return c < 0 ? Ordering.LT : c > 0 ? Ordering.GT : Ordering.EQ;
+    };
+
+    List<Integer> sorted = new ArrayList<>(values);
+    Collections.sort(sorted);
+    assertEquals(sorted.subList(0, 10), toJava(list.topK(10, Ord.orderable())));
+    Collections.reverse(sorted);
+    assertEquals(sorted.subList(0, 5), toJava(list.topK(5, reversed)));
+    assertEquals(3, FList.flist(3, 2, 1).topK(10, Ord.orderable()).size());
+    assertEquals(0, list.topK(0, Ord.orderable()).size());
+  }
+}
@@ -0,0 +1,32 @@
+package drjoliv.jfunc.data.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class DoubleFListTest {
+
+  @Test
+  public void takeAndDrop() {
+    AtomicInteger forced = new AtomicInteger();
+    DoubleFList list = DoubleFList.sequence(0.5, d -> { forced.incrementAndGet(); return d + 1; });
+
+    assertArrayEquals(new double[]{0.5, 1.5, 2.5}, list.take(3).toArray(), 0);
+    assertEquals(2, forced.get());
+    assertArrayEquals(new double[]{5.5, 6.5}, list.drop(5).take(2).toArray(), 0);
+    assertTrue(list.take(0).isEmpty());
+    assertTrue(DoubleFList.doubleFList(1, 2).drop(3).isEmpty());
+  }
+
+  @Test
+  public void size() {
+    assertEquals(0, DoubleFList.empty().size());
+    assertEquals(3, DoubleFList.doubleFList(1, 2, 3).size());
+    assertEquals(1000, DoubleFList.sequence(0, d -> d + 1).take(1000).size());
+    assertEquals(6.0, DoubleFList.doubleFList(1, 2, 3).sum(), 0);
+  }
+}
@@ -0,0 +1,172 @@
+package drjoliv.jfunc.data.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.eq.Ord;
+import drjoliv.jfunc.monoid.Monoid;
+import drjoliv.jfunc.monoid.StringMonoid;
+import drjoliv.jfunc.nums.Integers;
+
+public class FListTest {
+
+  private static List<Integer> toJava(FList<Integer> list) {
+    List<Integer> ret = new ArrayList<>();
+    for(Integer i : list)
+      ret.add(i);
+    return ret;
+  }
+
+  @Test
+  public void chunkedMatchesPlain() {
+    FList<Integer> plain   = Integers.range(1, 1000);
+    FList<Integer> chunked = plain.chunked(7);
+
+    assertEquals(toJava(plain), toJava(chunked));
+    assertEquals(plain.size(), chunked.size());
+    assertEquals(plain.foldr((a, i) -> a + i, 0), chunked.foldr((a, i) -> a + i, 0));
+    assertEquals(toJava(plain.drop(123)), toJava(chunked.drop(123)));
+    assertEquals(toJava(plain.take(123)), toJava(chunked.take(123)));
+    assertEquals(toJava(plain.map(i -> i * 3).filter(i -> i % 2 == 0))
+               , toJava(chunked.map(i -> i * 3).filter(i -> i % 2 == 0)));
+  }
+
+  @Test
+  public void chunkedInfinite() {
+    FList<Integer> evens = Integers.naturals()
+      .chunked()
+      .filter(i -> i % 2 == 0)
+      .map(i -> i * 10)
+      .take(5);
+
+    assertEquals(toJava(FList.flist(20, 40, 60, 80, 100)), toJava(evens));
+  }
+
+  @Test
+  public void fromArray() {
+    Integer[] ints = new Integer[200];
+    for(int i = 0; i < ints.length; i++)
+      ints[i] = i;
+    FList<Integer> list = FList.fromArray(ints);
+    ints[0] = -1;
+
+    assertEquals(200, list.size());
+    assertEquals(Integer.valueOf(0), list.head());
+    assertEquals(Integer.valueOf(199), list.last());
+    assertEquals(Integer.valueOf(65), list.drop(65).head());
+    assertTrue(FList.fromArray(new Integer[0]).isEmpty());
+  }
+
+  @Test
+  public void pipelineMatchesUnfused() {
+    FList<Integer> fused = Integers.naturals()
+      .pipeline()
+      .map(i -> i * 3)
+      .filter(i -> i % 2 == 0)
+      .take(20)
+      .map(i -> i + 1)
+      .takeWhile(i -> i < 100)
+      .toFList();
+
+    FList<Integer> unfused = Integers.naturals()
+      .map(i -> i * 3)
+      .filter(i -> i % 2 == 0)
+      .take(20)
+      .map(i -> i + 1)
+      .takeWhile(i -> i < 100);
+
+    assertEquals(toJava(unfused), toJava(fused));
+    assertEquals(unfused.foldr((a, i) -> a + i, 0)
+        , Integers.range(1, 100).pipeline().map(i -> i * 3).filter(i -> i % 2 == 0).take(20)
+            .map(i -> i + 1).takeWhile(i -> i < 100).foldl((a, i) -> a + i, 0));
+  }
+
+  @Test
+  public void foldRightStopsEarly() {
+    assertTrue(Integers.naturals().any(i -> i > 10000));
+    assertTrue(!Integers.naturals().all(i -> i < 10000));
+    assertEquals(Integer.valueOf(45), Integers.naturals().find(i -> i * i > 2000).toNull());
+  }
+
+  @Test
+  public void foldDirection() {
+    assertEquals("54321", Integers.range(1, 5).foldr((s, i) -> s + i, ""));
+    assertEquals("12345", Integers.range(1, 5).foldl((s, i) -> s + i, ""));
+  }
+
+  @Test
+  public void streams() {
+    FList<Integer> list = Integers.range(1, 100000).chunked();
+    long expected = 100000L * 100001L / 2;
+
+    assertEquals(expected, list.stream().mapToLong(i -> i).sum());
+    assertEquals(expected, list.parallelStream().mapToLong(i -> i).sum());
+    assertEquals(toJava(list), toJava(list.parallelStream().collect(FList.collector())));
+  }
+
+  @Test
+  public void sizedSpliterator() {
+    Integer[] elements = new Integer[1000];
+    for(int i = 0; i < elements.length; i++)
+      elements[i] = i;
+    FList<Integer> array = FList.fromArray(elements);
+    List<Integer> values = new ArrayList<>(Arrays.asList(elements));
+
+    assertEquals(1000, array.spliterator().getExactSizeIfKnown());
+    assertEquals(1000, FList.collection(values).spliterator().getExactSizeIfKnown());
+    assertEquals(900, array.drop(100).spliterator().getExactSizeIfKnown());
+    assertEquals(10, array.take(10).spliterator().getExactSizeIfKnown());
+    assertEquals(0, FList.<Integer>empty().spliterator().getExactSizeIfKnown());
+    assertTrue(array.spliterator().hasCharacteristics(Spliterator.SUBSIZED));
+    assertEquals(-1, Integers.range(1, 10).spliterator().getExactSizeIfKnown());
+    assertEquals(1000L, array.parallelStream().count());
+    assertEquals(values, array.parallelStream().collect(Collectors.toList()));
+  }
+
+  @Test
+  public void parallel() {
+    FList<Integer> list = Integers.range(1, 50000);
+
+    assertEquals(toJava(list.map(i -> i * 2)), toJava(list.parMap(i -> i * 2, 100)));
+    assertEquals(Long.valueOf(50000L * 50001L / 2)
+        , list.parFoldMap(i -> (long)i, Monoid.monoid(Long::sum, 0L), 100));
+    assertEquals("12345678910", Integers.range(1, 10).parFoldMap(i -> "" + i, StringMonoid.join(), 2));
+  }
+
+  @Test
+  public void sort() {
+    Random random = new Random(81);
+    List<Integer> values = new ArrayList<>();
+    for(int i = 0; i < 20000; i++)
+      values.add(random.nextInt(5000));
+    FList<Integer> list = FList.collection(values);
+    //Comparing by tens shows whether equal elements keep their order.
+    Comparator<Integer> byTens = Comparator.comparing(i -> i / 10);
+
+    List<Integer> expected = new ArrayList<>(values);
+    Collections.sort(expected, byTens);
+    assertEquals(expected, toJava(list.sortBy(byTens)));
+    assertEquals(expected, toJava(list.parallelSortBy(byTens)));
+    assertEquals(expected.subList(0, 10), toJava(list.sortBy(byTens).take(10)));
+
+    Collections.sort(expected);
+    assertEquals(expected, toJava(list.sort(Ord.orderable())));
+    assertEquals(expected, toJava(list.parallelSort(Ord.orderable())));
+
+    FList<Integer> sorted = Integers.range(1, 200000);
+    assertEquals(toJava(sorted), toJava(sorted.sort(Ord.orderable())));
+    assertEquals(toJava(sorted), toJava(sorted.reverse().sort(Ord.orderable())));
+    assertTrue(FList.<Integer>empty().sort(Ord.orderable()).isEmpty());
+  }
+}
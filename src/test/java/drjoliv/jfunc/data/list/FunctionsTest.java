@@ -0,0 +1,84 @@
+package drjoliv.jfunc.data.list;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.data.map.Frequencies;
+import drjoliv.jfunc.data.map.Map;
+import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.nums.Integers;
+
+public class FunctionsTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  private static FList<Integer> randomList(int n, int bound, long seed) {
+    Random random = new Random(seed);
+    List<Integer> values = new ArrayList<>();
+    for(int i = 0; i < n; i++)
+      values.add(random.nextInt(bound));
+    return FList.collection(values);
+  }
+
+  @Test
+  public void distinct() {
+    FList<Integer> list = randomList(50000, 3000, 91);
+    List<Integer> expected = new ArrayList<>(new LinkedHashSet<>(toJava(list)));
+
+    assertEquals(expected, toJava(Functions.distinct(list)));
+    assertEquals(expected, toJava(Functions.parDistinct(list, 1000)));
+    assertEquals(toJava(FList.flist(1, 2, 3, 4, 5, 6, 7, 8, 9, 0))
+        , toJava(Functions.distinct(Integers.naturals().<Integer>map(i -> i % 10)).take(10)));
+  }
+
+  @Test
+  public void groupBy() {
+    FList<Integer> list = randomList(50000, 100000, 92);
+    HashMap<Integer, List<Integer>> expected = new HashMap<>();
+    for(Integer i : list)
+      expected.computeIfAbsent(i % 97, k -> new ArrayList<>()).add(i);
+
+    Map<Integer, FList<Integer>> groups    = Functions.groupBy(i -> i % 97, list);
+    Map<Integer, FList<Integer>> parGroups = Functions.parGroupBy(i -> i % 97, list, 1000);
+    assertEquals(expected.size(), groups.size());
+    assertEquals(expected.size(), parGroups.size());
+    for(java.util.Map.Entry<Integer, List<Integer>> e : expected.entrySet()) {
+      assertEquals(e.getValue(), toJava(groups.get(e.getKey()).toNull()));
+      assertEquals(e.getValue(), toJava(parGroups.get(e.getKey()).toNull()));
+    }
+  }
+
+  @Test
+  public void frequency() {
+    FList<Integer> list = randomList(100000, 5000, 93).cons(null);
+    HashMap<Integer, Long> expected = new HashMap<>();
+    for(Integer i : list)
+      expected.merge(i, 1L, Long::sum);
+
+    Frequencies<Integer> frequencies    = Functions.frequencies(list);
+    Frequencies<Integer> parFrequencies = Functions.parFrequencies(list, 1000);
+    for(Frequencies<Integer> f : toJava(FList.flist(frequencies, parFrequencies))) {
+      assertEquals(expected.size(), f.size());
+      assertEquals(100001L, f.total());
+      assertEquals(1L, f.count(null));
+      assertEquals(0L, f.count(-1));
+      for(T2<Integer, Long> t : f)
+        assertEquals(expected.get(t._1()), t._2());
+    }
+    HashMap<Integer, Integer> boxed = Functions.frequency(list.tail());
+    assertEquals(Integer.valueOf((int)frequencies.count(42)), boxed.getOrDefault(42, 0));
+    assertEquals(frequencies.size() - 1, boxed.size());
+  }
+}
@@ -0,0 +1,63 @@
+package drjoliv.jfunc.data.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class IntFListTest {
+
+  @Test
+  public void takeAndDrop() {
+    AtomicInteger forced = new AtomicInteger();
+    IntFList list = IntFList.sequence(0, i -> { forced.incrementAndGet(); return i + 1; });
+
+    assertArrayEquals(new int[]{0, 1, 2}, list.take(3).toArray());
+    assertEquals(2, forced.get());
+    assertArrayEquals(new int[]{5, 6}, list.drop(5).take(2).toArray());
+    assertTrue(list.take(0).isEmpty());
+    assertTrue(IntFList.intFList(1, 2).drop(3).isEmpty());
+    assertEquals("[ 1 2 ]", IntFList.intFList(1, 2, 3).take(2).toString());
+  }
+
+  @Test
+  public void range() {
+    assertArrayEquals(new int[]{-2, -1, 0, 1}, IntFList.range(-2, 1).toArray());
+    assertTrue(IntFList.range(1, 0).isEmpty());
+    assertEquals(4, IntFList.range(-2, 1).size());
+    assertEquals(2, IntFList.range(-2, 1).drop(2).size());
+    assertTrue(IntFList.range(-2, 1).drop(4).isEmpty());
+    assertEquals(1, IntFList.range(Integer.MAX_VALUE, Integer.MAX_VALUE).size());
+    assertEquals(Integer.MAX_VALUE, IntFList.range(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+    assertEquals(Integer.MAX_VALUE, IntFList.range(0, Integer.MAX_VALUE).size());
+    assertEquals(-1, IntFList.range(Integer.MIN_VALUE, Integer.MAX_VALUE).drop(Integer.MAX_VALUE).head());
+    assertTrue(IntFList.range(0, Integer.MAX_VALUE).drop(Integer.MAX_VALUE).tail().isEmpty());
+  }
+
+  @Test
+  public void start() {
+    assertArrayEquals(new int[]{7, 8, 9}, IntFList.start(7).take(3).toArray());
+    assertEquals(1007, IntFList.start(7).drop(1000).head());
+    assertEquals(10, IntFList.start(1).take(4).sum());
+    assertEquals(4, IntFList.start(1).take(4).size());
+  }
+
+  @Test
+  public void tailComputedOnce() throws InterruptedException {
+    AtomicInteger calls = new AtomicInteger();
+    IntFList list = IntFList.intFList(1, () -> { calls.incrementAndGet(); return IntFList.intFList(2); });
+    Thread[] threads = new Thread[8];
+    for(int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> assertEquals(2, list.tail().head()));
+      threads[i].start();
+    }
+    for(Thread t : threads)
+      t.join();
+
+    assertEquals(1, calls.get());
+    assertEquals(3, list.sum());
+  }
+}
@@ -0,0 +1,44 @@
+package drjoliv.jfunc.data.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LongFListTest {
+
+  @Test
+  public void takeAndDrop() {
+    AtomicInteger forced = new AtomicInteger();
+    LongFList list = LongFList.sequence(0, i -> { forced.incrementAndGet(); return i + 1; });
+
+    assertArrayEquals(new long[]{0, 1, 2}, list.take(3).toArray());
+    assertEquals(2, forced.get());
+    assertArrayEquals(new long[]{5, 6}, list.drop(5).take(2).toArray());
+    assertTrue(list.take(0).isEmpty());
+    assertTrue(LongFList.longFList(1, 2).drop(3).isEmpty());
+  }
+
+  @Test
+  public void range() {
+    assertArrayEquals(new long[]{-2, -1, 0, 1}, LongFList.range(-2, 1).toArray());
+    assertTrue(LongFList.range(1, 0).isEmpty());
+    assertEquals(4, LongFList.range(-2, 1).size());
+    assertTrue(LongFList.range(-2, 1).drop(4).isEmpty());
+    assertEquals(Integer.MAX_VALUE, LongFList.range(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+    assertEquals(Integer.MAX_VALUE, LongFList.range(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    assertEquals(Integer.MAX_VALUE, LongFList.range(-1, Long.MAX_VALUE).size());
+    assertEquals(Long.MIN_VALUE + 5, LongFList.range(Long.MIN_VALUE, Long.MAX_VALUE).drop(5).head());
+    assertTrue(LongFList.range(Long.MAX_VALUE - 1, Long.MAX_VALUE).drop(2).isEmpty());
+  }
+
+  @Test
+  public void start() {
+    assertArrayEquals(new long[]{7, 8, 9}, LongFList.start(7).take(3).toArray());
+    assertEquals(1007, LongFList.start(7).drop(1000).head());
+    assertEquals(4, LongFList.start(1).take(4).size());
+  }
+}
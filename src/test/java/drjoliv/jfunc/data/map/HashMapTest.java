@@ -0,0 +1,99 @@
+package drjoliv.jfunc.data.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.data.set.HashSet;
+import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.nums.Integers;
+
+public class HashMapTest {
+
+  //Keys whose hashes collide in groups of four, exercising collision nodes.
+  private static final class Key {
+    private final int i;
+
+    private Key(int i) {
+      this.i = i;
+    }
+
+    @Override
+    public int hashCode() {
+      return i / 4;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key && ((Key)o).i == i;
+    }
+  }
+
+  private static void assertSame(java.util.HashMap<Key,Integer> expected, HashMap<Key,Integer> map) {
+    assertEquals(expected.size(), map.size());
+    int n = 0;
+    for(T2<Key,Integer> t : map) {
+      assertEquals(expected.get(t._1.value()), t._2.value());
+      n++;
+    }
+    assertEquals(expected.size(), n);
+  }
+
+  @Test
+  public void matchesJavaHashMap() {
+    Random random = new Random(11);
+    java.util.HashMap<Key,Integer> expected = new java.util.HashMap<>();
+    HashMap<Key,Integer> map = HashMap.empty();
+    HashMap.Builder<Key,Integer> builder = HashMap.builder();
+    for(int i = 0; i < 20000; i++) {
+      Key k = new Key(random.nextInt(3000));
+      if(random.nextInt(3) > 0) {
+        expected.put(k, i);
+        map = map.put(k, i);
+        builder.put(k, i);
+      } else {
+        expected.remove(k);
+        map = map.remove(k);
+        builder.remove(k);
+      }
+      assertEquals(expected.containsKey(k), map.containsKey(k));
+    }
+    assertSame(expected, map);
+    assertSame(expected, builder.build());
+  }
+
+  @Test
+  public void persistence() {
+    HashMap<Integer,String> one = HashMap.<Integer,String>empty().put(1, "a");
+    HashMap<Integer,String> two = one.put(2, "b");
+    HashMap.Builder<Integer,String> builder = two.toBuilder().put(3, "c").remove(1);
+
+    assertEquals(1, one.size());
+    assertFalse(one.containsKey(2));
+    assertEquals("b", two.getOrElse(2, "z"));
+    assertTrue(two.get(3).isSome() == false);
+    assertEquals(2, builder.size());
+    assertEquals("a", two.getOrElse(1, "z"));
+    assertTrue(builder.build().get(3).isSome());
+  }
+
+  @Test
+  public void hashSet() {
+    HashSet<Integer> set = HashSet.fromFoldable(Integers.range(1, 1000).map(i -> i % 100));
+
+    assertEquals(100, set.size());
+    assertTrue(set.member(0) && set.member(99));
+    assertEquals(99, set.remove(5).size());
+    assertTrue(set.insert(5) == set);
+
+    HashSet<Integer> other = HashSet.fromFoldable(Integers.range(50, 149));
+    assertEquals(150, set.union(other).size());
+    assertEquals(50, set.intersection(other).size());
+    assertEquals(50, set.difference(other).size());
+    assertTrue(set.difference(other).member(49) && !set.difference(other).member(50));
+  }
+}
@@ -0,0 +1,94 @@
+package drjoliv.jfunc.data.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.hlist.T2;
+
+public class QueueTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  @Test
+  public void matchesArrayDeque() {
+    Random random = new Random(61);
+    ArrayDeque<Integer> expected = new ArrayDeque<>();
+    Queue<Integer> queue = Queue.empty();
+    for(int i = 0; i < 20000; i++) {
+      switch(random.nextInt(6)) {
+        case 0:
+        case 1:
+          expected.addLast(i);
+          queue = queue.enqueue(i);
+          break;
+        case 2:
+          expected.addFirst(i);
+          queue = queue.cons(i);
+          break;
+        case 3: {
+          Queue<Integer> other = Queue.queue(i, i + 1, i + 2);
+          expected.addAll(toJava(other));
+          queue = queue.concat(other);
+          break;
+        }
+        default: {
+          Maybe<T2<Integer,Queue<Integer>>> popped = queue.dequeue();
+          assertEquals(expected.pollFirst(), popped.isSome() ? popped.toNull()._1() : null);
+          queue = popped.isSome() ? popped.toNull()._2() : queue;
+        }
+      }
+      assertEquals(expected.size(), queue.size());
+      assertEquals(expected.peekFirst(), queue.peek().toNull());
+    }
+    assertEquals(new ArrayList<>(expected), toJava(queue));
+    assertEquals(new ArrayList<>(expected), toJava(queue.toFList()));
+  }
+
+  @Test
+  public void concatMany() {
+    Queue<Integer> left  = Queue.empty();
+    Queue<Integer> right = Queue.empty();
+    List<Integer> expected = new ArrayList<>();
+    for(int i = 0; i < 5000; i++) {
+      left  = left.concat(Queue.singleton(i));
+      right = Queue.singleton(-i).concat(right);
+    }
+    for(int i = 0; i < 5000; i++)
+      expected.add(i);
+    for(int i = 4999; i >= 0; i--)
+      expected.add(-i);
+
+    Queue<Integer> both = left.concat(right);
+    assertEquals(10000, both.size());
+    assertEquals(expected, toJava(both));
+    assertFalse(Queue.empty().dequeue().isSome());
+  }
+
+  @Test
+  public void breadthFirst() {
+    //Node n has children 2n + 1 and 2n + 2, visited level by level.
+    Queue<Integer> frontier = Queue.singleton(0);
+    List<Integer> visited = new ArrayList<>();
+    while(!frontier.isEmpty() && visited.size() < 1000) {
+      int n = frontier.head();
+      visited.add(n);
+      frontier = frontier.tail().concat(Queue.fromFList(FList.flist(2 * n + 1, 2 * n + 2)));
+    }
+    for(int i = 0; i < 1000; i++)
+      assertEquals(Integer.valueOf(i), visited.get(i));
+  }
+}
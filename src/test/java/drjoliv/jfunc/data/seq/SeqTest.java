@@ -0,0 +1,104 @@
+package drjoliv.jfunc.data.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.contorl.maybe.MaybeMonadFactory;
+import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.nums.Integers;
+
+public class SeqTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  @Test
+  public void matchesArrayList() {
+    Random random = new Random(31);
+    List<Integer> expected = new ArrayList<>();
+    Seq<Integer> seq = Seq.empty();
+    for(int i = 0; i < 20000; i++) {
+      int op = random.nextInt(10);
+      if(op < 3) {
+        expected.add(0, i);
+        seq = seq.cons(i);
+      } else if(op < 6) {
+        expected.add(i);
+        seq = seq.snoc(i);
+      } else if(op == 6 && !expected.isEmpty()) {
+        expected.remove(0);
+        seq = seq.tail();
+      } else if(op == 7 && !expected.isEmpty()) {
+        expected.remove(expected.size() - 1);
+        seq = seq.init();
+      } else if(op == 8 && !expected.isEmpty()) {
+        int k = random.nextInt(expected.size());
+        expected.set(k, -i);
+        seq = seq.update(k, -i);
+      } else if(op == 9) {
+        int k = random.nextInt(expected.size() + 1);
+        T2<Seq<Integer>,Seq<Integer>> halves = seq.splitAt(k);
+        assertEquals(k, halves._1().size());
+        assertEquals(expected.subList(k, expected.size()), toJava(halves._2()));
+        seq = halves._1().append(halves._2());
+      }
+      assertEquals(expected.size(), seq.size());
+      if(!expected.isEmpty()) {
+        int k = random.nextInt(expected.size());
+        assertEquals(expected.get(k), seq.get(k));
+        assertEquals(expected.get(0), seq.head());
+        assertEquals(expected.get(expected.size() - 1), seq.last());
+      }
+    }
+    assertEquals(expected, toJava(seq));
+  }
+
+  @Test
+  public void append() {
+    Seq<Integer> seq = Seq.empty();
+    List<Integer> expected = new ArrayList<>();
+    for(int i = 0; i < 200; i++) {
+      Seq<Integer> chunk = Seq.fromFList(Integers.range(i * 1000, i * 1000 + i));
+      seq = i % 2 == 0 ? seq.append(chunk) : chunk.append(seq);
+      List<Integer> c = toJava(chunk);
+      if(i % 2 == 0)
+        expected.addAll(c);
+      else
+        expected.addAll(0, c);
+    }
+    assertEquals(expected, toJava(seq));
+    for(int i = 0; i < expected.size(); i += 97)
+      assertEquals(expected.get(i), seq.get(i));
+    assertEquals(expected.subList(100, 200), toJava(seq.drop(100).take(100)));
+  }
+
+  @Test
+  public void monad() {
+    Seq<Integer> seq = Seq.seq(1, 2, 3);
+
+    assertEquals("[ 2 4 6 ]", seq.map(i -> i * 2).toString());
+    assertEquals("[ 1 1 2 2 3 3 ]", seq.bind(i -> Seq.seq(i, i)).toString());
+    assertEquals(Integer.valueOf(6), seq.foldl((acc, i) -> acc + i, 0));
+    assertEquals("321", seq.foldr((acc, i) -> acc + i, ""));
+    assertTrue(seq.any(i -> i == 3));
+    assertEquals("[ 1 2 3 ]", seq.toFList().toString());
+
+    Maybe<Seq<Integer>> all = (Maybe<Seq<Integer>>)seq.mapA(i -> Maybe.maybe(i * 10), MaybeMonadFactory.instance());
+    assertEquals("[ 10 20 30 ]", all.toNull().toString());
+    Maybe<Seq<Integer>> none = (Maybe<Seq<Integer>>)seq.mapA(i -> i == 2 ? Maybe.<Integer>nothing() : Maybe.maybe(i)
+        , MaybeMonadFactory.instance());
+    assertFalse(none.isSome());
+  }
+}
@@ -0,0 +1,180 @@
+package drjoliv.jfunc.data.set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.data.list.FList;
+import drjoliv.jfunc.data.list.Functions;
+import drjoliv.jfunc.eq.Ord;
+import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.nums.Integers;
+
+public class BalancedSetTest {
+
+  private static List<Integer> toJava(Iterable<Integer> it) {
+    List<Integer> ret = new ArrayList<>();
+    for(Integer i : it)
+      ret.add(i);
+    return ret;
+  }
+
+  @Test
+  public void sortedInsertStaysShallow() {
+    BalancedSet<Integer> set = BalancedSet.fromFoldable(Integers.range(1, 100000), Ord.<Integer>orderable());
+
+    assertEquals(100000, set.size());
+    assertTrue(set.member(1) && set.member(50000) && set.member(100000));
+    assertFalse(set.member(0));
+  }
+
+  @Test
+  public void matchesTreeSet() {
+    Random random = new Random(7);
+    TreeSet<Integer> expected = new TreeSet<>();
+    BalancedSet<Integer> set = BalancedSet.empty(Ord.<Integer>orderable());
+    for(int i = 0; i < 5000; i++) {
+      int n = random.nextInt(1000);
+      if(random.nextBoolean()) {
+        expected.add(n);
+        set = set.insert(n);
+      } else {
+        expected.remove(n);
+        set = set.remove(n);
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    assertEquals(new ArrayList<>(expected), toJava(set));
+    assertEquals(new ArrayList<>(expected), toJava(set.toList()));
+    assertEquals(new ArrayList<>(expected.descendingSet()), toJava(set.descendingList()));
+    assertEquals(new ArrayList<>(expected.descendingSet()), toJava(set::descendingIterator));
+  }
+
+  @Test
+  public void setAlgebra() {
+    Random random = new Random(3);
+    for(int round = 0; round < 20; round++) {
+      TreeSet<Integer> a = new TreeSet<>();
+      TreeSet<Integer> b = new TreeSet<>();
+      BalancedSet<Integer> sa = BalancedSet.empty(Ord.<Integer>orderable());
+      BalancedSet<Integer> sb = BalancedSet.empty(Ord.<Integer>orderable());
+      for(int i = 0; i < 2000; i++) {
+        int n = random.nextInt(3000);
+        int m = random.nextInt(3000);
+        a.add(n);
+        b.add(m);
+        sa = sa.insert(n);
+        sb = sb.insert(m);
+      }
+      TreeSet<Integer> union = new TreeSet<>(a);
+      union.addAll(b);
+      TreeSet<Integer> inter = new TreeSet<>(a);
+      inter.retainAll(b);
+      TreeSet<Integer> diff = new TreeSet<>(a);
+      diff.removeAll(b);
+
+      assertEquals(new ArrayList<>(union), toJava(sa.union(sb)));
+      assertEquals(new ArrayList<>(inter), toJava(sa.intersection(sb)));
+      assertEquals(new ArrayList<>(diff), toJava(sa.difference(sb)));
+      assertEquals(new ArrayList<>(union), toJava(sa.parUnion(sb, 16)));
+      assertEquals(new ArrayList<>(inter), toJava(sa.parIntersection(sb, 16)));
+      assertEquals(new ArrayList<>(diff), toJava(sa.parDifference(sb, 16)));
+      assertEquals(union.size(), sa.union(sb).size());
+    }
+  }
+
+  @Test
+  public void splitAndJoin() {
+    BalancedSet<Integer> set = BalancedSet.fromFoldable(Integers.range(1, 100), Ord.<Integer>orderable());
+    T2<BalancedSet<Integer>, BalancedSet<Integer>> halves = set.split(40);
+
+    assertEquals(toJava(Integers.range(1, 39)), toJava(halves._1()));
+    assertEquals(toJava(Integers.range(41, 100)), toJava(halves._2()));
+    assertEquals(toJava(set), toJava(BalancedSet.join(halves._1(), 40, halves._2())));
+    assertEquals(99, BalancedSet.join(halves._1(), halves._2()).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void joinOutOfOrder() {
+    BalancedSet<Integer> set = BalancedSet.fromFoldable(Integers.range(1, 10), Ord.<Integer>orderable());
+    BalancedSet.join(set, 5, set);
+  }
+
+  @Test
+  public void unbalancedRemove() {
+    UnbalancedSet<Integer> set = UnbalancedSet.fromFoldable(FList.flist(5, 3, 8, 1, 4, 7, 9), Ord.<Integer>orderable());
+
+    set = set.remove(5).remove(1).remove(6);
+    assertEquals(5, set.size());
+    assertFalse(set.member(5) || set.member(1));
+    assertTrue(set.member(3) && set.member(4) && set.member(7) && set.member(8) && set.member(9));
+  }
+
+  @Test
+  public void nub() {
+    FList<Integer> list = FList.flist(3, 1, 3, 2, 1, 5, 2);
+
+    assertEquals(toJava(FList.flist(3, 1, 2, 5)), toJava(Functions.nub(list)));
+    assertEquals(toJava(FList.flist(3, 1, 2, 5))
+        , toJava(Functions.nub(UnbalancedSet.empty(Ord.<Integer>orderable()), list)));
+    assertEquals(toJava(FList.flist(1, 2, 3, 4, 5, 6, 7, 8, 9, 0))
+        , toJava(Functions.nub(Integers.naturals().<Integer>map(i -> i % 10)).take(10)));
+  }
+
+  @Test
+  public void sortedConstruction() {
+    Random random = new Random(5);
+    TreeSet<Integer> expected = new TreeSet<>();
+    List<Integer> input = new ArrayList<>();
+    for(int i = 0; i < 20000; i++) {
+      int n = random.nextInt(10000);
+      expected.add(n);
+      input.add(n);
+    }
+
+    BalancedSet<Integer> set = BalancedSet.ofAll(FList.collection(input), Ord.<Integer>orderable());
+    BalancedSet<Integer> par  = BalancedSet.ofAll(FList.collection(input), Ord.<Integer>orderable(), true);
+    assertEquals(new ArrayList<>(expected), toJava(set));
+    assertEquals(new ArrayList<>(expected), toJava(par));
+
+    BalancedSet<Integer> sorted = BalancedSet.fromSortedFList(FList.collection(new ArrayList<>(expected))
+        , Ord.<Integer>orderable());
+    assertEquals(expected.size(), sorted.size());
+    assertEquals(new ArrayList<>(expected), toJava(sorted.insert(-1).remove(-1)));
+    assertTrue(sorted.member(expected.first()) && !sorted.member(-1));
+  }
+
+  @Test
+  public void orderStatistics() {
+    Random random = new Random(9);
+    TreeSet<Integer> expected = new TreeSet<>();
+    for(int i = 0; i < 2000; i++)
+      expected.add(random.nextInt(5000));
+    BalancedSet<Integer> set = BalancedSet.ofAll(FList.collection(expected), Ord.<Integer>orderable());
+    List<Integer> sorted = new ArrayList<>(expected);
+
+    for(int k = 0; k < sorted.size(); k++)
+      assertEquals(sorted.get(k), set.select(k));
+    for(int n = -1; n < 5001; n += 7) {
+      int i = n;
+      assertEquals(expected.headSet(i).size(), set.rank(i));
+      assertEquals(expected.floor(i), set.floor(i).toNull());
+      assertEquals(expected.ceiling(i), set.ceiling(i).toNull());
+      assertEquals(expected.subSet(i, true, i + 300, true).size(), set.rangeCount(i, i + 300));
+      assertEquals(new ArrayList<>(expected.subSet(i, true, i + 300, true)), toJava(() -> set.range(i, i + 300)));
+    }
+    assertEquals(0, set.rangeCount(10, 5));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void selectOutOfBounds() {
+    BalancedSet.fromFoldable(Integers.range(1, 10), Ord.<Integer>orderable()).select(10);
+  }
+}
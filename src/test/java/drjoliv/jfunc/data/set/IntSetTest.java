@@ -0,0 +1,103 @@
+package drjoliv.jfunc.data.set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.data.list.IntFList;
+import drjoliv.jfunc.data.list.LongFList;
+
+public class IntSetTest {
+
+  private static List<Integer> toJava(IntSet set) {
+    List<Integer> ret = new ArrayList<>();
+    set.forEachInt(ret::add);
+    return ret;
+  }
+
+  private static IntSet random(Random random, TreeSet<Integer> expected, int n) {
+    IntSet set = IntSet.empty();
+    for(int i = 0; i < n; i++) {
+      int k = random.nextBoolean() ? random.nextInt(2000) - 1000 : random.nextInt();
+      if(random.nextInt(4) > 0) {
+        expected.add(k);
+        set = set.insert(k);
+      } else {
+        expected.remove(k);
+        set = set.remove(k);
+      }
+    }
+    return set;
+  }
+
+  @Test
+  public void matchesTreeSet() {
+    Random random = new Random(13);
+    TreeSet<Integer> expected = new TreeSet<>();
+    IntSet set = random(random, expected, 5000);
+
+    assertEquals(expected.size(), set.size());
+    assertEquals(new ArrayList<>(expected), toJava(set));
+    for(int i = -1000; i < 1000; i++)
+      assertEquals(expected.contains(i), set.member(i));
+    int[] keys = new int[20000];
+    TreeSet<Integer> all = new TreeSet<>();
+    for(int i = 0; i < keys.length; i++)
+      all.add(keys[i] = random.nextInt(40000) - 20000);
+    assertEquals(new ArrayList<>(all), toJava(IntSet.of(keys)));
+    assertEquals(all.size(), IntSet.of(keys).insert(keys[0]).size());
+    assertTrue(IntSet.of(Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE).member(Integer.MIN_VALUE));
+    assertEquals("{ -2147483648 -1 0 2147483647 }", IntSet.of(0, Integer.MAX_VALUE, -1, Integer.MIN_VALUE).toString());
+  }
+
+  @Test
+  public void setAlgebra() {
+    Random random = new Random(17);
+    TreeSet<Integer> e1 = new TreeSet<>();
+    TreeSet<Integer> e2 = new TreeSet<>();
+    IntSet s1 = random(random, e1, 3000);
+    IntSet s2 = random(random, e2, 3000);
+
+    TreeSet<Integer> union = new TreeSet<>(e1);
+    union.addAll(e2);
+    TreeSet<Integer> intersection = new TreeSet<>(e1);
+    intersection.retainAll(e2);
+    TreeSet<Integer> difference = new TreeSet<>(e1);
+    difference.removeAll(e2);
+
+    assertEquals(new ArrayList<>(union), toJava(s1.union(s2)));
+    assertEquals(union.size(), s1.union(s2).size());
+    assertEquals(new ArrayList<>(intersection), toJava(s1.intersection(s2)));
+    assertEquals(new ArrayList<>(difference), toJava(s1.difference(s2)));
+    assertEquals(new ArrayList<>(difference), toJava(s1.difference(HashSet.fromFoldable(IntFList.intFList(
+        s2.toArray()).boxed()))));
+    assertTrue(s1.union(IntSet.empty()) == s1);
+    assertTrue(s1.intersection(s1) == s1);
+  }
+
+  @Test
+  public void longSet() {
+    LongSet set = LongFList.range(0, 999).map(l -> (l % 100) << 40).toLongSet();
+
+    assertEquals(100, set.size());
+    assertTrue(set.member(99L << 40) && !set.member(99));
+    assertEquals(Long.MIN_VALUE, LongSet.of(5, Long.MIN_VALUE, -5).iterator().nextLong());
+
+    LongSet rest = set.remove(0).intersection(set).remove(99L << 40).union(LongSet.of(0));
+    assertEquals(99, rest.size());
+    assertEquals("{ " + (99L << 40) + " }", set.difference(rest).toString());
+  }
+
+  @Test
+  public void nub() {
+    assertEquals("[ 1 2 3 0 ]", IntFList.start(1).map(i -> i % 4).nub().take(4).toString());
+    assertEquals("[ 3 1 2 ]", LongFList.longFList(3, 1, 3, 2, 1).nub().toString());
+  }
+}
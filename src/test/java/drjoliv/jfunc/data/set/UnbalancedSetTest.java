@@ -5,6 +5,11 @@ import static drjoliv.jfunc.data.set.UnbalancedSet.fromFoldable;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -16,6 +21,9 @@ import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
 import drjoliv.jfunc.data.list.FList;
 import drjoliv.jfunc.eq.Ord;
 import drjoliv.jfunc.hlist.T2;
+import drjoliv.jfunc.monoid.Monoid;
+import drjoliv.jfunc.monoid.StringMonoid;
+import drjoliv.jfunc.nums.Integers;
 
 @RunWith(JUnitQuickcheck.class)
 public class UnbalancedSetTest {
@@ -89,4 +97,150 @@ public class UnbalancedSetTest {
     assertTrue("Both FList and Set should return the same value from isEmpty."
         , fromFoldable(flist, Ord.<Integer>orderable()).isEmpty() == flist.isEmpty() );
   }
+
+  @Test
+  public void parFoldMap() {
+    for(int i = 0; i < 50; i++)
+      set = set.insert((i * 17) % 50 + 1);
+
+    StringBuilder expected = new StringBuilder();
+    for(int i = 1; i <= 50; i++)
+      expected.append(i).append(',');
+
+    assertEquals(expected.toString(), set.parFoldMap(i -> i + ",", StringMonoid.join(), 3));
+    assertEquals(Integer.valueOf(1275), set.parReduce(Monoid.monoid((a, b) -> a + b, 0)));
+  }
+
+  @Test
+  public void sortedConstruction() {
+    Integer[] sorted = new Integer[100000];
+    for(int i = 0; i < sorted.length; i++)
+      sorted[i] = i * 2;
+
+    set = UnbalancedSet.fromSortedArray(sorted, Ord.<Integer>orderable());
+    assertEquals(100000, set.size());
+    assertTrue(set.member(0) && set.member(199998) && !set.member(7));
+
+    set = UnbalancedSet.ofAll(FList.flist(5, 3, 9, 3, 1, 5), Ord.<Integer>orderable(), true);
+    assertEquals(FList.flist(1, 3, 5, 9).toString(), set.ascendingList().toString());
+  }
+
+  @Test
+  public void orderStatistics() {
+    for(int i = 0; i < 50; i++)
+      set = set.insert((i * 17) % 50 * 2);
+
+    assertEquals(50, set.size());
+    assertEquals(Integer.valueOf(20), set.select(10));
+    assertEquals(10, set.rank(20));
+    assertEquals(11, set.rank(21));
+    assertEquals(Integer.valueOf(20), set.floor(21).toNull());
+    assertEquals(Integer.valueOf(22), set.ceiling(21).toNull());
+    assertTrue(set.floor(-1).isSome() == false);
+    assertEquals(6, set.rangeCount(9, 20));
+
+    StringBuilder range = new StringBuilder();
+    set.range(9, 20).forEachRemaining(range::append);
+    assertEquals("101214161820", range.toString());
+  }
+
+  @Test
+  public void sizeOfDeepTree() {
+    for(int i = 0; i < 5000; i++)
+      set = set.insert(i);
+    assertEquals(5000, set.size());
+    assertEquals(5001, set.insert(-1).size());
+
+    int expected = 0;
+    for(Integer i : set)
+      assertEquals(expected++, i.intValue());
+    assertEquals(Integer.valueOf(4999), set.descendingList().head());
+    assertEquals(Integer.valueOf(4999), set.descendingIterator().next());
+  }
+
+  @Test(timeout = 10000)
+  public void selectOfDegenerateTree() {
+    int n = 5000;
+    for(int i = 0; i < n; i++)
+      set = set.insert(i);
+
+    assertEquals(n, set.size());
+    assertEquals(n + 1, set.insert(n).size());
+    for(int k = 0; k < n; k += 7) {
+      assertEquals(Integer.valueOf(k), set.select(k));
+      assertEquals(k, set.rank(k));
+    }
+  }
+
+  private static List<Integer> toJava(Iterable<Integer> it) {
+    List<Integer> ret = new ArrayList<>();
+    for(Integer i : it)
+      ret.add(i);
+    return ret;
+  }
+
+  @Test
+  public void setAlgebra() {
+    Random random = new Random(4);
+    for(int round = 0; round < 20; round++) {
+      TreeSet<Integer> a = new TreeSet<>();
+      TreeSet<Integer> b = new TreeSet<>();
+      UnbalancedSet<Integer> sa = UnbalancedSet.empty(Ord.<Integer>orderable());
+      UnbalancedSet<Integer> sb = UnbalancedSet.empty(Ord.<Integer>orderable());
+      for(int i = 0; i < 2000; i++) {
+        int n = random.nextInt(3000);
+        int m = random.nextInt(3000);
+        a.add(n);
+        b.add(m);
+        sa = sa.insert(n);
+        sb = sb.insert(m);
+      }
+      TreeSet<Integer> union = new TreeSet<>(a);
+      union.addAll(b);
+      TreeSet<Integer> inter = new TreeSet<>(a);
+      inter.retainAll(b);
+      TreeSet<Integer> diff = new TreeSet<>(a);
+      diff.removeAll(b);
+
+      assertEquals(new ArrayList<>(union), toJava(sa.union(sb)));
+      assertEquals(new ArrayList<>(inter), toJava(sa.intersection(sb)));
+      assertEquals(new ArrayList<>(diff), toJava(sa.difference(sb)));
+      assertEquals(union.size(), sa.union(sb).size());
+      assertEquals(new ArrayList<>(diff), toJava(sa.difference(BalancedSet.fromFoldable(FList.collection(b), Ord.<Integer>orderable()))));
+    }
+  }
+
+  @Test
+  public void degenerateSetAlgebra() {
+    UnbalancedSet<Integer> evens = UnbalancedSet.empty(Ord.<Integer>orderable());
+    UnbalancedSet<Integer> all   = UnbalancedSet.empty(Ord.<Integer>orderable());
+    for(int i = 0; i < 3000; i++) {
+      all = all.insert(i);
+      if(i % 2 == 0)
+        evens = evens.insert(i);
+    }
+
+    assertEquals(3000, all.union(evens).size());
+    assertEquals(1500, all.intersection(evens).size());
+    assertEquals(1500, all.difference(evens).size());
+    assertEquals(Integer.valueOf(1), all.difference(evens).toList().head());
+  }
+
+  @Test
+  public void splitAndJoin() {
+    UnbalancedSet<Integer> set = UnbalancedSet.fromFoldable(Integers.range(1, 100), Ord.<Integer>orderable());
+    T2<UnbalancedSet<Integer>, UnbalancedSet<Integer>> halves = set.split(40);
+
+    assertEquals(toJava(Integers.range(1, 39)), toJava(halves._1()));
+    assertEquals(toJava(Integers.range(41, 100)), toJava(halves._2()));
+    assertEquals(toJava(set), toJava(UnbalancedSet.join(halves._1(), 40, halves._2())));
+    assertEquals(99, UnbalancedSet.join(halves._1(), halves._2()).size());
+    assertEquals(toJava(set), toJava(set.split(0)._2()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void joinOutOfOrder() {
+    UnbalancedSet<Integer> set = UnbalancedSet.fromFoldable(Integers.range(1, 10), Ord.<Integer>orderable());
+    UnbalancedSet.join(set, 5, set);
+  }
 }
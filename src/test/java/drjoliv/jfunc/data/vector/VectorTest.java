@@ -0,0 +1,102 @@
+package drjoliv.jfunc.data.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import drjoliv.jfunc.contorl.maybe.Maybe;
+import drjoliv.jfunc.contorl.maybe.MaybeMonadFactory;
+import drjoliv.jfunc.nums.Integers;
+
+public class VectorTest {
+
+  private static <A> List<A> toJava(Iterable<A> it) {
+    List<A> ret = new ArrayList<>();
+    for(A a : it)
+      ret.add(a);
+    return ret;
+  }
+
+  @Test
+  public void matchesArrayList() {
+    Random random = new Random(41);
+    List<Integer> expected = new ArrayList<>();
+    Vector<Integer> vector = Vector.empty();
+    for(int i = 0; i < 50000; i++) {
+      int op = random.nextInt(10);
+      if(op < 6) {
+        expected.add(i);
+        vector = vector.snoc(i);
+      } else if(op < 8 && !expected.isEmpty()) {
+        expected.remove(expected.size() - 1);
+        vector = vector.init();
+      } else if(!expected.isEmpty()) {
+        int k = random.nextInt(expected.size());
+        expected.set(k, -i);
+        vector = vector.update(k, -i);
+      }
+      assertEquals(expected.size(), vector.size());
+      if(!expected.isEmpty()) {
+        int k = random.nextInt(expected.size());
+        assertEquals(expected.get(k), vector.get(k));
+        assertEquals(expected.get(expected.size() - 1), vector.last());
+      }
+    }
+    assertEquals(expected, toJava(vector));
+    while(!vector.isEmpty())
+      vector = vector.init();
+  }
+
+  @Test
+  public void builder() {
+    Vector.Builder<Integer> builder = Vector.builder();
+    for(int i = 0; i < 40000; i++)
+      builder.snoc(i);
+    builder.update(7, -7).update(39999, -1);
+    Vector<Integer> vector = builder.build();
+
+    assertEquals(40000, vector.size());
+    assertEquals(Integer.valueOf(-7), vector.get(7));
+    assertEquals(Integer.valueOf(1234), vector.get(1234));
+    assertEquals(Integer.valueOf(-1), vector.last());
+
+    Vector<Integer> changed = vector.toBuilder().update(7, 7).snoc(40000).build();
+    assertEquals(Integer.valueOf(-7), vector.get(7));
+    assertEquals(40000, vector.size());
+    assertEquals(Integer.valueOf(7), changed.get(7));
+    assertEquals(Integer.valueOf(40000), changed.last());
+  }
+
+  @Test(expected=IllegalStateException.class)
+  public void builderAfterBuild() {
+    Vector.Builder<Integer> builder = Vector.builder();
+    builder.snoc(1).build();
+    builder.snoc(2);
+  }
+
+  @Test
+  public void folds() {
+    Vector<Integer> vector = Vector.fromFList(Integers.range(1, 1000));
+
+    assertEquals(Integer.valueOf(500500), vector.foldl((acc, i) -> acc + i, 0));
+    assertEquals(Integer.valueOf(1000), vector.foldr((acc, i) -> acc == 0 ? i : acc, 0));
+    assertEquals(toJava(Integers.range(1, 1000)), toJava(vector.toFList()));
+    assertEquals(Integer.valueOf(2000), vector.map(i -> i * 2).last());
+    assertTrue(vector.any(i -> i == 999));
+    assertEquals(1000, vector.length());
+    assertEquals("[ 1 2 3 ]", Vector.vector(1, 2, 3).toString());
+
+    Maybe<Vector<Integer>> all = (Maybe<Vector<Integer>>)Vector.vector(1, 2, 3)
+      .mapA(i -> Maybe.maybe(i * 10), MaybeMonadFactory.instance());
+    assertEquals("[ 10 20 30 ]", all.toNull().toString());
+    Maybe<Vector<Integer>> none = (Maybe<Vector<Integer>>)Vector.vector(1, 2, 3)
+      .mapA(i -> i == 2 ? Maybe.<Integer>nothing() : Maybe.maybe(i), MaybeMonadFactory.instance());
+    assertFalse(none.isSome());
+  }
+}